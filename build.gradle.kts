@@ -1,180 +1,103 @@
-import org.gradle.internal.os.OperatingSystem
-
 plugins {
     // The Badass Jlink Plugin provides jlink and jpackage functionality
-    // and applies the java application plugin, see PACKAGING below
+    // and applies the java application plugin, see petclinic-ui and petclinic-server
     // https://badass-jlink-plugin.beryx.org
-    id("org.beryx.jlink") version "4.1.1"
+    id("org.beryx.jlink") version "4.1.1" apply false
+    // JMH benchmarks, in the jmh source set, see petclinic-tools and petclinic-model
+    // https://github.com/melix/jmh-gradle-plugin
+    id("me.champeau.jmh") version "0.7.3" apply false
     // Demo-repo housekeeping plugins, see HOUSEKEEPING below
-    id("com.diffplug.spotless") version "8.2.1"
+    id("com.diffplug.spotless") version "8.2.1" apply false
     id("org.asciidoctor.jvm.convert") version "4.0.4"
     id("com.github.breadmoirai.github-release") version "2.5.2"
 }
 
 // ============================================================================
-// THE APPLICATION — everything a minimal Codion application needs
+// THE MODULES — the application is split into modules, so that headless
+// processes, such as the server and the data tools, don't load the Swing UI
+//
+// petclinic-domain    the domain model and the database schema
+// petclinic-model     the application model, without UI dependencies
+// petclinic-ui        the Swing client, the application itself
+// petclinic-tools     headless data tools, generate, import, export and archive
+// petclinic-server    the headless entity server
+// petclinic-loadtest  the headless load tests
 // ============================================================================
 
-dependencies {
-    // Import the Codion BOM for dependency version management
-    implementation(platform(libs.codion.framework.bom))
-
-    // The Codion framework UI module, transitively pulls in all required
-    // modules, such as the model layer and the core database module
-    implementation(libs.codion.swing.framework.ui)
-    // Include all the standard Flat Look and Feels and a bunch of IntelliJ
-    // theme based ones, available via the View -> Select Look & Feel menu
-    implementation(libs.codion.plugin.flatlaf.themes)
-    implementation(libs.codion.plugin.flatlaf.intellij.themes)
-
-    // Provides the Logback logging library as a transitive dependency
-    // and provides logging configuration via the Help -> Log menu
-    runtimeOnly(libs.codion.plugin.logback.proxy)
-    // Provides the local JDBC connection implementation
-    runtimeOnly(libs.codion.framework.db.local)
-    // The H2 database implementation
-    runtimeOnly(libs.codion.dbms.h2)
-    // And the H2 database driver
-    runtimeOnly(libs.h2)
-
-    // The domain model unit test module
-    testImplementation(libs.codion.framework.domain.test)
-    testImplementation(libs.codion.framework.db.local)
-}
-
 // The application version simply follows the Codion framework version used
 version = libs.versions.codion.get()
 
-java {
-    toolchain {
-        // Use the latest possible Java version
-        languageVersion.set(JavaLanguageVersion.of(26))
+subprojects {
+    apply(plugin = "java-library")
+    apply(plugin = "com.diffplug.spotless")
+
+    version = rootProject.version
+
+    dependencies {
+        // Import the Codion BOM for dependency version management
+        "implementation"(platform(rootProject.libs.codion.framework.bom))
+    }
+
+    configure<JavaPluginExtension> {
+        toolchain {
+            // Use the latest possible Java version
+            languageVersion.set(JavaLanguageVersion.of(26))
+        }
     }
-}
 
-testing {
-    suites {
-        getByName<JvmTestSuite>("test") {
-            useJUnitJupiter()
-            targets {
-                all {
-                    // System properties required for running the unit tests
-                    testTask.configure {
-                        // The JDBC url
-                        systemProperty("codion.db.url", "jdbc:h2:mem:h2db")
-                        // The database initialization script
-                        systemProperty("codion.db.initScripts", "classpath:create_schema.sql")
-                        // The user to use when running the tests
-                        systemProperty("codion.test.user", "scott:tiger")
+    configure<TestingExtension> {
+        suites {
+            named<JvmTestSuite>("test") {
+                useJUnitJupiter()
+                targets {
+                    all {
+                        // System properties required for running the unit tests
+                        testTask.configure {
+                            // The JDBC url
+                            systemProperty("codion.db.url", "jdbc:h2:mem:h2db")
+                            // The database initialization script
+                            systemProperty("codion.db.initScripts", "classpath:create_schema.sql")
+                            // The user to use when running the tests
+                            systemProperty("codion.test.user", "scott:tiger")
+                        }
                     }
                 }
             }
         }
     }
-}
-
-// Configure the application plugin, the jlink plugin relies
-// on this configuration when building the runtime image
-application {
-    mainModule = "is.codion.demos.petclinic"
-    mainClass = "is.codion.demos.petclinic.ui.PetclinicAppPanel"
-    applicationDefaultJvmArgs = listOf(
-        // This app doesn't require a lot of memory
-        "-Xmx64m",
-        // Specify a local JDBC connection
-        "-Dcodion.client.connectionType=local",
-        // The JDBC url
-        "-Dcodion.db.url=jdbc:h2:mem:h2db",
-        // The database initialization script
-        "-Dcodion.db.initScripts=classpath:create_schema.sql",
-        // Just in case we're debugging in Linux, nevermind
-        "-Dsun.awt.disablegrab=true"
-    )
-}
-
-tasks.withType<JavaCompile>().configureEach {
-    options.encoding = "UTF-8"
-    options.isDeprecation = true
-}
-
-// ============================================================================
-// PACKAGING — optional: a self-contained runtime image and native installer,
-// delete this section if you don't distribute the application this way
-// ============================================================================
 
-jlink {
-    // Specify the jlink image name
-    imageName = project.name + "-" + project.version + "-" +
-            OperatingSystem.current().familyName.replace(" ", "").lowercase()
-    // The options for the jlink task
-    options = listOf(
-        "--strip-debug",
-        "--no-header-files",
-        "--no-man-pages",
-        // Add the modular runtimeOnly dependencies, which are handled by the ServiceLoader.
-        // These don't have an associated 'requires' clause in module-info.java
-        // and are therefore not added automatically by the jlink plugin.
-        "--add-modules",
-        // The local JDBC connection implementation
-        "is.codion.framework.db.local," +
-                // The H2 database implementation
-                "is.codion.dbms.h2," +
-                // The Logback plugin
-                "is.codion.plugin.logback.proxy"
-    )
+    tasks.withType<JavaCompile>().configureEach {
+        options.encoding = "UTF-8"
+        options.isDeprecation = true
+    }
 
-    // H2 database uses slf4j, but is non-modular so the jlink plugin,
-    // can't derive that dependency, so here we help it along.
-    addExtraDependencies("slf4j-api")
-
-    jpackage {
-        if (OperatingSystem.current().isLinux) {
-            icon = "src/main/icons/petclinic.png"
-            // jpackage ignores --icon when building the installer from
-            // an app image, it looks for <launcher>.png in the resource dir
-            setResourceDir(file("src/main/icons"))
-            installerType = "deb"
-            installerOptions = listOf(
-                "--linux-shortcut"
-            )
-        }
-        if (OperatingSystem.current().isWindows) {
-            icon = "src/main/icons/petclinic.ico"
-            installerType = "msi"
-            installerOptions = listOf(
-                "--win-menu",
-                "--win-shortcut"
-            )
+    // Just the license headers
+    configure<com.diffplug.gradle.spotless.SpotlessExtension> {
+        java {
+            licenseHeaderFile("${rootDir}/license_header").yearSeparator(" - ")
         }
-        if (OperatingSystem.current().isMacOsX) {
-            icon = "src/main/icons/petclinic.icns"
-            installerType = "dmg"
+        format("javaMisc") {
+            target("src/**/package-info.java", "src/**/module-info.java")
+            licenseHeaderFile("${rootDir}/license_header", "\\/\\*\\*").yearSeparator(" - ")
         }
     }
 }
 
 // ============================================================================
-// HOUSEKEEPING — this demo repository's own concerns (license headers, docs,
-// GitHub releases), not part of the application; delete freely
+// HOUSEKEEPING — this demo repository's own concerns (docs, GitHub releases),
+// not part of the application; delete freely
 // ============================================================================
 
-spotless {
-    // Just the license headers
-    java {
-        licenseHeaderFile("${rootDir}/license_header").yearSeparator(" - ")
-    }
-    format("javaMisc") {
-        target("src/**/package-info.java", "src/**/module-info.java")
-        licenseHeaderFile("${rootDir}/license_header", "\\/\\*\\*").yearSeparator(" - ")
-    }
-}
+// The release assets are built by the client module
+evaluationDependsOn(":petclinic-ui")
 
 // Configure the docs generation
 tasks.asciidoctor {
-    dependsOn(tasks.build)
+    dependsOn(subprojects.map { it.path + ":build" })
     inputs.file(project.buildFile)
-    inputs.files(sourceSets.main.get().allSource)
-    inputs.files(sourceSets.test.get().allSource)
+    subprojects.forEach { subproject ->
+        inputs.files(subproject.fileTree("src"))
+    }
 
     baseDirFollowsSourceFile()
 
@@ -191,18 +114,19 @@ tasks.asciidoctor {
 }
 
 if (project.hasProperty("githubAccessToken")) {
+    val client = project(":petclinic-ui")
     githubRelease {
         token(project.findProperty("githubAccessToken") as String)
         owner = "codion-is"
         allowUploadToExisting = true
-        releaseAssets.from(tasks.named("jlinkZip").get().outputs.files)
-        releaseAssets.from(fileTree(tasks.named("jpackage").get().outputs.files.singleFile) {
-            exclude(project.name + "/**", project.name + ".app/**")
+        releaseAssets.from(client.tasks.named("jlinkZip").get().outputs.files)
+        releaseAssets.from(fileTree(client.tasks.named("jpackage").get().outputs.files.singleFile) {
+            exclude(rootProject.name + "/**", rootProject.name + ".app/**")
         })
     }
 }
 
 tasks.named("githubRelease") {
-    dependsOn(tasks.named("jlinkZip"))
-    dependsOn(tasks.named("jpackage"))
-}
\ No newline at end of file
+    dependsOn(":petclinic-ui:jlinkZip")
+    dependsOn(":petclinic-ui:jpackage")
+}
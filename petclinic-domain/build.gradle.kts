@@ -0,0 +1,12 @@
+dependencies {
+    // The Codion framework domain module
+    api(libs.codion.framework.domain)
+    // The H2 database driver, which also provides
+    // the trigger API, see VisitSummaryTrigger
+    implementation(libs.h2)
+
+    // The domain model unit test module
+    testImplementation(libs.codion.framework.domain.test)
+    testImplementation(libs.codion.framework.db.local)
+    testRuntimeOnly(libs.codion.dbms.h2)
+}
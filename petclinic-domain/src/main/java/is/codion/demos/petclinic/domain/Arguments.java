@@ -0,0 +1,75 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.domain;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parses command line arguments on the form --name=value.
+ */
+public final class Arguments {
+
+	private final Map<String, String> values = new HashMap<>();
+
+	/**
+	 * @param arguments the command line arguments
+	 * @throws IllegalArgumentException in case of an argument not on the form --name=value
+	 */
+	public Arguments(String[] arguments) {
+		for (String argument : arguments) {
+			int index = argument.indexOf('=');
+			if (!argument.startsWith("--") || index < 0) {
+				throw new IllegalArgumentException("Expecting arguments on the form --name=value: " + argument);
+			}
+			values.put(argument.substring(2, index), argument.substring(index + 1));
+		}
+	}
+
+	/**
+	 * @param name the argument name
+	 * @param defaultValue the default value
+	 * @return the argument value, or the default value if none is specified
+	 */
+	public String value(String name, String defaultValue) {
+		return values.getOrDefault(name, defaultValue);
+	}
+
+	/**
+	 * @param name the argument name
+	 * @param defaultValue the default value
+	 * @return the argument value, or the default value if none is specified
+	 */
+	public int intValue(String name, int defaultValue) {
+		String value = values.get(name);
+
+		return value == null ? defaultValue : Integer.parseInt(value);
+	}
+
+	/**
+	 * @param name the argument name
+	 * @param defaultValue the default value
+	 * @return the argument value, or the default value if none is specified
+	 */
+	public long longValue(String name, long defaultValue) {
+		String value = values.get(name);
+
+		return value == null ? defaultValue : Long.parseLong(value);
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.domain;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Configures a persistent, file based H2 database, instead of the default in-memory one,
+ * when the {@value #FILE} system property is specified.
+ * <p>
+ * The database schema is only created when the database file does not exist, so startup time
+ * no longer depends on the seed data, and the page cache and write delay are configurable,
+ * with defaults sized for the application's 64 MB heap.
+ * {@snippet :
+ * -Dpetclinic.db.file=~/.petclinic/petclinic -Dpetclinic.db.cacheSize=8192 -Dpetclinic.db.writeDelay=500
+ *}
+ * Must be called before the database is first accessed, since it configures
+ * the 'codion.db.url' and 'codion.db.initScripts' system properties.
+ */
+public final class DatabaseFile {
+
+	/**
+	 * The database file, without the .mv.db suffix, a leading ~ denoting the user home directory
+	 */
+	public static final String FILE = "petclinic.db.file";
+
+	/**
+	 * The page cache size in KB
+	 */
+	public static final String CACHE_SIZE = "petclinic.db.cacheSize";
+
+	/**
+	 * The maximum delay in ms before committed changes are written to the file
+	 */
+	public static final String WRITE_DELAY = "petclinic.db.writeDelay";
+
+	/**
+	 * The default page cache size, 8 MB, an eighth of the application heap
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 8_192;
+
+	/**
+	 * The default write delay
+	 */
+	public static final int DEFAULT_WRITE_DELAY = 500;
+
+	private static final String DATABASE_URL = "codion.db.url";
+	private static final String DATABASE_INIT_SCRIPTS = "codion.db.initScripts";
+	private static final String SCHEMA_SCRIPT = "classpath:create_schema.sql";
+	private static final String MV_STORE_SUFFIX = ".mv.db";
+
+	private DatabaseFile() {}
+
+	/**
+	 * Configures the file based database, in case the {@value #FILE} system property is specified,
+	 * running the schema script only when the database file does not exist.
+	 * @return true if a file based database was configured
+	 */
+	public static boolean configure() {
+		String file = System.getProperty(FILE);
+		if (file == null || file.isBlank()) {
+			return false;
+		}
+		Path path = path(file);
+		System.setProperty(DATABASE_URL, url(path,
+						Integer.getInteger(CACHE_SIZE, DEFAULT_CACHE_SIZE),
+						Integer.getInteger(WRITE_DELAY, DEFAULT_WRITE_DELAY)));
+		if (exists(path)) {
+			System.clearProperty(DATABASE_INIT_SCRIPTS);
+		}
+		else {
+			System.setProperty(DATABASE_INIT_SCRIPTS, SCHEMA_SCRIPT);
+		}
+
+		return true;
+	}
+
+	/**
+	 * @param path the database file, without the .mv.db suffix
+	 * @return true if the database file exists
+	 */
+	public static boolean exists(Path path) {
+		return Files.exists(path.resolveSibling(path.getFileName() + MV_STORE_SUFFIX));
+	}
+
+	/**
+	 * @param path the database file, without the .mv.db suffix
+	 * @param cacheSize the page cache size in KB
+	 * @param writeDelay the write delay in ms
+	 * @return the JDBC url
+	 */
+	public static String url(Path path, int cacheSize, int writeDelay) {
+		if (cacheSize <= 0 || writeDelay < 0) {
+			throw new IllegalArgumentException("Cache size must be positive and write delay non-negative");
+		}
+
+		return "jdbc:h2:file:" + path.toAbsolutePath() + ";CACHE_SIZE=" + cacheSize + ";WRITE_DELAY=" + writeDelay;
+	}
+
+	private static Path path(String file) {
+		if (file.startsWith("~")) {
+			return Path.of(System.getProperty("user.home") + file.substring(1));
+		}
+
+		return Path.of(file);
+	}
+}
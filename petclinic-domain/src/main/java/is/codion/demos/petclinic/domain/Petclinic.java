@@ -28,12 +28,15 @@ import is.codion.framework.domain.entity.OrderBy;
 import is.codion.framework.domain.entity.attribute.Column;
 import is.codion.framework.domain.entity.attribute.Column.Converter;
 import is.codion.framework.domain.entity.attribute.ForeignKey;
+import is.codion.framework.domain.entity.condition.ConditionType;
+import is.codion.framework.domain.entity.query.SelectQuery;
 
 import java.math.BigDecimal;
 import java.sql.Statement;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import static is.codion.demos.petclinic.domain.StringDictionary.dictionary;
 import static is.codion.framework.domain.DomainType.domainType;
 import static is.codion.framework.domain.entity.OrderBy.ascending;
 import static is.codion.framework.domain.entity.attribute.Column.Generator.identity;
@@ -45,7 +48,8 @@ public final class Petclinic extends DomainModel {
 
 	public Petclinic() {
 		super(DOMAIN);
-		add(vet(), specialty(), vetSpecialty(), petType(), owner(), pet(), visit());
+		add(vet(), specialty(), vetSpecialty(), petType(), owner(), pet(), visit(), archivedVisit(),
+						vetVisits(), specialtyVisits(), petTypeVisits());
 	}
 	// end::petclinic[]
 
@@ -176,6 +180,8 @@ public final class Petclinic extends DomainModel {
 										PetType.NAME.as()
 														.column()
 														.caption("Name")
+														// Fetched along with each pet, see StringDictionary
+														.converter(String.class, dictionary())
 														.searchable(true)
 														.maximumLength(80)
 														.nullable(false))
@@ -199,6 +205,9 @@ public final class Petclinic extends DomainModel {
 		Column<String> TELEPHONE = TYPE.stringColumn("telephone");
 		Column<PhoneType> PHONE_TYPE = TYPE.column("phone_type", PhoneType.class);
 
+		// The last or first name starts with the given text, one LIKE pattern for each, see EntityLookup
+		ConditionType NAME_STARTS_WITH = TYPE.conditionType("name_starts_with");
+
 		enum PhoneType {
 			MOBILE, HOME, WORK
 		}
@@ -231,6 +240,7 @@ public final class Petclinic extends DomainModel {
 										Owner.CITY.as()
 														.column()
 														.caption("City")
+														.converter(String.class, dictionary())
 														.maximumLength(80),
 										Owner.TELEPHONE.as()
 														.column()
@@ -240,6 +250,10 @@ public final class Petclinic extends DomainModel {
 														.column()
 														.caption("Phone type")
 														.converter(String.class, new PhoneTypeConverter()))
+						// A union of two index range scans, instead of an OR, which scans the table
+						.condition(Owner.NAME_STARTS_WITH, (columns, values) -> """
+										id IN (SELECT id FROM petclinic.owner WHERE last_name LIKE ?
+										  UNION SELECT id FROM petclinic.owner WHERE first_name LIKE ?)""")
 						.caption("Owners")
 						.formatter(EntityFormatter.builder()
 										.value(Owner.LAST_NAME)
@@ -274,9 +288,16 @@ public final class Petclinic extends DomainModel {
 		Column<BigDecimal> WEIGHT_KG = TYPE.bigDecimalColumn("weight_kg");
 		Column<Integer> PET_TYPE_ID = TYPE.integerColumn("type_id");
 		Column<Integer> OWNER_ID = TYPE.integerColumn("owner_id");
+		Column<Integer> VISIT_COUNT = TYPE.integerColumn("visit_count");
+		Column<LocalDate> LAST_VISIT_DATE = TYPE.localDateColumn("last_visit_date");
+		Column<Integer> LAST_VET_ID = TYPE.integerColumn("last_vet_id");
 
 		ForeignKey PET_TYPE_FK = TYPE.foreignKey("type_fk", PET_TYPE_ID, PetType.ID);
 		ForeignKey OWNER_FK = TYPE.foreignKey("owner_fk", OWNER_ID, Owner.ID);
+		ForeignKey LAST_VET_FK = TYPE.foreignKey("last_vet_fk", LAST_VET_ID, Vet.ID);
+
+		// The name and the owner last name start with the given texts, one LIKE pattern for each, see EntityLookup
+		ConditionType NAME_AND_OWNER_STARTS_WITH = TYPE.conditionType("name_and_owner_starts_with");
 	}
 	// end::pet_api[]
 
@@ -314,7 +335,31 @@ public final class Petclinic extends DomainModel {
 														.nullable(false),
 										Pet.OWNER_FK.as()
 														.foreignKey()
-														.caption("Owner"))
+														.caption("Owner"),
+										// From the joined summary, maintained by the VisitSummaryTrigger
+										Pet.VISIT_COUNT.as()
+														.column()
+														.caption("Visits")
+														.readOnly(true),
+										Pet.LAST_VISIT_DATE.as()
+														.column()
+														.caption("Last visit")
+														.readOnly(true),
+										Pet.LAST_VET_ID.as()
+														.column()
+														.readOnly(true),
+										Pet.LAST_VET_FK.as()
+														.foreignKey()
+														.caption("Last vet"))
+						// A single primary key lookup per pet, empty for pets without visits
+						.selectQuery(SelectQuery.builder()
+										.from("petclinic.pet LEFT JOIN petclinic.pet_visit_summary summary ON summary.pet_id = pet.id")
+										.build())
+						// Joined from the owners, by the name index, to the pets, by the owner index
+						.condition(Pet.NAME_AND_OWNER_STARTS_WITH, (columns, values) -> """
+										id IN (SELECT lookup.id FROM petclinic.owner
+										  JOIN petclinic.pet lookup ON lookup.owner_id = owner.id
+										  WHERE lookup.name LIKE ? AND owner.last_name LIKE ?)""")
 						.caption("Pets")
 						.formatter(Pet.NAME)
 						.orderBy(ascending(Pet.NAME))
@@ -362,19 +407,25 @@ public final class Petclinic extends DomainModel {
 										Visit.VET_FK.as()
 														.foreignKey()
 														.caption("Vet"),
+										// Not fetched for the visit table rows, so not available as table columns,
+										// the complete visit is fetched once opened, see PetclinicAppModel
 										Visit.DESCRIPTION.as()
 														.column()
 														.caption("Description")
-														.maximumLength(255),
+														.maximumLength(255)
+														.hidden(true),
 										Visit.INSERT_TIME.as()
 														.column()
 														.caption("Inserted")
 														// Populated by the database, see DEFAULT in the schema
-														.readOnly(true),
+														.readOnly(true)
+														.hidden(true),
 										Visit.INSERT_USER.as()
 														.column()
 														.caption("Inserted by")
-														.readOnly(true))
+														.converter(String.class, dictionary())
+														.readOnly(true)
+														.hidden(true))
 						.orderBy(OrderBy.builder()
 										.ascending(Visit.PET_ID)
 										.descending(Visit.VISIT_DATE)
@@ -383,4 +434,165 @@ public final class Petclinic extends DomainModel {
 						.build();
 	}
 	// end::visit_impl[]
+
+	// tag::archived_visit_api[]
+	public interface ArchivedVisit {
+		EntityType TYPE = DOMAIN.entityType("petclinic.visit_archive");
+
+		Column<Integer> ID = TYPE.integerColumn("id");
+		Column<Integer> PET_ID = TYPE.integerColumn("pet_id");
+		Column<LocalDate> VISIT_DATE = TYPE.localDateColumn("visit_date");
+		Column<Integer> VET_ID = TYPE.integerColumn("vet_id");
+		Column<String> DESCRIPTION = TYPE.stringColumn("description");
+		Column<LocalDateTime> INSERT_TIME = TYPE.localDateTimeColumn("insert_time");
+		Column<String> INSERT_USER = TYPE.stringColumn("insert_user");
+
+		ForeignKey PET_FK = TYPE.foreignKey("pet_fk", PET_ID, Pet.ID);
+		ForeignKey VET_FK = TYPE.foreignKey("vet_fk", VET_ID, Vet.ID);
+	}
+	// end::archived_visit_api[]
+
+	// tag::archived_visit_impl[]
+	EntityDefinition archivedVisit() {
+		return ArchivedVisit.TYPE.as()
+						.attributes(
+										ArchivedVisit.ID.as()
+														.primaryKey(),
+										ArchivedVisit.PET_ID.as()
+														.column(),
+										ArchivedVisit.PET_FK.as()
+														.foreignKey()
+														.caption("Pet"),
+										ArchivedVisit.VISIT_DATE.as()
+														.column()
+														.caption("Date"),
+										ArchivedVisit.VET_ID.as()
+														.column(),
+										ArchivedVisit.VET_FK.as()
+														.foreignKey()
+														.caption("Vet"),
+										ArchivedVisit.DESCRIPTION.as()
+														.column()
+														.caption("Description"),
+										ArchivedVisit.INSERT_TIME.as()
+														.column()
+														.caption("Inserted"),
+										ArchivedVisit.INSERT_USER.as()
+														.column()
+														.caption("Inserted by")
+														.converter(String.class, dictionary()))
+						.orderBy(OrderBy.builder()
+										.ascending(ArchivedVisit.PET_ID)
+										.descending(ArchivedVisit.VISIT_DATE)
+										.build())
+						.caption("Archived visits")
+						// Populated by the VisitArchiver only
+						.readOnly(true)
+						.build();
+	}
+	// end::archived_visit_impl[]
+
+	// tag::visit_reports_api[]
+	public interface VetVisits {
+		EntityType TYPE = DOMAIN.entityType("petclinic.vet_visits");
+
+		Column<LocalDate> VISIT_MONTH = TYPE.localDateColumn("visit_month");
+		Column<Integer> VET_ID = TYPE.integerColumn("vet_id");
+		Column<Integer> VISIT_COUNT = TYPE.integerColumn("visit_count");
+
+		ForeignKey VET_FK = TYPE.foreignKey("vet_fk", VET_ID, Vet.ID);
+	}
+
+	public interface SpecialtyVisits {
+		EntityType TYPE = DOMAIN.entityType("petclinic.specialty_visits");
+
+		Column<LocalDate> VISIT_MONTH = TYPE.localDateColumn("visit_month");
+		Column<Integer> SPECIALTY_ID = TYPE.integerColumn("specialty_id");
+		Column<Integer> VISIT_COUNT = TYPE.integerColumn("visit_count");
+
+		ForeignKey SPECIALTY_FK = TYPE.foreignKey("specialty_fk", SPECIALTY_ID, Specialty.ID);
+	}
+
+	public interface PetTypeVisits {
+		EntityType TYPE = DOMAIN.entityType("petclinic.pet_type_visits");
+
+		Column<LocalDate> VISIT_MONTH = TYPE.localDateColumn("visit_month");
+		Column<Integer> PET_TYPE_ID = TYPE.integerColumn("pet_type_id");
+		Column<Integer> VISIT_COUNT = TYPE.integerColumn("visit_count");
+
+		ForeignKey PET_TYPE_FK = TYPE.foreignKey("pet_type_fk", PET_TYPE_ID, PetType.ID);
+	}
+	// end::visit_reports_api[]
+
+	// tag::visit_reports_impl[]
+	// Based on views aggregating the visit_statistics table, maintained by the VisitStatisticsTrigger
+	EntityDefinition vetVisits() {
+		return VetVisits.TYPE.as()
+						.attributes(
+										VetVisits.VISIT_MONTH.as()
+														.primaryKey(0)
+														.caption("Month"),
+										VetVisits.VET_ID.as()
+														.primaryKey(1),
+										VetVisits.VET_FK.as()
+														.foreignKey()
+														.caption("Vet"),
+										VetVisits.VISIT_COUNT.as()
+														.column()
+														.caption("Visits"))
+						.orderBy(OrderBy.builder()
+										.descending(VetVisits.VISIT_MONTH)
+										.ascending(VetVisits.VET_ID)
+										.build())
+						.caption("Visits per vet")
+						.readOnly(true)
+						.build();
+	}
+
+	EntityDefinition specialtyVisits() {
+		return SpecialtyVisits.TYPE.as()
+						.attributes(
+										SpecialtyVisits.VISIT_MONTH.as()
+														.primaryKey(0)
+														.caption("Month"),
+										SpecialtyVisits.SPECIALTY_ID.as()
+														.primaryKey(1),
+										SpecialtyVisits.SPECIALTY_FK.as()
+														.foreignKey()
+														.caption("Specialty"),
+										SpecialtyVisits.VISIT_COUNT.as()
+														.column()
+														.caption("Visits"))
+						.orderBy(OrderBy.builder()
+										.descending(SpecialtyVisits.VISIT_MONTH)
+										.ascending(SpecialtyVisits.SPECIALTY_ID)
+										.build())
+						.caption("Visits per specialty")
+						.readOnly(true)
+						.build();
+	}
+
+	EntityDefinition petTypeVisits() {
+		return PetTypeVisits.TYPE.as()
+						.attributes(
+										PetTypeVisits.VISIT_MONTH.as()
+														.primaryKey(0)
+														.caption("Month"),
+										PetTypeVisits.PET_TYPE_ID.as()
+														.primaryKey(1),
+										PetTypeVisits.PET_TYPE_FK.as()
+														.foreignKey()
+														.caption("Pet type"),
+										PetTypeVisits.VISIT_COUNT.as()
+														.column()
+														.caption("Visits"))
+						.orderBy(OrderBy.builder()
+										.descending(PetTypeVisits.VISIT_MONTH)
+										.ascending(PetTypeVisits.PET_TYPE_ID)
+										.build())
+						.caption("Visits per pet type")
+						.readOnly(true)
+						.build();
+	}
+	// end::visit_reports_impl[]
 }
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.domain;
+
+import is.codion.framework.domain.entity.attribute.Column.Converter;
+
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A column converter deduplicating the values of a low cardinality string column as they are fetched,
+ * so that all rows with the same value share a single String instance, instead of each retaining its own.
+ * <p>
+ * The dictionary is bounded, once full any new value is returned as is, so a column turning out to have
+ * a high cardinality costs a map lookup per row, without growing the dictionary.
+ * Use a separate instance for each column.
+ * @see #ENABLED
+ */
+public final class StringDictionary implements Converter<String, String> {
+
+	/**
+	 * The default maximum number of values per column
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1_024;
+
+	/**
+	 * Specifies whether the dictionaries returned by {@link #dictionary()} are enabled,
+	 * when disabled the values are returned as fetched.
+	 * Value type: Boolean<br>
+	 * Default value: true
+	 */
+	public static final String ENABLED = "petclinic.stringDictionary";
+
+	private final Map<String, String> values = new ConcurrentHashMap<>();
+	private final int maximumSize;
+
+	private StringDictionary(int maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	@Override
+	public String toColumn(String value, Statement statement) {
+		return value;
+	}
+
+	@Override
+	public String fromColumn(String value) {
+		String existing = values.get(value);
+		if (existing != null) {
+			return existing;
+		}
+		// May overshoot slightly under contention, which is fine
+		if (values.size() < maximumSize) {
+			existing = values.putIfAbsent(value, value);
+		}
+
+		return existing == null ? value : existing;
+	}
+
+	/**
+	 * @return the number of values in this dictionary
+	 */
+	public int size() {
+		return values.size();
+	}
+
+	/**
+	 * @return a new dictionary with the default maximum size, or an empty one,
+	 * passing all values through, in case dictionaries are disabled, see {@link #ENABLED}
+	 */
+	public static StringDictionary dictionary() {
+		return new StringDictionary(Boolean.parseBoolean(System.getProperty(ENABLED, "true")) ? DEFAULT_MAXIMUM_SIZE : 0);
+	}
+
+	/**
+	 * @param maximumSize the maximum number of values
+	 * @return a new dictionary
+	 * @throws IllegalArgumentException in case the maximum size is not positive
+	 */
+	public static StringDictionary dictionary(int maximumSize) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("Maximum size must be positive");
+		}
+
+		return new StringDictionary(maximumSize);
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.domain.trigger;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maintains the visit_statistics table, the number of visits per month, vet and pet type,
+ * incrementally as visits are inserted, updated and deleted, so that the reports never touch the visits.
+ * <p>
+ * Installed on both the visit and the visit archive tables, like the {@link VisitSummaryTrigger},
+ * so moving a visit to the archive leaves the statistics as is, and on the pet table,
+ * moving the visits of a pet to its new type, in case the type changes.
+ * Each visit change is a pet type lookup by primary key and a single merge per statistics row affected,
+ * which deletes the row once its count reaches zero.
+ */
+public final class VisitStatisticsTrigger implements Trigger {
+
+	private static final String PET_TABLE = "PET";
+
+	private static final int VISIT_PET_ID = 1;
+	private static final int VISIT_DATE = 2;
+	private static final int VISIT_VET_ID = 3;
+
+	private static final int PET_ID = 0;
+	private static final int PET_TYPE_ID = 4;
+
+	private static final String ADJUST =
+					"MERGE INTO petclinic.visit_statistics statistics " +
+									"USING (VALUES (CAST(? AS DATE), CAST(? AS INTEGER), CAST(? AS INTEGER), CAST(? AS INTEGER))) " +
+									"change(visit_month, vet_id, pet_type_id, visit_count) " +
+									"ON statistics.visit_month = change.visit_month " +
+									"AND statistics.vet_id = change.vet_id " +
+									"AND statistics.pet_type_id = change.pet_type_id " +
+									"WHEN MATCHED AND statistics.visit_count + change.visit_count = 0 THEN DELETE " +
+									"WHEN MATCHED THEN UPDATE SET visit_count = statistics.visit_count + change.visit_count " +
+									"WHEN NOT MATCHED THEN INSERT (visit_month, vet_id, pet_type_id, visit_count) " +
+									"VALUES (change.visit_month, change.vet_id, change.pet_type_id, change.visit_count)";
+	private static final String SELECT_PET_TYPE =
+					"SELECT type_id FROM petclinic.pet WHERE id = ?";
+	private static final String SELECT_PET_VISITS =
+					"SELECT visit_date, vet_id FROM petclinic.visit WHERE pet_id = ? " +
+									"UNION ALL " +
+									"SELECT visit_date, vet_id FROM petclinic.visit_archive WHERE pet_id = ?";
+
+	private boolean pet;
+
+	@Override
+	public void init(Connection connection, String schemaName, String triggerName,
+									 String tableName, boolean before, int type) {
+		pet = PET_TABLE.equalsIgnoreCase(tableName);
+	}
+
+	@Override
+	public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+		if (pet) {
+			petUpdated(connection, oldRow, newRow);
+		}
+		else {
+			visitChanged(connection, oldRow, newRow);
+		}
+	}
+
+	private static void visitChanged(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+		if (oldRow != null && newRow != null && unchanged(oldRow, newRow)) {
+			return;
+		}
+		if (oldRow != null) {
+			adjust(connection, oldRow, -1);
+		}
+		if (newRow != null) {
+			adjust(connection, newRow, 1);
+		}
+	}
+
+	private static void petUpdated(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+		if (Objects.equals(oldRow[PET_TYPE_ID], newRow[PET_TYPE_ID])) {
+			return;
+		}
+		Map<Group, Integer> visits = new HashMap<>();
+		try (PreparedStatement select = connection.prepareStatement(SELECT_PET_VISITS)) {
+			select.setObject(1, newRow[PET_ID]);
+			select.setObject(2, newRow[PET_ID]);
+			try (ResultSet resultSet = select.executeQuery()) {
+				while (resultSet.next()) {
+					visits.merge(new Group(month(resultSet.getObject(1, LocalDate.class)), resultSet.getInt(2)), 1, Integer::sum);
+				}
+			}
+		}
+		for (Map.Entry<Group, Integer> group : visits.entrySet()) {
+			adjust(connection, group.getKey(), oldRow[PET_TYPE_ID], -group.getValue());
+			adjust(connection, group.getKey(), newRow[PET_TYPE_ID], group.getValue());
+		}
+	}
+
+	private static void adjust(Connection connection, Object[] visit, int count) throws SQLException {
+		try (PreparedStatement select = connection.prepareStatement(SELECT_PET_TYPE)) {
+			select.setObject(1, visit[VISIT_PET_ID]);
+			try (ResultSet petType = select.executeQuery()) {
+				// The pet can not be removed while it has visits
+				if (petType.next()) {
+					adjust(connection, new Group(month(visitDate(visit)), (Integer) visit[VISIT_VET_ID]), petType.getObject(1), count);
+				}
+			}
+		}
+	}
+
+	private static void adjust(Connection connection, Group group, Object petTypeId, int count) throws SQLException {
+		try (PreparedStatement adjust = connection.prepareStatement(ADJUST)) {
+			adjust.setObject(1, group.month());
+			adjust.setObject(2, group.vetId());
+			adjust.setObject(3, petTypeId);
+			adjust.setObject(4, count);
+			adjust.executeUpdate();
+		}
+	}
+
+	private static boolean unchanged(Object[] oldRow, Object[] newRow) {
+		return Objects.equals(oldRow[VISIT_PET_ID], newRow[VISIT_PET_ID])
+						&& Objects.equals(oldRow[VISIT_VET_ID], newRow[VISIT_VET_ID])
+						&& month(visitDate(oldRow)).equals(month(visitDate(newRow)));
+	}
+
+	private static LocalDate visitDate(Object[] visit) {
+		Object visitDate = visit[VISIT_DATE];
+
+		return visitDate instanceof Date date ? date.toLocalDate() : (LocalDate) visitDate;
+	}
+
+	private static LocalDate month(LocalDate date) {
+		return date.withDayOfMonth(1);
+	}
+
+	private record Group(LocalDate month, Integer vetId) {}
+}
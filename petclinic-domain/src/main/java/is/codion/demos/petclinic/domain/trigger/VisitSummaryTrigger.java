@@ -0,0 +1,143 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.domain.trigger;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Maintains the pet_visit_summary table, one row per pet holding the number of visits
+ * along with the date and vet of the latest one, incrementally as visits are inserted, updated and deleted.
+ * <p>
+ * Installed on both the visit and the visit archive tables, which share the leading
+ * id, pet_id, visit_date and vet_id columns, so moving a visit to the archive leaves the summary as is.
+ * Adding a visit is a single merge, removing one also looks up the latest remaining visit,
+ * via the pet/date indexes, in case the removed one was the latest.
+ */
+public final class VisitSummaryTrigger implements Trigger {
+
+	private static final int ID = 0;
+	private static final int PET_ID = 1;
+	private static final int VISIT_DATE = 2;
+	private static final int VET_ID = 3;
+
+	private static final String ADD_VISIT =
+					"MERGE INTO petclinic.pet_visit_summary summary " +
+									"USING (VALUES (CAST(? AS INTEGER), CAST(? AS DATE), CAST(? AS INTEGER))) visit(pet_id, visit_date, vet_id) " +
+									"ON summary.pet_id = visit.pet_id " +
+									"WHEN MATCHED THEN UPDATE SET " +
+									"visit_count = summary.visit_count + 1, " +
+									"last_vet_id = CASE WHEN visit.visit_date >= summary.last_visit_date THEN visit.vet_id ELSE summary.last_vet_id END, " +
+									"last_visit_date = GREATEST(visit.visit_date, summary.last_visit_date) " +
+									"WHEN NOT MATCHED THEN INSERT (pet_id, visit_count, last_visit_date, last_vet_id) " +
+									"VALUES (visit.pet_id, 1, visit.visit_date, visit.vet_id)";
+	private static final String REMOVE_VISIT =
+					"UPDATE petclinic.pet_visit_summary SET visit_count = visit_count - 1 WHERE pet_id = ?";
+	private static final String DELETE_EMPTY =
+					"DELETE FROM petclinic.pet_visit_summary WHERE pet_id = ? AND visit_count = 0";
+	private static final String SELECT_LAST_VISIT =
+					"SELECT visit_date, vet_id FROM (" +
+									"SELECT id, visit_date, vet_id FROM petclinic.visit WHERE pet_id = ? " +
+									"UNION ALL " +
+									"SELECT id, visit_date, vet_id FROM petclinic.visit_archive WHERE pet_id = ?) " +
+									"ORDER BY visit_date DESC, id DESC FETCH FIRST 1 ROW ONLY";
+	// Only applies in case the latest visit was the one removed
+	private static final String UPDATE_LAST_VISIT =
+					"UPDATE petclinic.pet_visit_summary SET last_visit_date = ?, last_vet_id = ? " +
+									"WHERE pet_id = ? AND last_visit_date <= ?";
+
+	@Override
+	public void init(Connection connection, String schemaName, String triggerName,
+									 String tableName, boolean before, int type) {}
+
+	@Override
+	public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+		if (oldRow != null && newRow != null && unchanged(oldRow, newRow)) {
+			return;
+		}
+		if (oldRow != null) {
+			removed(connection, oldRow);
+		}
+		if (newRow != null) {
+			added(connection, newRow);
+		}
+	}
+
+	private static void added(Connection connection, Object[] visit) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(ADD_VISIT)) {
+			statement.setObject(1, visit[PET_ID]);
+			statement.setObject(2, visitDate(visit));
+			statement.setObject(3, visit[VET_ID]);
+			statement.executeUpdate();
+		}
+	}
+
+	private static void removed(Connection connection, Object[] visit) throws SQLException {
+		try (PreparedStatement remove = connection.prepareStatement(REMOVE_VISIT);
+				 PreparedStatement deleteEmpty = connection.prepareStatement(DELETE_EMPTY)) {
+			remove.setObject(1, visit[PET_ID]);
+			remove.executeUpdate();
+			deleteEmpty.setObject(1, visit[PET_ID]);
+			if (deleteEmpty.executeUpdate() > 0) {
+				return;
+			}
+		}
+		try (PreparedStatement select = connection.prepareStatement(SELECT_LAST_VISIT)) {
+			select.setObject(1, visit[PET_ID]);
+			select.setObject(2, visit[PET_ID]);
+			try (ResultSet lastVisit = select.executeQuery()) {
+				// Rows removed by the same statement are gone before
+				// their triggers fire, the count then catches up
+				if (lastVisit.next()) {
+					updateLastVisit(connection, visit, lastVisit);
+				}
+			}
+		}
+	}
+
+	private static void updateLastVisit(Connection connection, Object[] removed, ResultSet lastVisit) throws SQLException {
+		try (PreparedStatement update = connection.prepareStatement(UPDATE_LAST_VISIT)) {
+			update.setObject(1, lastVisit.getObject(1, LocalDate.class));
+			update.setObject(2, lastVisit.getObject(2));
+			update.setObject(3, removed[PET_ID]);
+			update.setObject(4, visitDate(removed));
+			update.executeUpdate();
+		}
+	}
+
+	private static boolean unchanged(Object[] oldRow, Object[] newRow) {
+		return Objects.equals(oldRow[ID], newRow[ID])
+						&& Objects.equals(oldRow[PET_ID], newRow[PET_ID])
+						&& Objects.equals(oldRow[VISIT_DATE], newRow[VISIT_DATE])
+						&& Objects.equals(oldRow[VET_ID], newRow[VET_ID]);
+	}
+
+	private static LocalDate visitDate(Object[] visit) {
+		Object visitDate = visit[VISIT_DATE];
+
+		return visitDate instanceof Date date ? date.toLocalDate() : (LocalDate) visitDate;
+	}
+}
@@ -19,6 +19,7 @@ CREATE TABLE petclinic.specialty (
 CREATE TABLE petclinic.vet_specialty (
   vet INTEGER NOT NULL,
   specialty INTEGER NOT NULL,
+  CONSTRAINT vet_specialty_pk PRIMARY KEY (vet, specialty),
   CONSTRAINT fk_vet_specialty_vet FOREIGN KEY (vet)
       REFERENCES petclinic.vet (id),
   CONSTRAINT fk_vet_specialty_specialty FOREIGN KEY (specialty)
@@ -35,8 +36,9 @@ CREATE TABLE petclinic.pet_type (
 -- tag::owner[]
 CREATE TABLE petclinic.owner (
   id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-  first_name VARCHAR(30) NOT NULL,
-  last_name VARCHAR(30) NOT NULL,
+  -- case insensitive, so a LIKE prefix lookup is an index range scan
+  first_name VARCHAR_IGNORECASE(30) NOT NULL,
+  last_name VARCHAR_IGNORECASE(30) NOT NULL,
   address VARCHAR(255),
   city VARCHAR(80),
   telephone VARCHAR(20),
@@ -46,7 +48,7 @@ CREATE TABLE petclinic.owner (
 -- tag::pet[]
 CREATE TABLE petclinic.pet (
   id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-  name VARCHAR(30) NOT NULL,
+  name VARCHAR_IGNORECASE(30) NOT NULL,
   birth_date DATE,
   weight_kg DECIMAL(5, 2),
   type_id INTEGER NOT NULL,
@@ -72,6 +74,95 @@ CREATE TABLE petclinic.visit (
       REFERENCES vet (id)
 );
 -- end::visit[]
+-- tag::visit_archive[]
+CREATE TABLE petclinic.visit_archive (
+  id INTEGER PRIMARY KEY,
+  pet_id INTEGER NOT NULL,
+  visit_date DATE NOT NULL,
+  vet_id INTEGER NOT NULL,
+  description VARCHAR(255),
+  insert_time TIMESTAMP NOT NULL,
+  insert_user VARCHAR(60) NOT NULL,
+  CONSTRAINT fk_visit_archive_pets FOREIGN KEY (pet_id)
+      REFERENCES pet (id),
+  CONSTRAINT fk_visit_archive_vets FOREIGN KEY (vet_id)
+      REFERENCES vet (id)
+);
+-- end::visit_archive[]
+-- tag::pet_visit_summary[]
+-- One row per pet with visits, maintained by the VisitSummaryTrigger
+-- on each visit insert, update and delete, archived visits included
+CREATE TABLE petclinic.pet_visit_summary (
+  pet_id INTEGER PRIMARY KEY,
+  visit_count INTEGER NOT NULL,
+  last_visit_date DATE NOT NULL,
+  last_vet_id INTEGER NOT NULL,
+  CONSTRAINT fk_pet_visit_summary_pets FOREIGN KEY (pet_id)
+      REFERENCES pet (id) ON DELETE CASCADE,
+  CONSTRAINT fk_pet_visit_summary_vets FOREIGN KEY (last_vet_id)
+      REFERENCES vet (id)
+);
+CREATE TRIGGER petclinic.visit_summary_trg
+  AFTER INSERT, UPDATE, DELETE ON petclinic.visit FOR EACH ROW
+  CALL 'is.codion.demos.petclinic.domain.trigger.VisitSummaryTrigger';
+CREATE TRIGGER petclinic.visit_archive_summary_trg
+  AFTER INSERT, UPDATE, DELETE ON petclinic.visit_archive FOR EACH ROW
+  CALL 'is.codion.demos.petclinic.domain.trigger.VisitSummaryTrigger';
+-- end::pet_visit_summary[]
+-- tag::visit_statistics[]
+-- Visit counts per month, vet and pet type, maintained by the VisitStatisticsTrigger
+-- on each visit insert, update and delete and on each pet type change, archived visits included
+CREATE TABLE petclinic.visit_statistics (
+  visit_month DATE NOT NULL,
+  vet_id INTEGER NOT NULL,
+  pet_type_id INTEGER NOT NULL,
+  visit_count INTEGER NOT NULL,
+  CONSTRAINT visit_statistics_pk PRIMARY KEY (visit_month, vet_id, pet_type_id),
+  CONSTRAINT fk_visit_statistics_vets FOREIGN KEY (vet_id)
+      REFERENCES vet (id),
+  CONSTRAINT fk_visit_statistics_pet_types FOREIGN KEY (pet_type_id)
+      REFERENCES pet_type (id)
+);
+CREATE TRIGGER petclinic.visit_statistics_trg
+  AFTER INSERT, UPDATE, DELETE ON petclinic.visit FOR EACH ROW
+  CALL 'is.codion.demos.petclinic.domain.trigger.VisitStatisticsTrigger';
+CREATE TRIGGER petclinic.visit_archive_statistics_trg
+  AFTER INSERT, UPDATE, DELETE ON petclinic.visit_archive FOR EACH ROW
+  CALL 'is.codion.demos.petclinic.domain.trigger.VisitStatisticsTrigger';
+CREATE TRIGGER petclinic.pet_statistics_trg
+  AFTER UPDATE ON petclinic.pet FOR EACH ROW
+  CALL 'is.codion.demos.petclinic.domain.trigger.VisitStatisticsTrigger';
+-- The reports, each aggregating the statistics rows only
+CREATE VIEW petclinic.vet_visits AS
+  SELECT visit_month, vet_id, CAST(SUM(visit_count) AS INTEGER) visit_count
+  FROM petclinic.visit_statistics
+  GROUP BY visit_month, vet_id;
+-- A visit counts towards each specialty of the vet
+CREATE VIEW petclinic.specialty_visits AS
+  SELECT statistics.visit_month, vet_specialty.specialty specialty_id,
+    CAST(SUM(statistics.visit_count) AS INTEGER) visit_count
+  FROM petclinic.visit_statistics statistics
+  JOIN petclinic.vet_specialty ON vet_specialty.vet = statistics.vet_id
+  GROUP BY statistics.visit_month, vet_specialty.specialty;
+CREATE VIEW petclinic.pet_type_visits AS
+  SELECT visit_month, pet_type_id, CAST(SUM(visit_count) AS INTEGER) visit_count
+  FROM petclinic.visit_statistics
+  GROUP BY visit_month, pet_type_id;
+-- end::visit_statistics[]
+-- tag::indexes[]
+-- The foreign key columns are indexed automatically, these
+-- support the default ordering of each table, within a master
+CREATE INDEX vet_name_idx ON petclinic.vet (last_name, first_name);
+CREATE INDEX owner_name_idx ON petclinic.owner (last_name, first_name, id);
+CREATE INDEX pet_owner_name_idx ON petclinic.pet (owner_id, name);
+-- support the owner and pet lookups, by name prefix, see EntityLookup
+CREATE INDEX owner_first_name_idx ON petclinic.owner (first_name);
+CREATE INDEX pet_name_idx ON petclinic.pet (name);
+CREATE INDEX visit_pet_date_idx ON petclinic.visit (pet_id, visit_date DESC);
+-- supports selecting the visits to archive, see VisitArchiver
+CREATE INDEX visit_date_idx ON petclinic.visit (visit_date);
+CREATE INDEX visit_archive_pet_date_idx ON petclinic.visit_archive (pet_id, visit_date DESC);
+-- end::indexes[]
 
 INSERT INTO petclinic.vet(first_name, last_name) VALUES ('James', 'Carter');
 INSERT INTO petclinic.vet(first_name, last_name) VALUES ('Helen', 'Leary');
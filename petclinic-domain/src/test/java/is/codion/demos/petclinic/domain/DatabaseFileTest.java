@@ -0,0 +1,91 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.domain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class DatabaseFileTest {
+
+	private Properties properties;
+
+	@BeforeEach
+	void saveProperties() {
+		properties = (Properties) System.getProperties().clone();
+	}
+
+	@AfterEach
+	void restoreProperties() {
+		System.setProperties(properties);
+	}
+
+	@Test
+	void configure(@TempDir Path directory) throws SQLException {
+		System.clearProperty(DatabaseFile.FILE);
+		assertFalse(DatabaseFile.configure());
+
+		Path file = directory.resolve("petclinic");
+		System.setProperty(DatabaseFile.FILE, file.toString());
+		System.setProperty(DatabaseFile.CACHE_SIZE, "4096");
+		assertTrue(DatabaseFile.configure());
+		String url = System.getProperty("codion.db.url");
+		assertEquals("jdbc:h2:file:" + file.toAbsolutePath() + ";CACHE_SIZE=4096;WRITE_DELAY=500", url);
+		// A new database
+		assertEquals("classpath:create_schema.sql", System.getProperty("codion.db.initScripts"));
+
+		try (Connection connection = DriverManager.getConnection(url +
+						";INIT=RUNSCRIPT FROM 'classpath:create_schema.sql'", "scott", "tiger");
+				 Statement statement = connection.createStatement()) {
+			statement.execute("UPDATE petclinic.owner SET city = 'Reykjavik' WHERE id = 1");
+		}
+		assertTrue(DatabaseFile.exists(file));
+
+		// An existing database, the schema script is not run again
+		assertTrue(DatabaseFile.configure());
+		assertNull(System.getProperty("codion.db.initScripts"));
+		try (Connection connection = DriverManager.getConnection(url, "scott", "tiger");
+				 Statement statement = connection.createStatement();
+				 ResultSet resultSet = statement.executeQuery("SELECT city FROM petclinic.owner WHERE id = 1")) {
+			assertTrue(resultSet.next());
+			assertEquals("Reykjavik", resultSet.getString(1));
+		}
+	}
+
+	@Test
+	void url() {
+		assertThrows(IllegalArgumentException.class, () -> DatabaseFile.url(Path.of("petclinic"), 0, 500));
+		assertThrows(IllegalArgumentException.class, () -> DatabaseFile.url(Path.of("petclinic"), 1024, -1));
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StringDictionaryTest {
+
+	@Test
+	void deduplicate() {
+		StringDictionary dictionary = StringDictionary.dictionary(10);
+		String madison = dictionary.fromColumn(new String("Madison"));
+		assertSame(madison, dictionary.fromColumn(new String("Madison")));
+		assertEquals("Monona", dictionary.fromColumn(new String("Monona")));
+		assertEquals(2, dictionary.size());
+		assertSame(madison, dictionary.toColumn(madison, null));
+	}
+
+	@Test
+	void bounded() {
+		StringDictionary dictionary = StringDictionary.dictionary(2);
+		dictionary.fromColumn("Madison");
+		dictionary.fromColumn("Monona");
+		// Full, returned as is
+		String windsor = new String("Windsor");
+		assertSame(windsor, dictionary.fromColumn(windsor));
+		assertNotSame(windsor, dictionary.fromColumn(new String("Windsor")));
+		assertEquals(2, dictionary.size());
+		assertThrows(IllegalArgumentException.class, () -> StringDictionary.dictionary(0));
+	}
+
+	@Test
+	void disabled() {
+		System.setProperty(StringDictionary.ENABLED, "false");
+		try {
+			StringDictionary dictionary = StringDictionary.dictionary();
+			String madison = new String("Madison");
+			assertSame(madison, dictionary.fromColumn(madison));
+			assertNotSame(madison, dictionary.fromColumn(new String("Madison")));
+			assertEquals(0, dictionary.size());
+		}
+		finally {
+			System.clearProperty(StringDictionary.ENABLED);
+		}
+		StringDictionary dictionary = StringDictionary.dictionary();
+		assertSame(dictionary.fromColumn(new String("Madison")), dictionary.fromColumn(new String("Madison")));
+	}
+}
@@ -0,0 +1,63 @@
+dependencies {
+    implementation(project(":petclinic-model"))
+    implementation(project(":petclinic-server"))
+    implementation(project(":petclinic-tools"))
+
+    // Provides the local JDBC connection implementation
+    runtimeOnly(libs.codion.framework.db.local)
+    // Provides the remote connection implementation, see ServerScalingTest
+    runtimeOnly(libs.codion.framework.db.rmi)
+    // The H2 database implementation
+    runtimeOnly(libs.codion.dbms.h2)
+}
+
+// Runs the headless load test against the application database,
+// f.ex. gradlew loadTest --args="--users=1,4,16 --duration=20 --generate-owners=10000"
+tasks.register<JavaExec>("loadTest") {
+    group = "application"
+    description = "Runs the headless load test, see PetclinicLoadTest"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainModule = "is.codion.demos.petclinic.loadtest"
+    mainClass = "is.codion.demos.petclinic.loadtest.PetclinicLoadTest"
+    // The application settings, without the memory restriction
+    jvmArgs = listOf(
+        "-Dcodion.client.connectionType=local",
+        "-Dcodion.db.url=jdbc:h2:mem:h2db",
+        "-Dcodion.db.initScripts=classpath:create_schema.sql"
+    )
+}
+
+// Runs the load test against a local entity server, once for each pool size,
+// f.ex. gradlew serverScalingTest --args="--pool-sizes=4,16 --users=8,32,64 --duration=20"
+tasks.register<JavaExec>("serverScalingTest") {
+    group = "application"
+    description = "Runs the load test against a local server, see ServerScalingTest"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainModule = "is.codion.demos.petclinic.loadtest"
+    mainClass = "is.codion.demos.petclinic.loadtest.ServerScalingTest"
+    jvmArgs = listOf(
+        // The clients connect to the server
+        "-Dcodion.client.connectionType=remote",
+        "-Dcodion.db.url=jdbc:h2:mem:h2db;DB_CLOSE_DELAY=-1",
+        "-Dcodion.db.initScripts=classpath:create_schema.sql"
+    )
+}
+
+// Measures the client startup time from the jlink image, with and without the AOT cache,
+// f.ex. gradlew startupBenchmark --args="--runs=20"
+tasks.register<JavaExec>("startupBenchmark") {
+    group = "application"
+    description = "Measures the time to first frame with and without the AOT cache, see StartupBenchmark"
+    dependsOn(":petclinic-ui:aotCache")
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainModule = "is.codion.demos.petclinic.loadtest"
+    mainClass = "is.codion.demos.petclinic.loadtest.StartupBenchmark"
+    val imageDir = rootProject.layout.projectDirectory.dir("petclinic-ui/build/image")
+    // Provided separately from args, which --args replaces
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(
+            "--java=" + imageDir.file("bin/java").asFile.path,
+            "--aot-cache=" + imageDir.file("lib/petclinic.aot").asFile.path
+        )
+    })
+}
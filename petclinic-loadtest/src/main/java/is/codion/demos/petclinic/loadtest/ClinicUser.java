@@ -0,0 +1,106 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.loadtest;
+
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Petclinic;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.demos.petclinic.domain.Petclinic.Specialty;
+import is.codion.demos.petclinic.domain.Petclinic.Vet;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.demos.petclinic.model.PetclinicAppModel;
+import is.codion.demos.petclinic.model.VetSpecialtyEditModel;
+import is.codion.framework.db.EntityConnectionProvider;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.swing.framework.model.SwingEntityModel;
+
+import java.util.List;
+import java.util.Random;
+
+import static is.codion.framework.domain.entity.condition.Condition.all;
+
+/**
+ * A simulated front-desk user, with its own connection and application model.
+ */
+final class ClinicUser implements AutoCloseable {
+
+	private final EntityConnectionProvider connectionProvider;
+	private final PetclinicAppModel applicationModel;
+	private final SwingEntityModel ownersModel;
+	private final SwingEntityModel petsModel;
+	private final SwingEntityModel visitsModel;
+	private final VetSpecialtyEditModel vetSpecialtyEditModel;
+	private final List<Entity> vets;
+	private final List<Entity> specialties;
+	private final Random random;
+
+	ClinicUser(User user, long seed) {
+		this.connectionProvider = EntityConnectionProvider.builder()
+						.domain(Petclinic.DOMAIN)
+						.clientType(PetclinicLoadTest.class.getSimpleName())
+						.user(user)
+						.build();
+		this.applicationModel = new PetclinicAppModel(connectionProvider.connection());
+		applicationModel.load().join();
+		this.ownersModel = applicationModel.models().get(Owner.TYPE);
+		this.petsModel = ownersModel.detail().get(Pet.TYPE);
+		this.visitsModel = petsModel.detail().get(Visit.TYPE);
+		// The detail models are activated by the UI when the detail panels are shown
+		ownersModel.detail().link(petsModel).active().set(true);
+		petsModel.detail().link(visitsModel).active().set(true);
+		this.vetSpecialtyEditModel = new VetSpecialtyEditModel(connectionProvider.connection());
+		this.vets = connectionProvider.connection().select(all(Vet.TYPE));
+		this.specialties = connectionProvider.connection().select(all(Specialty.TYPE));
+		this.random = new Random(seed);
+	}
+
+	SwingEntityModel ownersModel() {
+		return ownersModel;
+	}
+
+	SwingEntityModel petsModel() {
+		return petsModel;
+	}
+
+	SwingEntityModel visitsModel() {
+		return visitsModel;
+	}
+
+	VetSpecialtyEditModel vetSpecialtyEditModel() {
+		return vetSpecialtyEditModel;
+	}
+
+	List<Entity> vets() {
+		return vets;
+	}
+
+	List<Entity> specialties() {
+		return specialties;
+	}
+
+	Random random() {
+		return random;
+	}
+
+	@Override
+	public void close() {
+		connectionProvider.close();
+	}
+}
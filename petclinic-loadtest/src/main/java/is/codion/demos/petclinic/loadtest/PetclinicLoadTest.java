@@ -0,0 +1,384 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.loadtest;
+
+import is.codion.common.db.database.Database;
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.data.DataGenerator;
+import is.codion.demos.petclinic.domain.Arguments;
+import is.codion.demos.petclinic.domain.DatabaseFile;
+import is.codion.demos.petclinic.metrics.LatencyHistogram;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A headless load test, simulating concurrent front-desk users, each running weighted {@link Scenario}s
+ * through its own {@link is.codion.demos.petclinic.model.PetclinicAppModel} instance.
+ * <p>
+ * The test runs in steps, one for each user count, reporting the throughput and latency percentiles per scenario,
+ * which makes it easy to find the point where the database or server saturates.
+ * The connection type is specified via the 'codion.client.connectionType' system property, as with the application.
+ * @see #main(String[])
+ */
+public final class PetclinicLoadTest {
+
+	private static final double SATURATION_THRESHOLD = 0.1;
+
+	private final User user;
+	private final List<Integer> users;
+	private final Duration warmup;
+	private final Duration duration;
+	private final Duration thinkTime;
+	private final Map<Scenario, Integer> weights;
+	private final long seed;
+
+	private PetclinicLoadTest(Builder builder) {
+		this.user = builder.user;
+		this.users = builder.users;
+		this.warmup = builder.warmup;
+		this.duration = builder.duration;
+		this.thinkTime = builder.thinkTime;
+		this.weights = builder.weights;
+		this.seed = builder.seed;
+	}
+
+	/**
+	 * Runs the load test, one step for each user count, printing the results of each step as it completes.
+	 * @return the step results
+	 * @throws InterruptedException in case the test is interrupted
+	 */
+	public List<StepResult> run() throws InterruptedException {
+		List<StepResult> results = new ArrayList<>();
+		StepResult previous = null;
+		for (int userCount : users) {
+			StepResult result = runStep(userCount);
+			System.out.println(result);
+			if (previous != null && result.throughput() < previous.throughput() * (1 + SATURATION_THRESHOLD)) {
+				System.out.println("Throughput saturated at " + previous.users() + " users");
+			}
+			results.add(result);
+			previous = result;
+		}
+
+		return results;
+	}
+
+	/**
+	 * @return a new {@link Builder} instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * <pre>
+	 * --users=1,2,4,8,16 --warmup=5 --duration=30 --think-time=0 --seed=42 --user=scott:tiger
+	 * --weights=browse-owners:10,select-owner:50,insert-visit:30,add-vet-specialty:10
+	 * --generate-owners=0
+	 * </pre>
+	 * Durations are in seconds, except think time which is in milliseconds. When 'generate-owners' is specified,
+	 * the given number of owners, with pets and visits, are generated before the test, for local connections only.
+	 * @param arguments the arguments
+	 * @throws Exception in case of an exception
+	 */
+	public static void main(String[] arguments) throws Exception {
+		Arguments args = new Arguments(arguments);
+		// In case a persistent database file is specified
+		DatabaseFile.configure();
+		User user = User.parse(args.value("user", "scott:tiger"));
+		int generateOwners = args.intValue("generate-owners", 0);
+		if (generateOwners > 0) {
+			generate(user, generateOwners);
+		}
+		Builder builder = builder()
+						.user(user)
+						.users(Arrays.stream(args.value("users", "1,2,4,8,16").split(","))
+										.map(String::trim)
+										.map(Integer::parseInt)
+										.toList())
+						.warmup(Duration.ofSeconds(args.intValue("warmup", 5)))
+						.duration(Duration.ofSeconds(args.intValue("duration", 30)))
+						.thinkTime(Duration.ofMillis(args.intValue("think-time", 0)))
+						.seed(args.longValue("seed", 42));
+		String weights = args.value("weights", null);
+		if (weights != null) {
+			for (String weight : weights.split(",")) {
+				String[] scenarioWeight = weight.split(":");
+				builder.weight(Scenario.parse(scenarioWeight[0]), Integer.parseInt(scenarioWeight[1].trim()));
+			}
+		}
+		builder.build().run();
+	}
+
+	private StepResult runStep(int userCount) throws InterruptedException {
+		Map<Scenario, LatencyHistogram> latencies = new EnumMap<>(Scenario.class);
+		Map<Scenario, LongAdder> errors = new EnumMap<>(Scenario.class);
+		for (Scenario scenario : Scenario.values()) {
+			latencies.put(scenario, new LatencyHistogram());
+			errors.put(scenario, new LongAdder());
+		}
+		Scenario[] scenarios = weightedScenarios();
+		AtomicBoolean running = new AtomicBoolean(true);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < userCount; i++) {
+				long userSeed = seed + i;
+				executor.execute(() -> simulate(userSeed, scenarios, running, latencies, errors));
+			}
+			try {
+				TimeUnit.MILLISECONDS.sleep(warmup.toMillis());
+				latencies.values().forEach(LatencyHistogram::reset);
+				errors.values().forEach(LongAdder::reset);
+				long started = System.nanoTime();
+				TimeUnit.MILLISECONDS.sleep(duration.toMillis());
+				Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+				Map<Scenario, ScenarioResult> results = new EnumMap<>(Scenario.class);
+				latencies.forEach((scenario, histogram) -> results.put(scenario,
+								new ScenarioResult(scenario, histogram.snapshot(), errors.get(scenario).sum(), elapsed)));
+
+				return new StepResult(userCount, List.copyOf(results.values()));
+			}
+			finally {
+				running.set(false);
+			}
+		}
+	}
+
+	private void simulate(long userSeed, Scenario[] scenarios, AtomicBoolean running,
+												Map<Scenario, LatencyHistogram> latencies, Map<Scenario, LongAdder> errors) {
+		try (ClinicUser clinicUser = new ClinicUser(user, userSeed)) {
+			while (running.get()) {
+				Scenario scenario = scenarios[clinicUser.random().nextInt(scenarios.length)];
+				long started = System.nanoTime();
+				try {
+					scenario.perform(clinicUser);
+					latencies.get(scenario).recordSince(started);
+				}
+				catch (Exception e) {
+					errors.get(scenario).increment();
+					System.err.println(scenario + ": " + e);
+				}
+				if (thinkTime.isPositive()) {
+					Thread.sleep(thinkTime);
+				}
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (RuntimeException e) {
+			System.err.println("Unable to initialize user: " + e);
+		}
+	}
+
+	/**
+	 * @return an array containing each scenario as many times as its weight
+	 */
+	private Scenario[] weightedScenarios() {
+		List<Scenario> scenarios = new ArrayList<>();
+		weights.forEach((scenario, weight) -> {
+			for (int i = 0; i < weight; i++) {
+				scenarios.add(scenario);
+			}
+		});
+		if (scenarios.isEmpty()) {
+			throw new IllegalStateException("At least one scenario must have a positive weight");
+		}
+
+		return scenarios.toArray(new Scenario[0]);
+	}
+
+	private static void generate(User user, int owners) throws SQLException {
+		try (Connection connection = Database.instance().createConnection(user)) {
+			System.out.println("Generated " + DataGenerator.builder()
+							.vets(owners / 1_000)
+							.owners(owners)
+							.build()
+							.generate(connection));
+		}
+	}
+
+	/**
+	 * The result of a single scenario within a step.
+	 * @param scenario the scenario
+	 * @param latency the latency histogram snapshot
+	 * @param errors the number of errors
+	 * @param elapsed the measurement duration
+	 */
+	public record ScenarioResult(Scenario scenario, LatencyHistogram.Snapshot latency, long errors, Duration elapsed) {
+
+		/**
+		 * @return the number of successful operations per second
+		 */
+		public double throughput() {
+			return latency.count() * 1_000_000_000d / elapsed.toNanos();
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-20s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %8d", scenario, latency.count(), throughput(),
+							millis(latency.percentile(50)), millis(latency.percentile(90)),
+							millis(latency.percentile(99)), millis(latency.max()), errors);
+		}
+
+		private static double millis(Duration duration) {
+			return duration.toNanos() / 1_000_000d;
+		}
+	}
+
+	/**
+	 * The result of a single step.
+	 * @param users the number of concurrent users
+	 * @param scenarios the scenario results
+	 */
+	public record StepResult(int users, List<ScenarioResult> scenarios) {
+
+		/**
+		 * @return the total number of successful operations per second
+		 */
+		public double throughput() {
+			return scenarios.stream()
+							.mapToDouble(ScenarioResult::throughput)
+							.sum();
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder builder = new StringBuilder()
+							.append("Users: ").append(users)
+							.append(String.format(", throughput: %.1f ops/s%n", throughput()))
+							.append(String.format("%-20s %10s %10s %10s %10s %10s %10s %8s%n",
+											"scenario", "ops", "ops/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors"));
+			scenarios.forEach(scenario -> builder.append(scenario).append(System.lineSeparator()));
+
+			return builder.toString();
+		}
+	}
+
+	/**
+	 * Builds a {@link PetclinicLoadTest}
+	 */
+	public static final class Builder {
+
+		private final Map<Scenario, Integer> weights = new EnumMap<>(Map.of(
+						Scenario.BROWSE_OWNERS, 10,
+						Scenario.SELECT_OWNER, 50,
+						Scenario.INSERT_VISIT, 30,
+						Scenario.ADD_VET_SPECIALTY, 10));
+
+		private User user = User.parse("scott:tiger");
+		private List<Integer> users = List.of(1, 2, 4, 8, 16);
+		private Duration warmup = Duration.ofSeconds(5);
+		private Duration duration = Duration.ofSeconds(30);
+		private Duration thinkTime = Duration.ZERO;
+		private long seed = 42;
+
+		private Builder() {}
+
+		/**
+		 * @param user the user to connect with
+		 * @return this builder
+		 */
+		public Builder user(User user) {
+			this.user = requireNonNull(user);
+			return this;
+		}
+
+		/**
+		 * @param users the number of concurrent users in each step
+		 * @return this builder
+		 */
+		public Builder users(List<Integer> users) {
+			if (users.isEmpty() || users.stream().anyMatch(count -> count <= 0)) {
+				throw new IllegalArgumentException("User counts must be positive");
+			}
+			this.users = List.copyOf(users);
+			return this;
+		}
+
+		/**
+		 * @param warmup the warmup duration of each step, before measuring starts
+		 * @return this builder
+		 */
+		public Builder warmup(Duration warmup) {
+			this.warmup = requireNonNull(warmup);
+			return this;
+		}
+
+		/**
+		 * @param duration the measurement duration of each step
+		 * @return this builder
+		 */
+		public Builder duration(Duration duration) {
+			this.duration = requireNonNull(duration);
+			return this;
+		}
+
+		/**
+		 * @param thinkTime the time each user waits between scenarios
+		 * @return this builder
+		 */
+		public Builder thinkTime(Duration thinkTime) {
+			this.thinkTime = requireNonNull(thinkTime);
+			return this;
+		}
+
+		/**
+		 * @param scenario the scenario
+		 * @param weight the relative weight of the scenario, 0 to exclude it
+		 * @return this builder
+		 */
+		public Builder weight(Scenario scenario, int weight) {
+			if (weight < 0) {
+				throw new IllegalArgumentException("Weight must be non-negative");
+			}
+			this.weights.put(requireNonNull(scenario), weight);
+			return this;
+		}
+
+		/**
+		 * @param seed the random seed
+		 * @return this builder
+		 */
+		public Builder seed(long seed) {
+			this.seed = seed;
+			return this;
+		}
+
+		/**
+		 * @return a new {@link PetclinicLoadTest} instance
+		 */
+		public PetclinicLoadTest build() {
+			return new PetclinicLoadTest(this);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.loadtest;
+
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.demos.petclinic.domain.Petclinic.Specialty;
+import is.codion.demos.petclinic.domain.Petclinic.Vet;
+import is.codion.demos.petclinic.domain.Petclinic.VetSpecialty;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.exception.EntityValidationException;
+import is.codion.swing.framework.model.SwingEntityEditor;
+import is.codion.swing.framework.model.SwingEntityTableModel;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The front-desk scenarios performed by a {@link ClinicUser}.
+ */
+public enum Scenario {
+
+	/**
+	 * Refreshes the owners table
+	 */
+	BROWSE_OWNERS {
+		@Override
+		void perform(ClinicUser user) {
+			user.ownersModel().tableModel().items().refresh();
+		}
+	},
+	/**
+	 * Selects a random owner, and then a random pet of that owner, refreshing the pets and visits
+	 */
+	SELECT_OWNER {
+		@Override
+		void perform(ClinicUser user) {
+			selectRandomRow(user.ownersModel().tableModel(), user.random());
+			selectRandomRow(user.petsModel().tableModel(), user.random());
+		}
+	},
+	/**
+	 * Selects a random owner and pet, and inserts a visit for the pet
+	 */
+	INSERT_VISIT {
+		@Override
+		void perform(ClinicUser user) throws EntityValidationException {
+			SELECT_OWNER.perform(user);
+			Entity pet = user.petsModel().tableModel().selection().item().get();
+			if (pet != null) {
+				SwingEntityEditor editor = user.visitsModel().editModel().editor();
+				editor.entity().clear();
+				editor.value(Visit.PET_FK).set(pet);
+				editor.value(Visit.VET_FK).set(randomItem(user.vets(), user.random()));
+				editor.value(Visit.VISIT_DATE).set(LocalDate.now());
+				editor.value(Visit.DESCRIPTION).set("checkup");
+				editor.insert();
+			}
+		}
+	},
+	/**
+	 * Adds a random specialty to a random vet and removes it again,
+	 * a rejected duplicate counts as a successful validation
+	 */
+	ADD_VET_SPECIALTY {
+		@Override
+		void perform(ClinicUser user) {
+			SwingEntityEditor editor = user.vetSpecialtyEditModel().editor();
+			editor.entity().clear();
+			editor.value(VetSpecialty.VET_FK).set(randomItem(user.vets(), user.random()));
+			editor.value(VetSpecialty.SPECIALTY_FK).set(randomItem(user.specialties(), user.random()));
+			try {
+				editor.insert();
+				editor.delete();
+			}
+			catch (EntityValidationException e) {
+				// combination already exists
+			}
+		}
+	};
+
+	/**
+	 * @param user the user performing the scenario
+	 * @throws Exception in case of an exception
+	 */
+	abstract void perform(ClinicUser user) throws Exception;
+
+	/**
+	 * @param name the scenario name, case-insensitive with dashes instead of underscores, f.ex. 'insert-visit'
+	 * @return the scenario
+	 */
+	static Scenario parse(String name) {
+		return valueOf(name.trim().replace('-', '_').toUpperCase());
+	}
+
+	private static void selectRandomRow(SwingEntityTableModel tableModel, Random random) {
+		int rowCount = tableModel.items().visible().count();
+		if (rowCount > 0) {
+			tableModel.selection().index().set(random.nextInt(rowCount));
+		}
+	}
+
+	private static Entity randomItem(List<Entity> items, Random random) {
+		return items.get(random.nextInt(items.size()));
+	}
+}
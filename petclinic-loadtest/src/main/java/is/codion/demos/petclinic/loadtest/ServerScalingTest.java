@@ -0,0 +1,219 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.loadtest;
+
+import is.codion.common.db.database.Database;
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Arguments;
+import is.codion.demos.petclinic.loadtest.PetclinicLoadTest.StepResult;
+import is.codion.demos.petclinic.server.PetclinicServer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.rmi.RemoteException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs the {@link PetclinicLoadTest} against a {@link PetclinicServer} started locally, once for each connection pool size,
+ * reporting how the throughput scales with the number of clients and the pool size.
+ * <p>
+ * The clients connect to the server via RMI, so the 'codion.client.connectionType' system property must be 'remote'.
+ * <p>
+ * Each pool size is run against the same dataset, the H2 database being scripted before the first run
+ * and restored from the script before each of the following ones, discarding the rows inserted by the previous run.
+ * @see #main(String[])
+ */
+public final class ServerScalingTest {
+
+	private final List<Integer> poolSizes;
+	private final PetclinicLoadTest loadTest;
+	private final User user;
+
+	private ServerScalingTest(Builder builder) {
+		this.poolSizes = builder.poolSizes;
+		this.loadTest = requireNonNull(builder.loadTest, "loadTest");
+		this.user = builder.user;
+	}
+
+	/**
+	 * Starts the server with each pool size in turn, running the load test against it,
+	 * printing a throughput summary once all pool sizes have been run.
+	 * @return the results, one for each pool size
+	 * @throws RemoteException in case the server could not be started
+	 * @throws InterruptedException in case the test is interrupted
+	 * @throws SQLException in case the dataset could not be scripted or restored
+	 * @throws IOException in case of an exception while creating or deleting the script file
+	 */
+	public List<PoolResult> run() throws RemoteException, InterruptedException, SQLException, IOException {
+		List<PoolResult> results = new ArrayList<>();
+		Path dataset = Files.createTempFile("petclinic-dataset", ".sql");
+		try {
+			execute("SCRIPT TO '" + dataset + "'");
+			for (int poolSize : poolSizes) {
+				if (!results.isEmpty()) {
+					execute("DROP ALL OBJECTS", "RUNSCRIPT FROM '" + dataset + "'");
+				}
+				System.out.println("Pool size: " + poolSize);
+				try (PetclinicServer server = PetclinicServer.builder()
+								.poolSize(poolSize)
+								.user(user)
+								.build()
+								.start()) {
+					results.add(new PoolResult(server.poolSize(), loadTest.run()));
+				}
+			}
+		}
+		finally {
+			Files.deleteIfExists(dataset);
+		}
+		System.out.println(summary(results));
+
+		return results;
+	}
+
+	/**
+	 * @return a new {@link Builder} instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * <pre>
+	 * --pool-sizes=2,4,8,16 --users=1,2,4,8,16,32 --warmup=5 --duration=30 --think-time=0 --seed=42 --user=scott:tiger
+	 * </pre>
+	 * Durations are in seconds, except think time which is in milliseconds.
+	 * @param arguments the arguments
+	 * @throws Exception in case of an exception
+	 */
+	public static void main(String[] arguments) throws Exception {
+		Arguments args = new Arguments(arguments);
+		User user = User.parse(args.value("user", "scott:tiger"));
+		builder()
+						.poolSizes(integers(args.value("pool-sizes", "2,4,8,16")))
+						.user(user)
+						.loadTest(PetclinicLoadTest.builder()
+										.user(user)
+										.users(integers(args.value("users", "1,2,4,8,16,32")))
+										.warmup(Duration.ofSeconds(args.intValue("warmup", 5)))
+										.duration(Duration.ofSeconds(args.intValue("duration", 30)))
+										.thinkTime(Duration.ofMillis(args.intValue("think-time", 0)))
+										.seed(args.longValue("seed", 42))
+										.build())
+						.build()
+						.run();
+	}
+
+	/**
+	 * @return the throughput in ops/s, one row per pool size and one column per user count
+	 */
+	private static String summary(List<PoolResult> results) {
+		StringBuilder builder = new StringBuilder(String.format("%-10s", "pool/users"));
+		results.getFirst().steps().forEach(step -> builder.append(String.format("%10d", step.users())));
+		builder.append(System.lineSeparator());
+		results.forEach(result -> {
+			builder.append(String.format("%-10d", result.poolSize()));
+			result.steps().forEach(step -> builder.append(String.format("%10.1f", step.throughput())));
+			builder.append(System.lineSeparator());
+		});
+
+		return builder.toString();
+	}
+
+	private void execute(String... statements) throws SQLException {
+		try (Connection connection = Database.instance().createConnection(user);
+				 Statement statement = connection.createStatement()) {
+			for (String sql : statements) {
+				statement.execute(sql);
+			}
+		}
+	}
+
+	private static List<Integer> integers(String values) {
+		return Arrays.stream(values.split(","))
+						.map(String::trim)
+						.map(Integer::parseInt)
+						.toList();
+	}
+
+	/**
+	 * The load test results for a single pool size.
+	 * @param poolSize the connection pool size
+	 * @param steps the load test step results
+	 */
+	public record PoolResult(int poolSize, List<StepResult> steps) {}
+
+	/**
+	 * Builds a {@link ServerScalingTest}
+	 */
+	public static final class Builder {
+
+		private List<Integer> poolSizes = List.of(2, 4, 8, 16);
+		private PetclinicLoadTest loadTest;
+		private User user = User.parse("scott:tiger");
+
+		private Builder() {}
+
+		/**
+		 * @param poolSizes the connection pool sizes to run the load test with
+		 * @return this builder
+		 */
+		public Builder poolSizes(List<Integer> poolSizes) {
+			if (poolSizes.isEmpty() || poolSizes.stream().anyMatch(size -> size <= 0)) {
+				throw new IllegalArgumentException("Pool sizes must be positive");
+			}
+			this.poolSizes = List.copyOf(poolSizes);
+			return this;
+		}
+
+		/**
+		 * @param loadTest the load test to run against the server
+		 * @return this builder
+		 */
+		public Builder loadTest(PetclinicLoadTest loadTest) {
+			this.loadTest = requireNonNull(loadTest);
+			return this;
+		}
+
+		/**
+		 * @param user the database user the server pools connections for
+		 * @return this builder
+		 */
+		public Builder user(User user) {
+			this.user = requireNonNull(user);
+			return this;
+		}
+
+		/**
+		 * @return a new {@link ServerScalingTest} instance
+		 */
+		public ServerScalingTest build() {
+			return new ServerScalingTest(this);
+		}
+	}
+}
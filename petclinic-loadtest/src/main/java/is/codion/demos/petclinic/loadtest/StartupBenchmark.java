@@ -0,0 +1,265 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.loadtest;
+
+import is.codion.demos.petclinic.domain.Arguments;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Measures the client startup time, by launching the application from the jlink image a number of times,
+ * with and without the AOT cache, each run exiting once interactive.
+ * <p>
+ * Reports the time to first frame and the time to interactive, measured from process start, so the
+ * JVM startup is included. Requires a display, f.ex. xvfb-run when running headless.
+ * @see #main(String[])
+ */
+public final class StartupBenchmark {
+
+	private static final String APPLICATION = "is.codion.demos.petclinic.ui/is.codion.demos.petclinic.ui.PetclinicAppPanel";
+	private static final Pattern TIMES = Pattern.compile("first-frame=(\\d+) interactive=(\\d+)");
+	private static final long TIMEOUT_SECONDS = 120;
+
+	// As in petclinic-ui/build.gradle.kts
+	private static final List<String> JVM_ARGS = List.of(
+					"-Xmx64m",
+					"-Dcodion.client.connectionType=local",
+					"-Dcodion.db.url=jdbc:h2:mem:h2db",
+					"-Dcodion.db.initScripts=classpath:create_schema.sql",
+					"-Dpetclinic.exitOnInteractive=true");
+
+	private final Path java;
+	private final Path aotCache;
+	private final int runs;
+	private final int warmupRuns;
+
+	private StartupBenchmark(Builder builder) {
+		this.java = requireNonNull(builder.java, "java");
+		this.aotCache = builder.aotCache;
+		this.runs = builder.runs;
+		this.warmupRuns = builder.warmupRuns;
+	}
+
+	/**
+	 * Runs the benchmark without the AOT cache, and with it, if available, printing the results.
+	 * @return the results
+	 * @throws IOException in case of an exception
+	 * @throws InterruptedException in case the benchmark is interrupted
+	 */
+	public List<Result> run() throws IOException, InterruptedException {
+		List<Result> results = new ArrayList<>();
+		results.add(run("default CDS", List.of()));
+		if (aotCache != null && Files.exists(aotCache)) {
+			results.add(run("AOT cache", List.of("-XX:AOTCache=" + aotCache)));
+		}
+		else {
+			System.out.println("AOT cache not found, skipping: " + aotCache);
+		}
+		System.out.println(String.format("%-12s %8s %10s %10s %10s %10s",
+						"mode", "runs", "frame p50", "frame min", "inter p50", "inter min"));
+		results.forEach(System.out::println);
+
+		return results;
+	}
+
+	/**
+	 * @return a new {@link Builder} instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * <pre>
+	 * --java=petclinic-ui/build/image/bin/java --aot-cache=petclinic-ui/build/image/lib/petclinic.aot --runs=10 --warmup-runs=1
+	 * </pre>
+	 * @param arguments the arguments
+	 * @throws Exception in case of an exception
+	 */
+	public static void main(String[] arguments) throws Exception {
+		Arguments args = new Arguments(arguments);
+		String aotCache = args.value("aot-cache", null);
+		builder()
+						.java(Path.of(args.value("java", "petclinic-ui/build/image/bin/java")))
+						.aotCache(aotCache == null ? null : Path.of(aotCache))
+						.runs(args.intValue("runs", 10))
+						.warmupRuns(args.intValue("warmup-runs", 1))
+						.build()
+						.run();
+	}
+
+	private Result run(String mode, List<String> options) throws IOException, InterruptedException {
+		for (int i = 0; i < warmupRuns; i++) {
+			launch(options);
+		}
+		long[] firstFrame = new long[runs];
+		long[] interactive = new long[runs];
+		for (int i = 0; i < runs; i++) {
+			long[] times = launch(options);
+			firstFrame[i] = times[0];
+			interactive[i] = times[1];
+		}
+
+		return new Result(mode, runs, median(firstFrame), min(firstFrame), median(interactive), min(interactive));
+	}
+
+	/**
+	 * @return the time to first frame and the time to interactive, in milliseconds
+	 */
+	private long[] launch(List<String> options) throws IOException, InterruptedException {
+		List<String> command = new ArrayList<>();
+		command.add(java.toString());
+		command.addAll(JVM_ARGS);
+		command.addAll(options);
+		command.add("-m");
+		command.add(APPLICATION);
+		Process process = new ProcessBuilder(command)
+						.redirectErrorStream(true)
+						.start();
+		long[] times = null;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+			String line = reader.readLine();
+			while (line != null) {
+				Matcher matcher = TIMES.matcher(line);
+				if (matcher.find()) {
+					times = new long[] {Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2))};
+				}
+				line = reader.readLine();
+			}
+		}
+		if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+			process.destroyForcibly();
+			throw new IllegalStateException("Application did not exit within " + TIMEOUT_SECONDS + " seconds");
+		}
+		if (times == null) {
+			throw new IllegalStateException("No startup times reported, exit code: " + process.exitValue());
+		}
+
+		return times;
+	}
+
+	private static long median(long[] values) {
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+
+		return sorted[sorted.length / 2];
+	}
+
+	private static long min(long[] values) {
+		long min = Long.MAX_VALUE;
+		for (long value : values) {
+			min = Math.min(min, value);
+		}
+
+		return min;
+	}
+
+	/**
+	 * The startup times of a single mode, in milliseconds.
+	 * @param mode the mode
+	 * @param runs the number of measured runs
+	 * @param firstFrame the median time to first frame
+	 * @param minimumFirstFrame the minimum time to first frame
+	 * @param interactive the median time to interactive
+	 * @param minimumInteractive the minimum time to interactive
+	 */
+	public record Result(String mode, int runs, long firstFrame, long minimumFirstFrame,
+											 long interactive, long minimumInteractive) {
+
+		@Override
+		public String toString() {
+			return String.format("%-12s %8d %10d %10d %10d %10d",
+							mode, runs, firstFrame, minimumFirstFrame, interactive, minimumInteractive);
+		}
+	}
+
+	/**
+	 * Builds a {@link StartupBenchmark}
+	 */
+	public static final class Builder {
+
+		private Path java;
+		private Path aotCache;
+		private int runs = 10;
+		private int warmupRuns = 1;
+
+		private Builder() {}
+
+		/**
+		 * @param java the java executable of the jlink image
+		 * @return this builder
+		 */
+		public Builder java(Path java) {
+			this.java = requireNonNull(java);
+			return this;
+		}
+
+		/**
+		 * @param aotCache the AOT cache, null to run without it only
+		 * @return this builder
+		 */
+		public Builder aotCache(Path aotCache) {
+			this.aotCache = aotCache;
+			return this;
+		}
+
+		/**
+		 * @param runs the number of measured runs in each mode
+		 * @return this builder
+		 */
+		public Builder runs(int runs) {
+			if (runs <= 0) {
+				throw new IllegalArgumentException("Runs must be positive");
+			}
+			this.runs = runs;
+			return this;
+		}
+
+		/**
+		 * @param warmupRuns the number of unmeasured runs in each mode, warming up the file system cache
+		 * @return this builder
+		 */
+		public Builder warmupRuns(int warmupRuns) {
+			if (warmupRuns < 0) {
+				throw new IllegalArgumentException("Warmup runs must be non-negative");
+			}
+			this.warmupRuns = warmupRuns;
+			return this;
+		}
+
+		/**
+		 * @return a new {@link StartupBenchmark} instance
+		 */
+		public StartupBenchmark build() {
+			return new StartupBenchmark(this);
+		}
+	}
+}
@@ -0,0 +1,28 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+/**
+ * Petclinic demo, the headless load tests.
+ */
+module is.codion.demos.petclinic.loadtest {
+	requires is.codion.demos.petclinic.model;
+	requires is.codion.demos.petclinic.server;
+	requires is.codion.demos.petclinic.tools;
+
+	exports is.codion.demos.petclinic.loadtest;
+}
@@ -0,0 +1,30 @@
+plugins {
+    // JMH benchmarks, in the jmh source set, see BENCHMARKS below
+    // https://github.com/melix/jmh-gradle-plugin
+    id("me.champeau.jmh")
+}
+
+dependencies {
+    api(project(":petclinic-domain"))
+    // The Codion framework model module, Swing table and combo box
+    // models included, but without any of the UI components
+    api(libs.codion.swing.framework.model)
+
+    testImplementation(libs.codion.framework.db.local)
+    testRuntimeOnly(libs.codion.dbms.h2)
+
+    jmhImplementation(platform(libs.codion.framework.bom))
+}
+
+// ============================================================================
+// BENCHMARKS — optional: JMH benchmarks for the appointment schedule,
+// run with 'gradlew :petclinic-model:jmh', no database required
+// ============================================================================
+
+jmh {
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    if (project.hasProperty("jmh.includes")) {
+        includes = listOf(project.property("jmh.includes") as String)
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.benchmark;
+
+import is.codion.demos.petclinic.schedule.AppointmentSchedule;
+import is.codion.demos.petclinic.schedule.AppointmentSchedule.Slot;
+import is.codion.demos.petclinic.schedule.TimeRange;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the appointment slot queries, over a year of generated bookings, the vets working
+ * weekdays from 8 to 17, with around 70% of their half hour slots booked.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleBenchmark {
+
+	private static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 1);
+	private static final int DAYS = 365;
+	private static final int SPECIALTIES = 10;
+	private static final int OPENS = 8;
+	private static final int CLOSES = 17;
+	private static final Duration HALF_HOUR = Duration.ofMinutes(30);
+	private static final Duration TWO_WEEKS = Duration.ofDays(14);
+
+	@Param({"100", "500"})
+	private int vets;
+
+	private final Random random = new Random(42);
+
+	private AppointmentSchedule schedule;
+
+	@Setup
+	public void setup() {
+		schedule = new AppointmentSchedule();
+		for (int vetId = 1; vetId <= vets; vetId++) {
+			Set<Integer> specialties = new HashSet<>();
+			for (int i = random.nextInt(3); i >= 0; i--) {
+				specialties.add(1 + random.nextInt(SPECIALTIES));
+			}
+			schedule.addVet(vetId, specialties);
+			for (int day = 0; day < DAYS; day++) {
+				book(vetId, FIRST_DAY.plusDays(day));
+			}
+		}
+	}
+
+	@Benchmark
+	public Optional<Slot> earliestForSpecialty() {
+		return schedule.earliest(1 + random.nextInt(SPECIALTIES), randomTwoWeeks(), HALF_HOUR);
+	}
+
+	@Benchmark
+	public Optional<Slot> earliestWithVet() {
+		return schedule.earliestWithVet(1 + random.nextInt(vets), randomTwoWeeks(), HALF_HOUR);
+	}
+
+	@Benchmark
+	public boolean bookAndCancel() {
+		int vetId = 1 + random.nextInt(vets);
+		TimeRange range = TimeRange.of(randomTwoWeeks().start().plusMinutes(30L * random.nextInt(18)), HALF_HOUR);
+
+		return schedule.book(vetId, range) && schedule.cancel(vetId, range);
+	}
+
+	private TimeRange randomTwoWeeks() {
+		return TimeRange.of(FIRST_DAY.plusDays(random.nextInt(DAYS)).atTime(OPENS, 0), TWO_WEEKS);
+	}
+
+	private void book(int vetId, LocalDate date) {
+		LocalDateTime midnight = date.atStartOfDay();
+		if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+			schedule.book(vetId, TimeRange.of(midnight, Duration.ofDays(1)));
+
+			return;
+		}
+		// Outside opening hours
+		schedule.book(vetId, new TimeRange(midnight, midnight.withHour(OPENS)));
+		schedule.book(vetId, new TimeRange(midnight.withHour(CLOSES), midnight.plusDays(1)));
+		for (LocalDateTime start = midnight.withHour(OPENS); start.getHour() < CLOSES; start = start.plus(HALF_HOUR)) {
+			if (random.nextInt(10) < 7) {
+				schedule.book(vetId, TimeRange.of(start, HALF_HOUR));
+			}
+		}
+	}
+}
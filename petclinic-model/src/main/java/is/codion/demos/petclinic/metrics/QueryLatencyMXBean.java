@@ -0,0 +1,65 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.metrics;
+
+/**
+ * The latencies of an operation on an entity type, as recorded by {@link QueryMetrics}.
+ */
+public interface QueryLatencyMXBean {
+
+	/**
+	 * @return the entity type name
+	 */
+	String getEntityType();
+
+	/**
+	 * @return the operation
+	 */
+	String getOperation();
+
+	/**
+	 * @return the number of calls recorded
+	 */
+	long getCount();
+
+	/**
+	 * @return the mean latency in milliseconds
+	 */
+	double getMeanMillis();
+
+	/**
+	 * @return the median latency in milliseconds
+	 */
+	double getP50Millis();
+
+	/**
+	 * @return the 99th percentile latency in milliseconds
+	 */
+	double getP99Millis();
+
+	/**
+	 * @return the maximum latency in milliseconds
+	 */
+	double getMaxMillis();
+
+	/**
+	 * Clears the recorded latencies
+	 */
+	void reset();
+}
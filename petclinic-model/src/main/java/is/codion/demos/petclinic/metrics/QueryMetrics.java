@@ -0,0 +1,300 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.metrics;
+
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.EntityConnection.Count;
+import is.codion.framework.db.EntityConnection.Select;
+import is.codion.framework.db.EntityConnection.Update;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.EntityType;
+import is.codion.framework.domain.entity.attribute.Attribute;
+import is.codion.framework.domain.entity.condition.Condition;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the latency of the select, count, insert, update and delete calls made via
+ * an {@link #instrument(EntityConnection) instrumented} connection, per entity type and operation,
+ * in a {@link LatencyHistogram}, each exposed via JMX as a {@link QueryLatencyMXBean}.
+ * <p>
+ * Recording consists of two {@link System#nanoTime()} calls, a map lookup and the histogram increments,
+ * negligible compared to a round trip, so the instrumentation can be left on in production.
+ */
+public final class QueryMetrics {
+
+	private static final System.Logger LOG = System.getLogger(QueryMetrics.class.getName());
+
+	private static final String OBJECT_NAME = "is.codion.demos.petclinic:type=QueryLatency,entityType=%s,operation=%s";
+
+	/**
+	 * The operations recorded
+	 */
+	public enum Operation {
+		SELECT, COUNT, INSERT, UPDATE, DELETE
+	}
+
+	/**
+	 * The latencies of an operation on an entity type
+	 * @param entityType the entity type
+	 * @param operation the operation
+	 * @param latency the latency snapshot
+	 */
+	public record Latency(EntityType entityType, Operation operation, LatencyHistogram.Snapshot latency) {}
+
+	private static final Map<String, Operation> OPERATIONS = Map.of(
+					"select", Operation.SELECT,
+					"selectSingle", Operation.SELECT,
+					"count", Operation.COUNT,
+					"insert", Operation.INSERT,
+					"insertSelect", Operation.INSERT,
+					"update", Operation.UPDATE,
+					"updateSelect", Operation.UPDATE,
+					"delete", Operation.DELETE);
+
+	// One histogram per operation, by ordinal
+	private static final Map<EntityType, LatencyHistogram[]> HISTOGRAMS = new ConcurrentHashMap<>();
+
+	private QueryMetrics() {}
+
+	/**
+	 * @param connection the connection to instrument
+	 * @return a connection recording the latency of each call to the given one
+	 */
+	public static EntityConnection instrument(EntityConnection connection) {
+		if (Proxy.isProxyClass(connection.getClass())
+						&& Proxy.getInvocationHandler(connection) instanceof Instrumented) {
+			return connection;
+		}
+
+		return (EntityConnection) Proxy.newProxyInstance(EntityConnection.class.getClassLoader(),
+						new Class<?>[] {EntityConnection.class}, new Instrumented(connection));
+	}
+
+	/**
+	 * @return a snapshot of the latencies recorded, ordered by entity type and operation
+	 */
+	public static List<Latency> latencies() {
+		return HISTOGRAMS.entrySet().stream()
+						.flatMap(entry -> {
+							LatencyHistogram[] histograms = entry.getValue();
+							return List.of(Operation.values()).stream()
+											.filter(operation -> histograms[operation.ordinal()] != null)
+											.map(operation -> new Latency(entry.getKey(), operation,
+															histograms[operation.ordinal()].snapshot()));
+						})
+						.filter(latency -> latency.latency().count() > 0)
+						.sorted(Comparator.comparing((Latency latency) -> latency.entityType().name())
+										.thenComparing(Latency::operation))
+						.toList();
+	}
+
+	/**
+	 * Clears all recorded latencies
+	 */
+	public static void reset() {
+		HISTOGRAMS.values().forEach(histograms -> {
+			for (LatencyHistogram histogram : histograms) {
+				if (histogram != null) {
+					histogram.reset();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Writes the recorded latencies to the given file, as CSV, in milliseconds
+	 * @param file the file to write
+	 * @throws IOException in case of an exception
+	 */
+	public static void export(Path file) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+			writer.write("entity_type,operation,count,mean_ms,p50_ms,p90_ms,p99_ms,max_ms");
+			writer.newLine();
+			for (Latency latency : latencies()) {
+				LatencyHistogram.Snapshot snapshot = latency.latency();
+				writer.write(String.join(",", latency.entityType().name(), latency.operation().name(),
+								String.valueOf(snapshot.count()), millis(snapshot.mean()),
+								millis(snapshot.percentile(50)), millis(snapshot.percentile(90)),
+								millis(snapshot.percentile(99)), millis(snapshot.max())));
+				writer.newLine();
+			}
+		}
+	}
+
+	static LatencyHistogram histogram(EntityType entityType, Operation operation) {
+		LatencyHistogram[] histograms = HISTOGRAMS.get(entityType);
+		if (histograms == null) {
+			histograms = HISTOGRAMS.computeIfAbsent(entityType, type -> new LatencyHistogram[Operation.values().length]);
+		}
+		LatencyHistogram histogram = histograms[operation.ordinal()];
+
+		return histogram == null ? register(entityType, operation) : histogram;
+	}
+
+	private static synchronized LatencyHistogram register(EntityType entityType, Operation operation) {
+		LatencyHistogram[] histograms = HISTOGRAMS.get(entityType);
+		if (histograms[operation.ordinal()] == null) {
+			LatencyHistogram histogram = new LatencyHistogram();
+			try {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(new QueryLatency(entityType, operation, histogram),
+								new ObjectName(String.format(OBJECT_NAME, ObjectName.quote(entityType.name()),
+												operation.name().toLowerCase(Locale.ROOT))));
+			}
+			catch (JMException e) {
+				LOG.log(Level.WARNING, "Unable to register query latency MBean", e);
+			}
+			histograms[operation.ordinal()] = histogram;
+		}
+
+		return histograms[operation.ordinal()];
+	}
+
+	private static String millis(Duration duration) {
+		return String.format(Locale.ROOT, "%.3f", duration.toNanos() / 1_000_000d);
+	}
+
+	/**
+	 * @return the entity type the given argument is based on, null if none
+	 */
+	private static EntityType entityType(Object argument) {
+		return switch (argument) {
+			case Condition condition -> condition.entityType();
+			case Select select -> select.where().entityType();
+			case Count count -> count.where().entityType();
+			case Update update -> update.where().entityType();
+			case Entity entity -> entity.type();
+			case Entity.Key key -> key.type();
+			case Attribute<?> attribute -> attribute.entityType();
+			case Collection<?> collection when !collection.isEmpty() -> entityType(collection.iterator().next());
+			case null, default -> null;
+		};
+	}
+
+	private static final class Instrumented implements InvocationHandler {
+
+		private final EntityConnection connection;
+
+		private Instrumented(EntityConnection connection) {
+			this.connection = connection;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Operation operation = OPERATIONS.get(method.getName());
+			if (operation == null || args == null || args.length == 0) {
+				return invoke(method, args);
+			}
+			long start = System.nanoTime();
+			try {
+				return invoke(method, args);
+			}
+			finally {
+				EntityType entityType = entityType(args[0]);
+				if (entityType != null) {
+					histogram(entityType, operation).recordSince(start);
+				}
+			}
+		}
+
+		private Object invoke(Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(connection, args);
+			}
+			catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+
+	private static final class QueryLatency implements QueryLatencyMXBean {
+
+		private final EntityType entityType;
+		private final Operation operation;
+		private final LatencyHistogram histogram;
+
+		private QueryLatency(EntityType entityType, Operation operation, LatencyHistogram histogram) {
+			this.entityType = entityType;
+			this.operation = operation;
+			this.histogram = histogram;
+		}
+
+		@Override
+		public String getEntityType() {
+			return entityType.name();
+		}
+
+		@Override
+		public String getOperation() {
+			return operation.name();
+		}
+
+		@Override
+		public long getCount() {
+			return histogram.snapshot().count();
+		}
+
+		@Override
+		public double getMeanMillis() {
+			return toMillis(histogram.snapshot().mean());
+		}
+
+		@Override
+		public double getP50Millis() {
+			return toMillis(histogram.snapshot().percentile(50));
+		}
+
+		@Override
+		public double getP99Millis() {
+			return toMillis(histogram.snapshot().percentile(99));
+		}
+
+		@Override
+		public double getMaxMillis() {
+			return toMillis(histogram.snapshot().max());
+		}
+
+		@Override
+		public void reset() {
+			histogram.reset();
+		}
+
+		private static double toMillis(Duration duration) {
+			return duration.toNanos() / 1_000_000d;
+		}
+	}
+}
@@ -0,0 +1,554 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.EntityConnection.Select;
+import is.codion.framework.domain.entity.Entities;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.attribute.Column;
+import is.codion.framework.domain.entity.condition.Condition;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static is.codion.framework.domain.entity.OrderBy.ascending;
+import static is.codion.framework.domain.entity.condition.Condition.all;
+import static is.codion.framework.domain.entity.condition.Condition.and;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A read-only table of entity rows, stored column-wise in primitive arrays instead of one entity per row,
+ * for browsing large datasets within a small heap.
+ * <p>
+ * Integer columns are stored as ints, dates as epoch days and date/times as epoch microseconds,
+ * text columns, with mostly distinct values, as a plain string array, any other column is dictionary encoded,
+ * each distinct value stored once, along with an int code per row.
+ * Rows are loaded a page at a time, by keyset on the integer primary key, so the entities
+ * of a single page are all that is ever materialized while loading.
+ * Use {@link #entity(int, Entities)} to materialize the entity of a single row, f.ex. the selected one.
+ * <p>
+ * Loading replaces the rows, which remain readable by other threads while a load is in progress.
+ * @see #visits()
+ * @see #owners()
+ */
+public final class ColumnarTable {
+
+	/**
+	 * The default number of rows fetched per page
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 10_000;
+
+	private static final int INITIAL_CAPACITY = 1_024;
+
+	private final Column<Integer> id;
+	private final Map<Column<?>, Type> columns;
+	private final int pageSize;
+
+	private volatile Rows rows;
+
+	private ColumnarTable(DefaultBuilder builder) {
+		this.id = builder.id;
+		this.columns = new LinkedHashMap<>(builder.columns);
+		this.pageSize = builder.pageSize;
+		this.rows = new Rows(0, createVectors());
+	}
+
+	/**
+	 * @return the columns, the primary key column first
+	 */
+	public List<Column<?>> columns() {
+		return List.copyOf(columns.keySet());
+	}
+
+	/**
+	 * @return the number of rows
+	 */
+	public int size() {
+		return rows.size;
+	}
+
+	/**
+	 * @param row the row index
+	 * @param column the column
+	 * @param <T> the value type
+	 * @return the value of the given column in the given row, possibly null
+	 * @throws IndexOutOfBoundsException in case the row is out of bounds
+	 * @throws IllegalArgumentException in case the column is not part of this table
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(int row, Column<T> column) {
+		Rows current = rows;
+
+		return (T) current.vector(column).get(current.checkIndex(row));
+	}
+
+	/**
+	 * Materializes the entity of the given row, containing the columns of this table only.
+	 * @param row the row index
+	 * @param entities the domain entities
+	 * @return a new entity instance
+	 * @throws IndexOutOfBoundsException in case the row is out of bounds
+	 */
+	public Entity entity(int row, Entities entities) {
+		Rows current = rows;
+		current.checkIndex(row);
+		Entity.Builder builder = entities.builder(id.entityType());
+		for (Column<?> column : columns.keySet()) {
+			with(builder, column, current.vector(column).get(row));
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Loads all rows, replacing the current ones.
+	 * @param connection the connection to use
+	 */
+	public void load(EntityConnection connection) {
+		load(connection, all(id.entityType()));
+	}
+
+	/**
+	 * Loads the rows matching the given condition, replacing the current ones.
+	 * @param connection the connection to use
+	 * @param condition the condition
+	 */
+	public void load(EntityConnection connection, Condition condition) {
+		requireNonNull(connection);
+		requireNonNull(condition);
+		Map<Column<?>, Vector> vectors = createVectors();
+		Vector ids = vectors.get(id);
+		int size = 0;
+		List<Entity> page = selectPage(connection, condition);
+		while (!page.isEmpty()) {
+			for (Entity entity : page) {
+				for (Map.Entry<Column<?>, Vector> vector : vectors.entrySet()) {
+					vector.getValue().add(entity.get(vector.getKey()));
+				}
+			}
+			size += page.size();
+			page = page.size() < pageSize ? List.of() :
+							selectPage(connection, and(condition, id.greaterThan((Integer) ids.get(size - 1))));
+		}
+		vectors.values().forEach(Vector::trim);
+		rows = new Rows(size, vectors);
+	}
+
+	/**
+	 * @return a new visit table, containing all the visit columns
+	 */
+	public static ColumnarTable visits() {
+		return builder(Visit.ID)
+						.integerColumn(Visit.PET_ID)
+						.dateColumn(Visit.VISIT_DATE)
+						.integerColumn(Visit.VET_ID)
+						.textColumn(Visit.DESCRIPTION)
+						.dateTimeColumn(Visit.INSERT_TIME)
+						.column(Visit.INSERT_USER)
+						.build();
+	}
+
+	/**
+	 * @return a new owner table, containing all the owner columns, only the city and phone type dictionary encoded
+	 */
+	public static ColumnarTable owners() {
+		return builder(Owner.ID)
+						.textColumn(Owner.FIRST_NAME)
+						.textColumn(Owner.LAST_NAME)
+						.textColumn(Owner.ADDRESS)
+						.column(Owner.CITY)
+						.textColumn(Owner.TELEPHONE)
+						.column(Owner.PHONE_TYPE)
+						.build();
+	}
+
+	/**
+	 * @param id the integer primary key column, used for paging
+	 * @return a new builder
+	 */
+	public static Builder builder(Column<Integer> id) {
+		return new DefaultBuilder(id);
+	}
+
+	/**
+	 * Builds a {@link ColumnarTable}
+	 */
+	public interface Builder {
+
+		/**
+		 * @param column an integer column, stored as int
+		 * @return this builder
+		 */
+		Builder integerColumn(Column<Integer> column);
+
+		/**
+		 * @param column a date column, stored as an int epoch day
+		 * @return this builder
+		 */
+		Builder dateColumn(Column<LocalDate> column);
+
+		/**
+		 * @param column a date/time column, stored as long epoch microseconds
+		 * @return this builder
+		 */
+		Builder dateTimeColumn(Column<LocalDateTime> column);
+
+		/**
+		 * @param column a text column, with mostly distinct values, stored as is
+		 * @return this builder
+		 */
+		Builder textColumn(Column<String> column);
+
+		/**
+		 * @param column a column, dictionary encoded, each distinct value stored once
+		 * @return this builder
+		 */
+		Builder column(Column<?> column);
+
+		/**
+		 * @param pageSize the number of rows to fetch per page
+		 * @return this builder
+		 */
+		Builder pageSize(int pageSize);
+
+		/**
+		 * @return a new {@link ColumnarTable}
+		 */
+		ColumnarTable build();
+	}
+
+	private List<Entity> selectPage(EntityConnection connection, Condition condition) {
+		return connection.select(Select.where(condition)
+						.attributes(columns.keySet().toArray(new Column<?>[0]))
+						.orderBy(ascending(id))
+						.limit(pageSize)
+						.build());
+	}
+
+	private Map<Column<?>, Vector> createVectors() {
+		Map<Column<?>, Vector> vectors = new LinkedHashMap<>();
+		columns.forEach((column, type) -> vectors.put(column, type.create()));
+
+		return vectors;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> void with(Entity.Builder builder, Column<T> column, Object value) {
+		builder.with(column, (T) value);
+	}
+
+	private enum Type {
+		INTEGER {
+			@Override
+			Vector create() {
+				return new IntVector();
+			}
+		},
+		DATE {
+			@Override
+			Vector create() {
+				return new DateVector();
+			}
+		},
+		DATE_TIME {
+			@Override
+			Vector create() {
+				return new DateTimeVector();
+			}
+		},
+		TEXT {
+			@Override
+			Vector create() {
+				return new TextVector();
+			}
+		},
+		DICTIONARY {
+			@Override
+			Vector create() {
+				return new DictionaryVector();
+			}
+		};
+
+		abstract Vector create();
+	}
+
+	private record Rows(int size, Map<Column<?>, Vector> vectors) {
+
+		private Vector vector(Column<?> column) {
+			Vector vector = vectors.get(column);
+			if (vector == null) {
+				throw new IllegalArgumentException("Column not found: " + column);
+			}
+
+			return vector;
+		}
+
+		private int checkIndex(int row) {
+			return Objects.checkIndex(row, size);
+		}
+	}
+
+	/**
+	 * A growable column of values, appended to while loading only.
+	 */
+	private sealed interface Vector permits IntVector, DateTimeVector, TextVector, DictionaryVector {
+
+		void add(Object value);
+
+		Object get(int row);
+
+		void trim();
+	}
+
+	private static sealed class IntVector implements Vector permits DateVector {
+
+		private final BitSet nulls = new BitSet();
+
+		private int[] values = new int[INITIAL_CAPACITY];
+		private int size;
+
+		@Override
+		public void add(Object value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size + (size >> 1));
+			}
+			if (value == null) {
+				nulls.set(size);
+			}
+			else {
+				values[size] = toInt(value);
+			}
+			size++;
+		}
+
+		@Override
+		public Object get(int row) {
+			return nulls.get(row) ? null : fromInt(values[row]);
+		}
+
+		@Override
+		public void trim() {
+			values = Arrays.copyOf(values, size);
+		}
+
+		int toInt(Object value) {
+			return (Integer) value;
+		}
+
+		Object fromInt(int value) {
+			return value;
+		}
+	}
+
+	private static final class DateVector extends IntVector {
+
+		@Override
+		int toInt(Object value) {
+			return Math.toIntExact(((LocalDate) value).toEpochDay());
+		}
+
+		@Override
+		Object fromInt(int value) {
+			return LocalDate.ofEpochDay(value);
+		}
+	}
+
+	private static final class DateTimeVector implements Vector {
+
+		private static final long MICROS_PER_SECOND = 1_000_000;
+		private static final int NANOS_PER_MICRO = 1_000;
+
+		private final BitSet nulls = new BitSet();
+
+		private long[] values = new long[INITIAL_CAPACITY];
+		private int size;
+
+		@Override
+		public void add(Object value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size + (size >> 1));
+			}
+			if (value == null) {
+				nulls.set(size);
+			}
+			else {
+				LocalDateTime dateTime = (LocalDateTime) value;
+				values[size] = Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), MICROS_PER_SECOND),
+								dateTime.getNano() / NANOS_PER_MICRO);
+			}
+			size++;
+		}
+
+		@Override
+		public Object get(int row) {
+			if (nulls.get(row)) {
+				return null;
+			}
+			long micros = values[row];
+
+			return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+							(int) Math.floorMod(micros, MICROS_PER_SECOND) * NANOS_PER_MICRO, ZoneOffset.UTC);
+		}
+
+		@Override
+		public void trim() {
+			values = Arrays.copyOf(values, size);
+		}
+	}
+
+	private static final class TextVector implements Vector {
+
+		private String[] values = new String[INITIAL_CAPACITY];
+		private int size;
+
+		@Override
+		public void add(Object value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size + (size >> 1));
+			}
+			values[size++] = (String) value;
+		}
+
+		@Override
+		public Object get(int row) {
+			return values[row];
+		}
+
+		@Override
+		public void trim() {
+			values = Arrays.copyOf(values, size);
+		}
+	}
+
+	private static final class DictionaryVector implements Vector {
+
+		private static final int NULL = -1;
+
+		private final List<Object> values = new ArrayList<>();
+
+		// Only required while loading
+		private Map<Object, Integer> codes = new HashMap<>();
+		private int[] rows = new int[INITIAL_CAPACITY];
+		private int size;
+
+		@Override
+		public void add(Object value) {
+			if (size == rows.length) {
+				rows = Arrays.copyOf(rows, size + (size >> 1));
+			}
+			rows[size++] = value == null ? NULL : codes.computeIfAbsent(value, this::addValue);
+		}
+
+		@Override
+		public Object get(int row) {
+			int code = rows[row];
+
+			return code == NULL ? null : values.get(code);
+		}
+
+		@Override
+		public void trim() {
+			rows = Arrays.copyOf(rows, size);
+			((ArrayList<Object>) values).trimToSize();
+			codes = null;
+		}
+
+		private int addValue(Object value) {
+			values.add(value);
+
+			return values.size() - 1;
+		}
+	}
+
+	private static final class DefaultBuilder implements Builder {
+
+		private final Column<Integer> id;
+		private final Map<Column<?>, Type> columns = new LinkedHashMap<>();
+
+		private int pageSize = DEFAULT_PAGE_SIZE;
+
+		private DefaultBuilder(Column<Integer> id) {
+			this.id = requireNonNull(id);
+			this.columns.put(id, Type.INTEGER);
+		}
+
+		@Override
+		public Builder integerColumn(Column<Integer> column) {
+			return add(column, Type.INTEGER);
+		}
+
+		@Override
+		public Builder dateColumn(Column<LocalDate> column) {
+			return add(column, Type.DATE);
+		}
+
+		@Override
+		public Builder dateTimeColumn(Column<LocalDateTime> column) {
+			return add(column, Type.DATE_TIME);
+		}
+
+		@Override
+		public Builder textColumn(Column<String> column) {
+			return add(column, Type.TEXT);
+		}
+
+		@Override
+		public Builder column(Column<?> column) {
+			return add(column, Type.DICTIONARY);
+		}
+
+		@Override
+		public Builder pageSize(int pageSize) {
+			if (pageSize <= 0) {
+				throw new IllegalArgumentException("Page size must be positive");
+			}
+			this.pageSize = pageSize;
+
+			return this;
+		}
+
+		@Override
+		public ColumnarTable build() {
+			return new ColumnarTable(this);
+		}
+
+		private Builder add(Column<?> column, Type type) {
+			if (!column.entityType().equals(id.entityType())) {
+				throw new IllegalArgumentException("Column " + column + " is not a " + id.entityType() + " column");
+			}
+			if (columns.putIfAbsent(column, type) != null) {
+				throw new IllegalArgumentException("Column " + column + " has already been added");
+			}
+
+			return this;
+		}
+	}
+}
@@ -0,0 +1,290 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import is.codion.framework.db.EntityConnection.Select;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.attribute.Column;
+import is.codion.framework.domain.entity.condition.Condition;
+import is.codion.framework.model.EntityQueryModel;
+import is.codion.swing.framework.model.SwingEntityEditModel;
+import is.codion.swing.framework.model.SwingEntityTableModel;
+
+import java.lang.System.Logger.Level;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Populates a detail table model with the detail rows of the selected master rows, fetching them
+ * along with the detail rows of the neighbouring master rows in a single batched query, and caching
+ * them by master id, evicting the least recently used when full.
+ * <p>
+ * When the selected master rows are cached, the neighbours not yet cached are fetched in the background,
+ * so moving the master selection up or down is served from the cache, only a jump to a distant row
+ * requires a round trip. Note that the detail table condition is not applied.
+ * <p>
+ * The selected master rows and their neighbours are read by the query, on the thread performing the refresh,
+ * that is, the thread changing the master selection when refreshed synchronously, or a worker started by the
+ * Event Dispatch Thread after the selection changed, which therefore sees the changed selection.
+ * Neither blocks on the Event Dispatch Thread.
+ * <p>
+ * The cached rows of a master are invalidated by detail edits, via {@link #invalidate(Collection)}
+ * and once older than the maximum age, in order to pick up the edits of other users.
+ */
+public final class DetailPrefetch {
+
+	private static final System.Logger LOG = System.getLogger(DetailPrefetch.class.getName());
+
+	/**
+	 * The default number of master rows prefetched on either side of the selection
+	 */
+	public static final int DEFAULT_NEIGHBOURS = 10;
+
+	/**
+	 * The default maximum number of masters cached
+	 */
+	public static final int DEFAULT_CAPACITY = 1_000;
+
+	/**
+	 * The default maximum age of the cached rows
+	 */
+	public static final Duration DEFAULT_MAXIMUM_AGE = Duration.ofMinutes(1);
+
+	private static final Executor BACKGROUND = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "petclinic-prefetch");
+		thread.setDaemon(true);
+
+		return thread;
+	});
+
+	private final SwingEntityTableModel master;
+	private final Column<Integer> masterId;
+	private final SwingEntityTableModel detail;
+	private final Column<Integer> reference;
+	private final int neighbours;
+	private final long maximumAge;
+	private final Executor executor;
+	private final Map<Integer, Details> cache;
+	private final AtomicBoolean prefetching = new AtomicBoolean();
+
+	private volatile Function<Condition, Select> select = condition -> Select.where(condition).build();
+
+	// Incremented on invalidation, discarding the results of fetches in progress
+	private long generation = 0;
+
+	/**
+	 * @param master the master table model
+	 * @param masterId the master id column
+	 * @param detail the detail table model
+	 * @param reference the detail column referencing the master id
+	 */
+	public DetailPrefetch(SwingEntityTableModel master, Column<Integer> masterId,
+												SwingEntityTableModel detail, Column<Integer> reference) {
+		this(master, masterId, detail, reference, DEFAULT_NEIGHBOURS, DEFAULT_CAPACITY, DEFAULT_MAXIMUM_AGE, BACKGROUND);
+	}
+
+	DetailPrefetch(SwingEntityTableModel master, Column<Integer> masterId,
+								 SwingEntityTableModel detail, Column<Integer> reference,
+								 int neighbours, int capacity, Duration maximumAge, Executor executor) {
+		if (neighbours < 0 || capacity <= 0) {
+			throw new IllegalArgumentException("Neighbours must be non-negative and capacity positive");
+		}
+		this.master = requireNonNull(master);
+		this.masterId = requireNonNull(masterId);
+		this.detail = requireNonNull(detail);
+		this.reference = requireNonNull(reference);
+		this.neighbours = neighbours;
+		this.maximumAge = maximumAge.toNanos();
+		this.executor = requireNonNull(executor);
+		this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Details> eldest) {
+				return size() > capacity;
+			}
+		};
+		invalidateOnEdit(detail.editModel());
+		detail.queryModel().query().set(this::query);
+	}
+
+	/**
+	 * Sets the select used to fetch the detail rows, f.ex. selecting a subset of the attributes.
+	 * Note that the reference column must be included.
+	 * @param select provides the select, based on the condition referencing the masters
+	 * @return this instance
+	 */
+	public DetailPrefetch select(Function<Condition, Select> select) {
+		this.select = requireNonNull(select);
+		clear();
+
+		return this;
+	}
+
+	/**
+	 * Invalidates the cached detail rows of the given masters
+	 * @param masterIds the master ids
+	 */
+	public void invalidate(Collection<Integer> masterIds) {
+		synchronized (cache) {
+			generation++;
+			masterIds.forEach(cache::remove);
+		}
+	}
+
+	/**
+	 * Invalidates all the cached detail rows
+	 */
+	public void clear() {
+		synchronized (cache) {
+			generation++;
+			cache.clear();
+		}
+	}
+
+	private void invalidateOnEdit(SwingEntityEditModel editModel) {
+		editModel.afterInsert().addConsumer(details -> invalidate(masterIds(details)));
+		// Before and after, in case a detail row moves to another master
+		editModel.afterUpdate().addConsumer(details -> {
+			invalidate(masterIds(details.keySet()));
+			invalidate(masterIds(details.values()));
+		});
+		editModel.afterDelete().addConsumer(details -> invalidate(masterIds(details)));
+	}
+
+	private List<Entity> query(EntityQueryModel queryModel) {
+		List<Integer> selected = master.selection().items().get().stream()
+						.map(entity -> entity.get(masterId))
+						.toList();
+		if (selected.isEmpty()) {
+			return List.of();
+		}
+		Set<Integer> window = window();
+		Map<Integer, List<Entity>> details = cached(selected);
+		List<Integer> missing = selected.stream()
+						.filter(id -> !details.containsKey(id))
+						.toList();
+		if (!missing.isEmpty()) {
+			// The selection along with the neighbours, in a single query
+			Set<Integer> fetch = new LinkedHashSet<>(missing);
+			fetch.addAll(uncached(window));
+			details.putAll(fetch(fetch));
+		}
+		else {
+			prefetch(uncached(window));
+		}
+
+		return selected.stream()
+						.flatMap(id -> details.getOrDefault(id, List.of()).stream())
+						.toList();
+	}
+
+	private void prefetch(Set<Integer> masterIds) {
+		if (!masterIds.isEmpty() && prefetching.compareAndSet(false, true)) {
+			executor.execute(() -> {
+				try {
+					fetch(masterIds);
+				}
+				catch (Exception e) {
+					LOG.log(Level.WARNING, "Detail prefetch failed", e);
+				}
+				finally {
+					prefetching.set(false);
+				}
+			});
+		}
+	}
+
+	/**
+	 * @return the ids of the master rows within the neighbour distance of the selected ones
+	 */
+	private Set<Integer> window() {
+		List<Entity> items = master.items().visible().get();
+		Set<Integer> window = new LinkedHashSet<>();
+		for (int index : master.selection().indexes().get()) {
+			for (int i = Math.max(0, index - neighbours); i <= Math.min(items.size() - 1, index + neighbours); i++) {
+				window.add(items.get(i).get(masterId));
+			}
+		}
+
+		return window;
+	}
+
+	private Map<Integer, List<Entity>> cached(List<Integer> masterIds) {
+		long now = System.nanoTime();
+		Map<Integer, List<Entity>> cached = new HashMap<>();
+		synchronized (cache) {
+			for (Integer id : masterIds) {
+				Details details = cache.get(id);
+				if (details != null && now - details.fetched < maximumAge) {
+					cached.put(id, details.rows);
+				}
+			}
+		}
+
+		return cached;
+	}
+
+	private Set<Integer> uncached(Set<Integer> masterIds) {
+		Set<Integer> uncached = new LinkedHashSet<>(masterIds);
+		uncached.removeAll(cached(new ArrayList<>(masterIds)).keySet());
+
+		return uncached;
+	}
+
+	private Map<Integer, List<Entity>> fetch(Set<Integer> masterIds) {
+		long fetchGeneration;
+		synchronized (cache) {
+			fetchGeneration = generation;
+		}
+		Map<Integer, List<Entity>> details = new HashMap<>();
+		// Masters without details are cached as well
+		masterIds.forEach(id -> details.put(id, new ArrayList<>()));
+		detail.connection().select(select.apply(reference.in(masterIds)))
+						.forEach(row -> details.get(row.get(reference)).add(row));
+		long fetched = System.nanoTime();
+		synchronized (cache) {
+			if (fetchGeneration == generation) {
+				details.forEach((id, rows) -> cache.put(id, new Details(rows, fetched)));
+			}
+		}
+
+		return details;
+	}
+
+	private Set<Integer> masterIds(Collection<Entity> details) {
+		Set<Integer> masterIds = new LinkedHashSet<>();
+		details.forEach(row -> masterIds.add(row.get(reference)));
+
+		return masterIds;
+	}
+
+	private record Details(List<Entity> rows, long fetched) {}
+}
@@ -0,0 +1,199 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.EntityConnection.Select;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.OrderBy;
+import is.codion.framework.domain.entity.attribute.Column;
+import is.codion.framework.domain.entity.condition.Condition;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import static is.codion.framework.domain.entity.OrderBy.ascending;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Looks up entities by a case-insensitive prefix, fetching a limited number of them per lookup,
+ * for selecting a foreign key value without loading all the candidates.
+ * <p>
+ * The results of recent lookups are cached. A lookup narrowing a complete result, one below the limit,
+ * is resolved by filtering that result, so typing on usually only queries for the first few characters.
+ * {@link #clear()} the cache in order to pick up changes.
+ * <p>
+ * The looked up columns are case-insensitive in the database, so each prefix is matched with a plain LIKE,
+ * an index range scan, see {@link #owners(EntityConnection)} and {@link #pets(EntityConnection)}.
+ */
+public final class EntityLookup {
+
+	/**
+	 * The default maximum number of entities returned by a lookup
+	 */
+	public static final int DEFAULT_LIMIT = 20;
+
+	private static final int CACHE_SIZE = 50;
+
+	private final EntityConnection connection;
+	private final Function<String, Condition> condition;
+	private final BiPredicate<Entity, String> matches;
+	private final OrderBy orderBy;
+	private final int limit;
+	private final Map<String, List<Entity>> cache = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, List<Entity>> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * @param connection the connection
+	 * @param condition provides the condition for the lower case lookup text
+	 * @param matches returns true if the entity matches the lower case lookup text, for narrowing a cached result
+	 * @param orderBy the order of the result
+	 * @param limit the maximum number of entities returned by a lookup
+	 */
+	public EntityLookup(EntityConnection connection, Function<String, Condition> condition,
+											BiPredicate<Entity, String> matches, OrderBy orderBy, int limit) {
+		if (limit <= 0) {
+			throw new IllegalArgumentException("A positive limit is required");
+		}
+		this.connection = requireNonNull(connection);
+		this.condition = requireNonNull(condition);
+		this.matches = requireNonNull(matches);
+		this.orderBy = requireNonNull(orderBy);
+		this.limit = limit;
+	}
+
+	/**
+	 * @param connection the connection
+	 * @return a lookup for owners, by last or first name
+	 */
+	public static EntityLookup owners(EntityConnection connection) {
+		return new EntityLookup(connection, EntityLookup::ownerCondition, EntityLookup::ownerMatches,
+						ascending(Owner.LAST_NAME, Owner.FIRST_NAME), DEFAULT_LIMIT);
+	}
+
+	/**
+	 * A text of two words, such as "leo davis", looks up the pets by name and owner last name.
+	 * @param connection the connection
+	 * @return a lookup for pets, by name, optionally followed by the owner last name
+	 */
+	public static EntityLookup pets(EntityConnection connection) {
+		return new EntityLookup(connection, EntityLookup::petCondition, EntityLookup::petMatches,
+						ascending(Pet.NAME, Pet.OWNER_ID), DEFAULT_LIMIT);
+	}
+
+	/**
+	 * @param text the text to look up
+	 * @return the entities starting with the given text, at most the limit, an empty list in case of a blank text
+	 */
+	public List<Entity> lookup(String text) {
+		String prefix = normalize(text);
+		if (prefix.isEmpty()) {
+			return List.of();
+		}
+		synchronized (cache) {
+			List<Entity> cached = cache.get(prefix);
+			if (cached != null) {
+				return cached;
+			}
+			for (int length = prefix.length() - 1; length > 0; length--) {
+				List<Entity> shorter = cache.get(prefix.substring(0, length));
+				if (shorter != null && shorter.size() < limit) {
+					return put(prefix, shorter.stream()
+									.filter(entity -> matches.test(entity, prefix))
+									.toList());
+				}
+			}
+		}
+		List<Entity> entities = connection.select(Select.where(condition.apply(prefix))
+						.orderBy(orderBy)
+						.limit(limit)
+						.build());
+		synchronized (cache) {
+			return put(prefix, entities);
+		}
+	}
+
+	/**
+	 * Clears the cached results
+	 */
+	public void clear() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+
+	private List<Entity> put(String prefix, List<Entity> entities) {
+		cache.put(prefix, entities);
+
+		return entities;
+	}
+
+	private static Condition ownerCondition(String prefix) {
+		return Owner.NAME_STARTS_WITH.get(List.<Column<?>>of(Owner.LAST_NAME, Owner.FIRST_NAME), List.of(prefix + "%", prefix + "%"));
+	}
+
+	private static boolean ownerMatches(Entity owner, String prefix) {
+		return startsWith(owner.get(Owner.LAST_NAME), prefix) || startsWith(owner.get(Owner.FIRST_NAME), prefix);
+	}
+
+	private static Condition petCondition(String prefix) {
+		String[] words = prefix.split(" ", 2);
+		if (words.length == 1) {
+			return Pet.NAME.like(prefix + "%");
+		}
+
+		return Pet.NAME_AND_OWNER_STARTS_WITH.get(List.<Column<?>>of(Pet.NAME, Owner.LAST_NAME), List.of(words[0] + "%", words[1] + "%"));
+	}
+
+	private static boolean petMatches(Entity pet, String prefix) {
+		String[] words = prefix.split(" ", 2);
+		if (!startsWith(pet.get(Pet.NAME), words[0])) {
+			return false;
+		}
+		if (words.length == 1) {
+			return true;
+		}
+		Entity owner = pet.get(Pet.OWNER_FK);
+
+		return owner != null && startsWith(owner.get(Owner.LAST_NAME), words[1]);
+	}
+
+	private static boolean startsWith(String value, String prefix) {
+		return value != null && value.toLowerCase(Locale.ROOT).startsWith(prefix);
+	}
+
+	private static String normalize(String text) {
+		// wildcards are not supported, words are separated by a single space
+		return text == null ? "" : text.strip()
+						.replace("%", "")
+						.replace("_", "")
+						.replaceAll("\\s+", " ")
+						.toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import is.codion.common.reactive.observer.Observer;
+import is.codion.swing.framework.model.SwingEntityTableModel;
+import is.codion.swing.framework.model.component.EntityComboBoxModel;
+
+import javax.swing.SwingUtilities;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Loads models without blocking the Event Dispatch Thread.
+ * <p>
+ * Swing models must only be refreshed on the Event Dispatch Thread, where the refresh is asynchronous,
+ * the query running on a worker thread and the result applied on the Event Dispatch Thread,
+ * see {@link #refresh(SwingEntityTableModel...)}. Loads not touching Swing models run concurrently,
+ * each on its own virtual thread, see {@link #load(Runnable...)}, and a fetch applied to Swing models
+ * is applied on the Event Dispatch Thread, see {@link #fetch(Supplier, Consumer)}.
+ */
+public final class ModelLoader {
+
+	private static final System.Logger LOG = System.getLogger(ModelLoader.class.getName());
+
+	private static final Executor VIRTUAL_THREADS = task -> Thread.ofVirtual()
+					.name("petclinic-loader")
+					.start(task);
+
+	private ModelLoader() {}
+
+	/**
+	 * Starts the given loads, each on its own virtual thread. A failed load is logged
+	 * and does not prevent the others from completing.
+	 * <p>
+	 * Note that the loads must not refresh Swing models, use {@link #refresh(SwingEntityTableModel...)}.
+	 * @param loads the loads to run
+	 * @return a future completing when all loads have completed
+	 */
+	public static CompletableFuture<Void> load(Runnable... loads) {
+		return CompletableFuture.allOf(Arrays.stream(loads)
+						.map(load -> CompletableFuture.runAsync(load, VIRTUAL_THREADS)
+										.exceptionally(exception -> {
+											LOG.log(System.Logger.Level.ERROR, "Load failed", exception);
+											return null;
+										}))
+						.toArray(CompletableFuture[]::new));
+	}
+
+	/**
+	 * Refreshes the given table models, starting each refresh on the Event Dispatch Thread.
+	 * @param tableModels the table models to refresh
+	 * @return a future completing when all the table models have been refreshed
+	 */
+	public static CompletableFuture<Void> refresh(SwingEntityTableModel... tableModels) {
+		return CompletableFuture.allOf(Arrays.stream(tableModels)
+						.map(tableModel -> refresh(tableModel.items().refresher().active(),
+										() -> tableModel.items().refresh()))
+						.toArray(CompletableFuture[]::new));
+	}
+
+	/**
+	 * Refreshes the given combo box models, starting each refresh on the Event Dispatch Thread.
+	 * @param comboBoxModels the combo box models to refresh
+	 * @return a future completing when all the combo box models have been refreshed
+	 */
+	public static CompletableFuture<Void> refresh(EntityComboBoxModel... comboBoxModels) {
+		return CompletableFuture.allOf(Arrays.stream(comboBoxModels)
+						.map(comboBoxModel -> refresh(comboBoxModel.items().refresher().active(),
+										() -> comboBoxModel.items().refresh()))
+						.toArray(CompletableFuture[]::new));
+	}
+
+	/**
+	 * Performs the given fetch on a virtual thread, applying the result on the Event Dispatch Thread.
+	 * When called off the Event Dispatch Thread both are performed on the calling thread,
+	 * as Swing models refresh. A failed fetch is logged.
+	 * @param fetch the fetch
+	 * @param apply applies the fetched result
+	 * @param <T> the result type
+	 */
+	public static <T> void fetch(Supplier<T> fetch, Consumer<T> apply) {
+		if (!SwingUtilities.isEventDispatchThread()) {
+			apply.accept(fetch.get());
+		}
+		else {
+			CompletableFuture.supplyAsync(fetch, VIRTUAL_THREADS)
+							.thenAccept(result -> SwingUtilities.invokeLater(() -> apply.accept(result)))
+							.exceptionally(exception -> {
+								LOG.log(System.Logger.Level.ERROR, "Fetch failed", exception);
+								return null;
+							});
+		}
+	}
+
+	private static CompletableFuture<Void> refresh(Observer<Boolean> active, Runnable refresh) {
+		CompletableFuture<Void> refreshed = new CompletableFuture<>();
+		Consumer<Boolean> completed = refreshing -> {
+			if (!refreshing) {
+				// Once the event applying the result has been processed
+				SwingUtilities.invokeLater(() -> refreshed.complete(null));
+			}
+		};
+		// Only this refresh, completed on the Event Dispatch Thread
+		refreshed.thenRun(() -> active.removeConsumer(completed));
+		SwingUtilities.invokeLater(() -> {
+			active.addConsumer(completed);
+			refresh.run();
+		});
+
+		return refreshed;
+	}
+}
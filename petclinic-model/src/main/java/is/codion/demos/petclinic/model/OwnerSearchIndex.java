@@ -0,0 +1,266 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.EntityConnection.Count;
+import is.codion.framework.db.EntityConnection.Select;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.attribute.Column;
+import is.codion.framework.domain.entity.condition.Condition;
+import is.codion.swing.framework.model.SwingEntityEditModel;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static is.codion.framework.domain.entity.OrderBy.ascending;
+import static is.codion.framework.domain.entity.condition.Condition.all;
+import static is.codion.framework.domain.entity.condition.Condition.and;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * A type-ahead search index for owners, on the owner first and last names
+ * along with the names of their pets, based on a {@link TrigramIndex}.
+ * <p>
+ * The index is loaded on first search, a page of owners at a time, by keyset on the owner id,
+ * along with the pets of each page, so only a single page of entities is materialized while loading.
+ * The index itself takes around 475 bytes per owner with two pets, measured with 100.000 generated owners
+ * taking 45 MB, so the number of owners indexed is limited, see {@link #MAXIMUM_OWNERS}. With more owners,
+ * counted when loading, the search falls back to a prefix query on the owner names, see {@link Owner#NAME_STARTS_WITH},
+ * backed by the name indexes, matching the first word of the search text, pet names excluded.
+ * <p>
+ * The index is kept in sync with the edits performed by the owner and pet edit models it follows,
+ * see {@link #follow(SwingEntityEditModel)}, reindexing the affected owners in the background,
+ * in order, keeping the queries off the Event Dispatch Thread. A search waits for the reindexing in progress.
+ */
+public final class OwnerSearchIndex {
+
+	/**
+	 * The maximum number of owners indexed, above which the search falls back to a prefix query on the owner names
+	 */
+	public static final String MAXIMUM_OWNERS = "petclinic.searchIndex.maximumOwners";
+
+	/**
+	 * The default maximum number of owners indexed, around 48 MB, well within the 64 MB client heap
+	 */
+	public static final int DEFAULT_MAXIMUM_OWNERS = 100_000;
+
+	private static final System.Logger LOG = System.getLogger(OwnerSearchIndex.class.getName());
+
+	// The number of owners fetched per page while loading
+	private static final int PAGE_SIZE = 10_000;
+
+	private static final Executor BACKGROUND = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "petclinic-search-index");
+		thread.setDaemon(true);
+
+		return thread;
+	});
+
+	private final EntityConnection connection;
+	private final int maximumOwners;
+	private final TrigramIndex<Integer> index = new TrigramIndex<>();
+	private final Object reindexLock = new Object();
+
+	private volatile boolean loaded = false;
+	// False in case the number of owners exceeded the maximum when loaded
+	private volatile boolean indexed = false;
+	// The last reindexing submitted, completing after all the previous ones
+	private volatile CompletableFuture<Void> reindexing = CompletableFuture.completedFuture(null);
+
+	OwnerSearchIndex(EntityConnection connection) {
+		this.connection = connection;
+		this.maximumOwners = Integer.getInteger(MAXIMUM_OWNERS, DEFAULT_MAXIMUM_OWNERS);
+	}
+
+	/**
+	 * Loads the index in case it has not been loaded, waiting for the reindexing in progress, if any.
+	 * Note that this should not be called on the Event Dispatch Thread.
+	 * @param text the search text
+	 * @param limit the maximum number of results
+	 * @return the ids of the owners best matching the text, best first
+	 */
+	public List<Integer> search(String text, int limit) {
+		reindexing.join();
+		if (!loaded) {
+			load();
+		}
+
+		return indexed ? index.search(text, limit) : prefixSearch(text, limit);
+	}
+
+	/**
+	 * Clears the index, which is then reloaded on next search
+	 */
+	public synchronized void reload() {
+		loaded = false;
+		indexed = false;
+		index.clear();
+	}
+
+	/**
+	 * Keeps this index in sync with the edits performed by the given edit model
+	 * @param editModel an owner or pet edit model
+	 * @throws IllegalArgumentException in case the edit model is not based on owners or pets
+	 */
+	public void follow(SwingEntityEditModel editModel) {
+		if (editModel.entityType().equals(Owner.TYPE)) {
+			editModel.afterInsert().addConsumer(owners -> reindex(ownerIds(owners, Owner.ID)));
+			editModel.afterUpdate().addConsumer(owners -> reindex(ownerIds(owners.values(), Owner.ID)));
+			editModel.afterDelete().addConsumer(owners -> reindex(ownerIds(owners, Owner.ID)));
+		}
+		else if (editModel.entityType().equals(Pet.TYPE)) {
+			editModel.afterInsert().addConsumer(pets -> reindex(ownerIds(pets, Pet.OWNER_ID)));
+			// Before and after, in case a pet moves to another owner
+			editModel.afterUpdate().addConsumer(pets -> reindex(Stream.concat(
+											ownerIds(pets.keySet(), Pet.OWNER_ID).stream(),
+											ownerIds(pets.values(), Pet.OWNER_ID).stream())
+							.collect(toSet())));
+			editModel.afterDelete().addConsumer(pets -> reindex(ownerIds(pets, Pet.OWNER_ID)));
+		}
+		else {
+			throw new IllegalArgumentException("Owner or pet edit model expected");
+		}
+	}
+
+	private synchronized void load() {
+		if (!loaded) {
+			int owners = connection.count(Count.where(all(Owner.TYPE)));
+			indexed = owners <= maximumOwners;
+			if (indexed) {
+				loadIndex();
+			}
+			else {
+				LOG.log(System.Logger.Level.INFO, "{0} owners exceed the maximum of {1} indexed, searching by name prefix",
+								owners, maximumOwners);
+			}
+			loaded = true;
+		}
+	}
+
+	private void loadIndex() {
+		List<Entity> owners = ownerPage(all(Owner.TYPE));
+		while (!owners.isEmpty()) {
+			Integer first = owners.get(0).get(Owner.ID);
+			Integer last = owners.get(owners.size() - 1).get(Owner.ID);
+			texts(owners, connection.select(Select.where(and(
+											Pet.OWNER_ID.greaterThanOrEqualTo(first),
+											Pet.OWNER_ID.lessThanOrEqualTo(last)))
+							.attributes(Pet.OWNER_ID, Pet.NAME)
+							.build()))
+							.forEach(index::put);
+			owners = owners.size() < PAGE_SIZE ? List.of() : ownerPage(Owner.ID.greaterThan(last));
+		}
+	}
+
+	private List<Integer> prefixSearch(String text, int limit) {
+		// wildcards are not supported, the first word only
+		String prefix = text.strip()
+						.replace("%", "")
+						.replace("_", "")
+						.split("\\s+", 2)[0]
+						.toLowerCase(Locale.ROOT);
+		if (prefix.isEmpty()) {
+			return List.of();
+		}
+
+		Condition condition = Owner.NAME_STARTS_WITH.get(List.<Column<?>>of(Owner.LAST_NAME, Owner.FIRST_NAME),
+						List.of(prefix + "%", prefix + "%"));
+
+		return connection.select(Select.where(condition)
+										.attributes(Owner.ID)
+										.orderBy(ascending(Owner.LAST_NAME, Owner.FIRST_NAME, Owner.ID))
+										.limit(limit)
+										.build()).stream()
+						.map(owner -> owner.get(Owner.ID))
+						.toList();
+	}
+
+	private List<Entity> ownerPage(Condition condition) {
+		return connection.select(Select.where(condition)
+						.attributes(Owner.ID, Owner.FIRST_NAME, Owner.LAST_NAME)
+						.orderBy(ascending(Owner.ID))
+						.limit(PAGE_SIZE)
+						.build());
+	}
+
+	private void reindex(Set<Integer> ownerIds) {
+		synchronized (reindexLock) {
+			reindexing = reindexing.thenRunAsync(() -> reindexNow(ownerIds), BACKGROUND)
+							.exceptionally(exception -> {
+								LOG.log(System.Logger.Level.ERROR, "Reindexing failed, reloading on next search", exception);
+								reload();
+								return null;
+							});
+		}
+	}
+
+	private synchronized void reindexNow(Set<Integer> ownerIds) {
+		if (loaded && indexed) {
+			Map<Integer, String> texts = texts(connection.select(Select.where(Owner.ID.in(ownerIds))
+											.attributes(Owner.ID, Owner.FIRST_NAME, Owner.LAST_NAME)
+											.build()),
+							connection.select(Select.where(Pet.OWNER_ID.in(ownerIds))
+											.attributes(Pet.OWNER_ID, Pet.NAME)
+											.build()));
+			ownerIds.forEach(id -> {
+				String text = texts.get(id);
+				if (text == null) {
+					index.remove(id);
+				}
+				else {
+					index.put(id, text);
+				}
+			});
+		}
+	}
+
+	private static Set<Integer> ownerIds(Collection<Entity> entities, Column<Integer> ownerId) {
+		return entities.stream()
+						.map(entity -> entity.get(ownerId))
+						.collect(toSet());
+	}
+
+	private static Map<Integer, String> texts(List<Entity> owners, List<Entity> pets) {
+		Map<Integer, StringBuilder> texts = new HashMap<>(owners.size());
+		owners.forEach(owner -> texts.put(owner.get(Owner.ID), new StringBuilder()
+						.append(owner.get(Owner.FIRST_NAME)).append(' ')
+						.append(owner.get(Owner.LAST_NAME))));
+		pets.forEach(pet -> {
+			StringBuilder text = texts.get(pet.get(Pet.OWNER_ID));
+			if (text != null) {
+				text.append(' ').append(pet.get(Pet.NAME));
+			}
+		});
+		Map<Integer, String> result = new HashMap<>(texts.size());
+		texts.forEach((id, text) -> result.put(id, text.toString()));
+
+		return result;
+	}
+}
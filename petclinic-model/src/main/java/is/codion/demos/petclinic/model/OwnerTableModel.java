@@ -0,0 +1,341 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import is.codion.common.utilities.Conjunction;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.EntityConnection.Select;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.OrderBy;
+import is.codion.framework.domain.entity.condition.Condition;
+import is.codion.framework.model.EntityQueryModel;
+import is.codion.swing.framework.model.SwingEntityEditModel;
+import is.codion.swing.framework.model.SwingEntityTableModel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static is.codion.framework.domain.entity.OrderBy.ascending;
+import static is.codion.framework.domain.entity.OrderBy.descending;
+import static is.codion.framework.domain.entity.condition.Condition.and;
+import static is.codion.framework.domain.entity.condition.Condition.or;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * A table model displaying a bounded window of owners, fetched a page at a time by keyset on
+ * (last_name, first_name, id), so the memory used is independent of the number of owners.
+ * <p>
+ * Refreshing fetches the first page matching the table condition, {@link #nextPage()} and
+ * {@link #previousPage()} slide the window, dropping the page at the opposite end when
+ * the window is full.
+ * <p>
+ * When a search text is specified, via {@link #search(String)}, refreshing instead fetches a single
+ * page of the owners best matching it, ranked by the {@link OwnerSearchIndex}.
+ * <p>
+ * The pages follow the edits performed via the edit model, an inserted owner is only added
+ * in case it falls within the window, otherwise it is fetched along with its page.
+ */
+public final class OwnerTableModel extends SwingEntityTableModel {
+
+	/**
+	 * The default number of owners per page
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 100;
+
+	/**
+	 * The default maximum number of pages kept in the window
+	 */
+	public static final int DEFAULT_MAXIMUM_PAGES = 5;
+
+	private static final OrderBy KEYSET_ASCENDING = ascending(Owner.LAST_NAME, Owner.FIRST_NAME, Owner.ID);
+	private static final OrderBy KEYSET_DESCENDING = descending(Owner.LAST_NAME, Owner.FIRST_NAME, Owner.ID);
+	// The names are case-insensitive in the database
+	private static final Comparator<Entity> KEYSET = Comparator.comparing((Entity owner) -> owner.get(Owner.LAST_NAME), String.CASE_INSENSITIVE_ORDER)
+					.thenComparing(owner -> owner.get(Owner.FIRST_NAME), String.CASE_INSENSITIVE_ORDER)
+					.thenComparing(owner -> owner.get(Owner.ID));
+
+	private final int pageSize;
+	private final int maximumPages;
+	private final Deque<List<Entity>> pages = new ArrayDeque<>();
+	private final OwnerSearchIndex searchIndex;
+
+	private volatile String searchText = "";
+	private volatile Page requested = Page.FIRST;
+	private volatile boolean hasNextPage = false;
+	private volatile boolean hasPreviousPage = false;
+
+	/**
+	 * @param connection the connection
+	 */
+	public OwnerTableModel(EntityConnection connection) {
+		this(connection, DEFAULT_PAGE_SIZE, DEFAULT_MAXIMUM_PAGES);
+	}
+
+	/**
+	 * @param connection the connection
+	 * @param pageSize the number of owners per page
+	 * @param maximumPages the maximum number of pages kept in the window
+	 */
+	public OwnerTableModel(EntityConnection connection, int pageSize, int maximumPages) {
+		super(new SwingEntityEditModel(Owner.TYPE, connection));
+		if (pageSize <= 0 || maximumPages < 2) {
+			throw new IllegalArgumentException("Page size must be positive and the window must fit at least two pages");
+		}
+		this.pageSize = pageSize;
+		this.maximumPages = maximumPages;
+		this.searchIndex = new OwnerSearchIndex(connection);
+		this.searchIndex.follow(editModel());
+		editModel().afterInsert().addConsumer(this::inserted);
+		editModel().afterUpdate().addConsumer(this::updated);
+		editModel().afterDelete().addConsumer(this::deleted);
+		queryModel().query().set(this::query);
+	}
+
+	/**
+	 * @return the search index, follow the pet edit model in order to keep pet names in sync
+	 */
+	public OwnerSearchIndex searchIndex() {
+		return searchIndex;
+	}
+
+	/**
+	 * Sets the search text and refreshes, a blank text returns to the first page
+	 * @param text the search text
+	 */
+	public void search(String text) {
+		searchText = text == null ? "" : text;
+		items().refresh();
+	}
+
+	/**
+	 * @return true if owners follow the last one in the window
+	 */
+	public boolean hasNextPage() {
+		return hasNextPage;
+	}
+
+	/**
+	 * @return true if owners precede the first one in the window
+	 */
+	public boolean hasPreviousPage() {
+		return hasPreviousPage;
+	}
+
+	/**
+	 * Fetches the page following the window, if any
+	 */
+	public void nextPage() {
+		if (hasNextPage) {
+			requested = Page.NEXT;
+			items().refresh();
+		}
+	}
+
+	/**
+	 * Fetches the page preceding the window, if any
+	 */
+	public void previousPage() {
+		if (hasPreviousPage) {
+			requested = Page.PREVIOUS;
+			items().refresh();
+		}
+	}
+
+	private synchronized List<Entity> query(EntityQueryModel queryModel) {
+		Page page = requested;
+		requested = Page.FIRST;
+		Condition where = queryModel.condition().where(Conjunction.AND);
+		String text = searchText;
+		if (!text.isBlank()) {
+			return search(where, text);
+		}
+		switch (page) {
+			case NEXT -> nextPage(where);
+			case PREVIOUS -> previousPage(where);
+			default -> firstPage(where);
+		}
+
+		return pages.stream()
+						.flatMap(List::stream)
+						.toList();
+	}
+
+	private void firstPage(Condition where) {
+		List<Entity> owners = select(where, KEYSET_ASCENDING);
+		pages.clear();
+		if (!owners.isEmpty()) {
+			pages.addLast(new ArrayList<>(owners.subList(0, Math.min(pageSize, owners.size()))));
+		}
+		hasNextPage = owners.size() > pageSize;
+		hasPreviousPage = false;
+	}
+
+	private void nextPage(Condition where) {
+		if (pages.isEmpty()) {
+			firstPage(where);
+			return;
+		}
+		List<Entity> lastPage = pages.peekLast();
+		List<Entity> owners = select(and(where, after(lastPage.get(lastPage.size() - 1))), KEYSET_ASCENDING);
+		hasNextPage = owners.size() > pageSize;
+		// Deleted elsewhere, an empty page has no key row
+		if (owners.isEmpty()) {
+			return;
+		}
+		pages.addLast(new ArrayList<>(owners.subList(0, Math.min(pageSize, owners.size()))));
+		if (pages.size() > maximumPages) {
+			pages.removeFirst();
+			hasPreviousPage = true;
+		}
+	}
+
+	private void previousPage(Condition where) {
+		if (pages.isEmpty()) {
+			firstPage(where);
+			return;
+		}
+		List<Entity> owners = select(and(where, before(pages.peekFirst().get(0))), KEYSET_DESCENDING);
+		hasPreviousPage = owners.size() > pageSize;
+		if (owners.isEmpty()) {
+			return;
+		}
+		// selected in descending order
+		pages.addFirst(new ArrayList<>(owners.subList(0, Math.min(pageSize, owners.size())).reversed()));
+		if (pages.size() > maximumPages) {
+			pages.removeLast();
+			hasNextPage = true;
+		}
+	}
+
+	private List<Entity> search(Condition where, String text) {
+		pages.clear();
+		hasNextPage = false;
+		hasPreviousPage = false;
+		List<Integer> ids = searchIndex.search(text, pageSize);
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		Map<Integer, Entity> owners = connection().select(and(where, Owner.ID.in(ids))).stream()
+						.collect(toMap(owner -> owner.get(Owner.ID), identity()));
+
+		// in the ranked order
+		return ids.stream()
+						.map(owners::get)
+						.filter(Objects::nonNull)
+						.toList();
+	}
+
+	private synchronized void inserted(Collection<Entity> owners) {
+		owners.forEach(this::place);
+	}
+
+	private synchronized void updated(Map<Entity, Entity> owners) {
+		// Placed again, in case the name changed
+		remove(owners.keySet());
+		owners.values().forEach(this::place);
+	}
+
+	private synchronized void deleted(Collection<Entity> owners) {
+		remove(owners);
+	}
+
+	private void remove(Collection<Entity> owners) {
+		Set<Entity.Key> keys = owners.stream()
+						.map(Entity::primaryKey)
+						.collect(toSet());
+		pages.forEach(page -> page.removeIf(owner -> keys.contains(owner.primaryKey())));
+		// Every page keeps a key row
+		pages.removeIf(List::isEmpty);
+	}
+
+	/**
+	 * Adds the owner to the page it falls within, if any. An owner preceding or following the window
+	 * is not added, since the first and last owners in the window are the keys for the adjacent pages.
+	 * An owner inserted into an empty window starts its only page.
+	 */
+	private void place(Entity owner) {
+		if (pages.isEmpty()) {
+			if (!hasPreviousPage && !hasNextPage) {
+				pages.addLast(new ArrayList<>(List.of(owner)));
+			}
+			return;
+		}
+		List<Entity> firstPage = pages.peekFirst();
+		List<Entity> lastPage = pages.peekLast();
+		if (hasPreviousPage && KEYSET.compare(owner, firstPage.get(0)) < 0
+						|| hasNextPage && KEYSET.compare(owner, lastPage.get(lastPage.size() - 1)) > 0) {
+			return;
+		}
+		for (List<Entity> page : pages) {
+			if (page == lastPage || KEYSET.compare(owner, page.get(page.size() - 1)) <= 0) {
+				int index = Collections.binarySearch(page, owner, KEYSET);
+				page.add(index < 0 ? -index - 1 : index, owner);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @return one more owner than the page size, indicating whether more owners follow
+	 */
+	private List<Entity> select(Condition where, OrderBy orderBy) {
+		return connection().select(Select.where(where)
+						.orderBy(orderBy)
+						.limit(pageSize + 1)
+						.build());
+	}
+
+	private static Condition after(Entity owner) {
+		String lastName = owner.get(Owner.LAST_NAME);
+		String firstName = owner.get(Owner.FIRST_NAME);
+
+		// The redundant leading range is what the index scan starts from, the disjunction alone scans from the first owner
+		return and(Owner.LAST_NAME.greaterThanOrEqualTo(lastName),
+						or(Owner.LAST_NAME.greaterThan(lastName),
+										and(Owner.LAST_NAME.equalTo(lastName), Owner.FIRST_NAME.greaterThan(firstName)),
+										and(Owner.LAST_NAME.equalTo(lastName), Owner.FIRST_NAME.equalTo(firstName),
+														Owner.ID.greaterThan(owner.get(Owner.ID)))));
+	}
+
+	private static Condition before(Entity owner) {
+		String lastName = owner.get(Owner.LAST_NAME);
+		String firstName = owner.get(Owner.FIRST_NAME);
+
+		return and(Owner.LAST_NAME.lessThanOrEqualTo(lastName),
+						or(Owner.LAST_NAME.lessThan(lastName),
+										and(Owner.LAST_NAME.equalTo(lastName), Owner.FIRST_NAME.lessThan(firstName)),
+										and(Owner.LAST_NAME.equalTo(lastName), Owner.FIRST_NAME.equalTo(firstName),
+														Owner.ID.lessThan(owner.get(Owner.ID)))));
+	}
+
+	private enum Page {
+		FIRST, NEXT, PREVIOUS
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2004 - 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import is.codion.demos.petclinic.domain.Petclinic.ArchivedVisit;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.demos.petclinic.metrics.QueryMetrics;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.EntityConnection.Select;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.condition.Condition;
+import is.codion.swing.framework.model.SwingEntityApplicationModel;
+import is.codion.swing.framework.model.SwingEntityEditModel;
+import is.codion.swing.framework.model.SwingEntityModel;
+import is.codion.swing.framework.model.SwingEntityTableModel;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.stream.Collectors.toSet;
+
+public final class PetclinicAppModel extends SwingEntityApplicationModel {
+
+	/**
+	 * @param connection the connection, instrumented for query latency, see {@link QueryMetrics}
+	 */
+	public PetclinicAppModel(EntityConnection connection) {
+		this(createOwnersModel(QueryMetrics.instrument(connection)));
+	}
+
+	private PetclinicAppModel(SwingEntityModel ownersModel) {
+		// The instrumented connection, shared by all the models
+		super(ownersModel.tableModel().connection(), List.of(ownersModel));
+	}
+
+	/**
+	 * Loads the initial data, the owners table and the combo box models, concurrently,
+	 * without blocking the Event Dispatch Thread, see {@link ModelLoader}.
+	 * @return a future completing when all the initial data has been loaded
+	 */
+	public CompletableFuture<Void> load() {
+		SwingEntityModel ownersModel = models().get(Owner.TYPE);
+		SwingEntityModel petsModel = ownersModel.detail().get(Pet.TYPE);
+		SwingEntityModel visitsModel = petsModel.detail().get(Visit.TYPE);
+
+		return CompletableFuture.allOf(
+						// Fetches the first page only, see OwnerTableModel
+						ModelLoader.refresh(ownersModel.tableModel()),
+						// Owners and pets are looked up as the user types, see EntityLookup
+						ModelLoader.refresh(ReferenceData.comboBoxModel(petsModel.editor(), Pet.PET_TYPE_FK),
+										ReferenceData.comboBoxModel(visitsModel.editor(), Visit.VET_FK)));
+	}
+
+	private static SwingEntityModel createOwnersModel(EntityConnection connection) {
+		OwnerTableModel ownerTableModel = new OwnerTableModel(connection);
+		SwingEntityModel ownersModel = new SwingEntityModel(ownerTableModel);
+		SwingEntityModel petsModel = new SwingEntityModel(Pet.TYPE, connection);
+		SwingEntityModel visitModel = new SwingEntityModel(Visit.TYPE, connection);
+		// Only queried while its detail panel is active
+		SwingEntityModel archivedVisitModel = new SwingEntityModel(ArchivedVisit.TYPE, connection);
+
+		ownersModel.detail().add(petsModel);
+		// Pet names are searchable as well
+		ownerTableModel.searchIndex().follow(petsModel.editModel());
+		petsModel.detail().add(visitModel);
+		petsModel.detail().add(archivedVisitModel);
+		// Batched and cached, see DetailPrefetch
+		DetailPrefetch petPrefetch = new DetailPrefetch(ownerTableModel, Owner.ID, petsModel.tableModel(), Pet.OWNER_ID);
+		new DetailPrefetch(petsModel.tableModel(), Pet.ID, visitModel.tableModel(), Visit.PET_ID)
+						.select(PetclinicAppModel::visitRows);
+		openVisits(visitModel);
+		refreshVisitSummary(petsModel.tableModel(), visitModel.editModel(), petPrefetch);
+
+		return ownersModel;
+	}
+
+	/**
+	 * Selects the columns displayed in the visit table only, the pet being the master,
+	 * the description and audit columns are fetched once a visit is opened, see {@link #openVisits(SwingEntityModel)}.
+	 */
+	private static Select visitRows(Condition condition) {
+		return Select.where(condition)
+						.attributes(Visit.ID, Visit.PET_ID, Visit.VISIT_DATE, Visit.VET_ID, Visit.VET_FK)
+						.build();
+	}
+
+	/**
+	 * Fetches the complete visit when the selected visit row is partial, off the Event Dispatch Thread,
+	 * replacing the row, so each visit is only completed once, and the visit displayed in the editor.
+	 */
+	private static void openVisits(SwingEntityModel visitModel) {
+		SwingEntityTableModel tableModel = visitModel.tableModel();
+		tableModel.selection().item().addConsumer(visit -> {
+			if (visit != null && !visit.contains(Visit.INSERT_TIME)) {
+				Entity.Key key = visit.primaryKey();
+				ModelLoader.fetch(() -> tableModel.connection().select(key), complete -> opened(visitModel, complete));
+			}
+		});
+	}
+
+	private static void opened(SwingEntityModel visitModel, Entity visit) {
+		SwingEntityTableModel tableModel = visitModel.tableModel();
+		tableModel.replace(List.of(visit));
+		// Unless another visit has been selected in the meantime
+		if (visit.equals(tableModel.selection().item().get())) {
+			visitModel.editor().entity().set(visit);
+		}
+	}
+
+	/**
+	 * The visit summary columns of pets are maintained by the database,
+	 * re-selects the pets affected by visit edits, to keep them current.
+	 */
+	private static void refreshVisitSummary(SwingEntityTableModel petTableModel, SwingEntityEditModel visitEditModel,
+																					DetailPrefetch petPrefetch) {
+		visitEditModel.afterInsert().addConsumer(visits -> refreshPets(petTableModel, visits, petPrefetch));
+		// Before and after, in case a visit moves to another pet
+		visitEditModel.afterUpdate().addConsumer(visits -> {
+			refreshPets(petTableModel, visits.keySet(), petPrefetch);
+			refreshPets(petTableModel, visits.values(), petPrefetch);
+		});
+		visitEditModel.afterDelete().addConsumer(visits -> refreshPets(petTableModel, visits, petPrefetch));
+	}
+
+	private static void refreshPets(SwingEntityTableModel petTableModel, Collection<Entity> visits,
+																	DetailPrefetch petPrefetch) {
+		Set<Integer> petIds = visits.stream()
+						.map(visit -> visit.get(Visit.PET_ID))
+						.collect(toSet());
+		List<Entity> pets = petTableModel.connection().select(Pet.ID.in(petIds));
+		petTableModel.replace(pets);
+		// The cached pets are stale as well
+		petPrefetch.invalidate(pets.stream()
+						.map(pet -> pet.get(Pet.OWNER_ID))
+						.collect(toSet()));
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import is.codion.demos.petclinic.domain.Petclinic.PetType;
+import is.codion.demos.petclinic.domain.Petclinic.Specialty;
+import is.codion.demos.petclinic.domain.Petclinic.Vet;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.EntityType;
+import is.codion.framework.domain.entity.attribute.ForeignKey;
+import is.codion.swing.framework.model.SwingEntityEditModel;
+import is.codion.swing.framework.model.SwingEntityEditor;
+import is.codion.swing.framework.model.SwingEntityTableModel;
+import is.codion.swing.framework.model.component.EntityComboBoxModel;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static is.codion.framework.domain.entity.condition.Condition.all;
+
+/**
+ * A process-wide, read-through cache for the small reference datasets, Vet, Specialty and PetType,
+ * shared by all combo box and table models, so each is fetched once per session instead of once per model.
+ * <p>
+ * The cached entities are immutable. A dataset is invalidated by any insert, update or delete
+ * performed by an edit model registered via {@link #invalidateOnEdit(SwingEntityEditModel)}.
+ */
+public final class ReferenceData {
+
+	/**
+	 * The entity types cached
+	 */
+	public static final Set<EntityType> TYPES = Set.of(Vet.TYPE, Specialty.TYPE, PetType.TYPE);
+
+	private static final Map<EntityType, List<Entity>> CACHE = new HashMap<>();
+
+	// Incremented on invalidation, discarding the results of fetches in progress
+	private static final Map<EntityType, Long> GENERATIONS = new HashMap<>();
+
+	private ReferenceData() {}
+
+	/**
+	 * Returns the cached entities of the given type, fetching them if required.
+	 * @param entityType the entity type
+	 * @param connection the connection to use in case the entities need to be fetched
+	 * @return the entities, in their default order
+	 * @throws IllegalArgumentException in case the entity type is not a reference data type
+	 */
+	public static List<Entity> get(EntityType entityType, EntityConnection connection) {
+		requireReferenceType(entityType);
+		long fetchGeneration;
+		synchronized (CACHE) {
+			List<Entity> cached = CACHE.get(entityType);
+			if (cached != null) {
+				return cached;
+			}
+			fetchGeneration = generation(entityType);
+		}
+		// Fetched outside the lock, an invalidation must not wait for a query
+		List<Entity> entities = connection.select(all(entityType)).stream()
+						.map(Entity::immutable)
+						.toList();
+		synchronized (CACHE) {
+			if (fetchGeneration == generation(entityType)) {
+				// A concurrent fetch may have completed first
+				List<Entity> cached = CACHE.putIfAbsent(entityType, entities);
+
+				return cached == null ? entities : cached;
+			}
+		}
+
+		return entities;
+	}
+
+	/**
+	 * Invalidates the cached entities of the given type, if any
+	 * @param entityType the entity type
+	 */
+	public static void invalidate(EntityType entityType) {
+		requireReferenceType(entityType);
+		synchronized (CACHE) {
+			GENERATIONS.merge(entityType, 1L, Long::sum);
+			CACHE.remove(entityType);
+		}
+	}
+
+	/**
+	 * Invalidates the cached entities whenever the given edit model inserts, updates or deletes.
+	 * @param editModel the edit model, based on a reference data type
+	 * @param <T> the edit model type
+	 * @return the edit model
+	 */
+	public static <T extends SwingEntityEditModel> T invalidateOnEdit(T editModel) {
+		EntityType entityType = requireReferenceType(editModel.entityType());
+		editModel.afterInsert().addListener(() -> invalidate(entityType));
+		editModel.afterUpdate().addListener(() -> invalidate(entityType));
+		editModel.afterDelete().addListener(() -> invalidate(entityType));
+
+		return editModel;
+	}
+
+	/**
+	 * Populates the given table model from the cache, invalidating the cache on edits.
+	 * Note that the table condition is not applied, the small reference datasets are filtered in the table.
+	 * @param tableModel the table model, based on a reference data type
+	 * @param <T> the table model type
+	 * @return the table model
+	 */
+	public static <T extends SwingEntityTableModel> T cached(T tableModel) {
+		invalidateOnEdit(tableModel.editModel());
+		tableModel.queryModel().query().set(queryModel -> get(tableModel.entityType(), tableModel.connection()));
+
+		return tableModel;
+	}
+
+	/**
+	 * Initializes the combo box models for the given foreign keys, populated from the cache
+	 * when referencing a reference data type, otherwise as usual.
+	 * @param editor the editor
+	 * @param foreignKeys the foreign keys
+	 */
+	public static void initialize(SwingEntityEditor editor, ForeignKey... foreignKeys) {
+		for (ForeignKey foreignKey : foreignKeys) {
+			if (TYPES.contains(foreignKey.referencedType())) {
+				comboBoxModel(editor, foreignKey).items().refresh();
+			}
+			else {
+				editor.comboBoxModels().initialize(foreignKey);
+			}
+		}
+	}
+
+	/**
+	 * Returns the combo box model for the given foreign key, populated from the cache, without refreshing it.
+	 * @param editor the editor
+	 * @param foreignKey the foreign key, referencing a reference data type
+	 * @return the combo box model
+	 * @throws IllegalArgumentException in case the foreign key does not reference a reference data type
+	 */
+	public static EntityComboBoxModel comboBoxModel(SwingEntityEditor editor, ForeignKey foreignKey) {
+		EntityType referencedType = requireReferenceType(foreignKey.referencedType());
+		EntityComboBoxModel comboBoxModel = editor.comboBoxModels().get(foreignKey);
+		comboBoxModel.items().refresher().supplier().set(() -> get(referencedType, editor.connection()));
+
+		return comboBoxModel;
+	}
+
+	private static long generation(EntityType entityType) {
+		return GENERATIONS.getOrDefault(entityType, 0L);
+	}
+
+	private static EntityType requireReferenceType(EntityType entityType) {
+		if (!TYPES.contains(entityType)) {
+			throw new IllegalArgumentException("Not a reference data type: " + entityType);
+		}
+
+		return entityType;
+	}
+}
@@ -0,0 +1,458 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An in-memory trigram index for type-ahead search, mapping keys to text.
+ * <p>
+ * Each word is indexed by its trigrams, padded at the start, so a query of
+ * one or two characters matches words starting with those characters, while longer
+ * queries also match within words. Matching is case and accent insensitive and
+ * every query word must be found within a word of the text.
+ * Results are ranked by the number of query words matching at the start of a word,
+ * exact word matches first, followed by the shorter texts.
+ * <p>
+ * Documents are assigned increasing ordinals, keeping the posting lists sorted
+ * by appending, removed documents are skipped until enough accumulate to warrant
+ * rebuilding the posting lists.
+ * @param <K> the key type
+ */
+public final class TrigramIndex<K> {
+
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final char PADDING = ' ';
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<K, Integer> ordinals = new HashMap<>();
+	private final List<Document<K>> documents = new ArrayList<>();
+	// The document text lengths, by ordinal, kept apart for locality while ranking
+	private int[] lengths = new int[1024];
+	private final BitSet removed = new BitSet();
+
+	private Map<Long, Postings> postings = new HashMap<>();
+
+	/**
+	 * Indexes the given text, replacing the existing one for the key, if any.
+	 * @param key the key
+	 * @param text the text
+	 */
+	public void put(K key, String text) {
+		requireNonNull(key);
+		String[] words = words(requireNonNull(text));
+		lock.writeLock().lock();
+		try {
+			removeDocument(key);
+			add(key, words);
+			compactIfRequired();
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes the given key from the index, if present.
+	 * @param key the key
+	 */
+	public void remove(K key) {
+		lock.writeLock().lock();
+		try {
+			removeDocument(key);
+			compactIfRequired();
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes all keys
+	 */
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			ordinals.clear();
+			documents.clear();
+			removed.clear();
+			postings = new HashMap<>();
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the number of keys in the index
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return ordinals.size();
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @param query the query
+	 * @param limit the maximum number of results
+	 * @return the keys best matching the query, best first, an empty list in case of a blank query
+	 */
+	public List<K> search(String query, int limit) {
+		String[] words = words(requireNonNull(query));
+		if (words.length == 0 || limit <= 0) {
+			return List.of();
+		}
+		lock.readLock().lock();
+		try {
+			return rank(candidates(words), words, limit);
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void add(K key, String[] words) {
+		int ordinal = documents.size();
+		documents.add(new Document<>(key, words));
+		if (ordinal == lengths.length) {
+			lengths = Arrays.copyOf(lengths, ordinal * 2);
+		}
+		lengths[ordinal] = Arrays.stream(words).mapToInt(String::length).sum();
+		ordinals.put(key, ordinal);
+		for (long trigram : trigrams(words)) {
+			postings.computeIfAbsent(trigram, k -> new Postings()).add(ordinal);
+		}
+	}
+
+	private void removeDocument(K key) {
+		Integer ordinal = ordinals.remove(key);
+		if (ordinal != null) {
+			removed.set(ordinal);
+		}
+	}
+
+	/**
+	 * Rebuilds the posting lists once the removed documents outnumber the remaining ones
+	 */
+	private void compactIfRequired() {
+		if (removed.cardinality() > Math.max(1_000, ordinals.size())) {
+			List<Document<K>> remaining = new ArrayList<>(ordinals.size());
+			for (int ordinal = 0; ordinal < documents.size(); ordinal++) {
+				if (!removed.get(ordinal)) {
+					remaining.add(documents.get(ordinal));
+				}
+			}
+			ordinals.clear();
+			documents.clear();
+			removed.clear();
+			postings = new HashMap<>();
+			remaining.forEach(document -> add(document.key, document.words));
+		}
+	}
+
+	/**
+	 * @return the ordinals of the documents containing all the query trigrams
+	 */
+	private int[] candidates(String[] words) {
+		Set<Long> trigrams = queryTrigrams(words);
+		List<Postings> lists = new ArrayList<>(trigrams.size());
+		for (long trigram : trigrams) {
+			Postings list = postings.get(trigram);
+			if (list == null) {
+				return new int[0];
+			}
+			lists.add(list);
+		}
+		// Intersect, starting with the shortest list
+		lists.sort(Comparator.comparingInt(list -> list.size));
+		int[] candidates = Arrays.copyOf(lists.get(0).ordinals, lists.get(0).size);
+		int size = candidates.length;
+		for (int i = 1; i < lists.size() && size > 0; i++) {
+			size = lists.get(i).retain(candidates, size);
+		}
+
+		return Arrays.copyOf(candidates, size);
+	}
+
+	private List<K> rank(int[] candidates, String[] words, int limit) {
+		List<WordBound> bounds = Arrays.stream(words)
+						.map(WordBound::new)
+						.toList();
+		// The worst of the best, at the head
+		PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, Comparator.<Match>naturalOrder().reversed());
+		for (int ordinal : candidates) {
+			if (!removed.get(ordinal)) {
+				int length = lengths[ordinal];
+				Match worst = best.size() < limit ? null : best.peek();
+				// Only score the documents that may make the cut, scoring requires the text
+				if (worst == null || worst.compareTo(upperBound(bounds, ordinal), length, ordinal) > 0) {
+					int score = score(documents.get(ordinal).words, words);
+					if (score >= 0 && (worst == null || worst.compareTo(score, length, ordinal) > 0)) {
+						best.add(new Match(ordinal, score, length));
+						if (best.size() > limit) {
+							best.poll();
+						}
+					}
+				}
+			}
+		}
+		List<K> keys = new ArrayList<>(best.size());
+		while (!best.isEmpty()) {
+			keys.add(documents.get(best.poll().ordinal).key);
+		}
+
+		return keys.reversed();
+	}
+
+	private int upperBound(List<WordBound> bounds, int ordinal) {
+		int upperBound = 0;
+		for (WordBound bound : bounds) {
+			upperBound += bound.upperBound(ordinal);
+		}
+
+		return upperBound;
+	}
+
+	/**
+	 * @return the score, -1 if any query word is not found within a document word,
+	 * each word scoring 2 for an exact word match, 1 for a word prefix and 0 for a match within a word
+	 */
+	private static int score(String[] documentWords, String[] queryWords) {
+		int score = 0;
+		for (String queryWord : queryWords) {
+			int wordScore = -1;
+			for (String documentWord : documentWords) {
+				if (documentWord.equals(queryWord)) {
+					wordScore = 2;
+					break;
+				}
+				if (documentWord.startsWith(queryWord)) {
+					wordScore = Math.max(wordScore, 1);
+				}
+				else if (documentWord.contains(queryWord)) {
+					wordScore = Math.max(wordScore, 0);
+				}
+			}
+			if (wordScore < 0) {
+				return -1;
+			}
+			score += wordScore;
+		}
+
+		return score;
+	}
+
+	/**
+	 * @return the distinct trigrams of the given words, padded at both ends
+	 */
+	private static Set<Long> trigrams(String[] words) {
+		Set<Long> trigrams = new LinkedHashSet<>();
+		for (String word : words) {
+			addTrigrams(PADDING + "" + PADDING + word + PADDING, trigrams);
+		}
+
+		return trigrams;
+	}
+
+	/**
+	 * @return the distinct trigrams of the given query words, a word shorter than three characters
+	 * is padded at the start, matching word prefixes, longer ones are not padded, matching anywhere
+	 */
+	private static Set<Long> queryTrigrams(String[] words) {
+		Set<Long> trigrams = new LinkedHashSet<>();
+		for (String word : words) {
+			addTrigrams(word.length() < 3 ? PADDING + "" + PADDING + word : word, trigrams);
+		}
+
+		return trigrams;
+	}
+
+	private static void addTrigrams(String text, Set<Long> trigrams) {
+		for (int i = 0; i + 3 <= text.length(); i++) {
+			trigrams.add(trigram(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2)));
+		}
+	}
+
+	private static long trigram(char first, char second, char third) {
+		return (long) first << 32 | (long) second << 16 | third;
+	}
+
+	private static String[] words(String text) {
+		String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+						.replaceAll("")
+						.toLowerCase();
+
+		return SEPARATORS.splitAsStream(normalized)
+						.filter(word -> !word.isEmpty())
+						.toArray(String[]::new);
+	}
+
+	private record Document<K>(K key, String[] words) {}
+
+	/**
+	 * The upper bound of the score for a single query word, based on the posting lists alone.
+	 * A document contains a word starting with the query word only if it contains its
+	 * start padded trigrams, and a word equal to it only if it also contains its end padded trigram.
+	 */
+	private final class WordBound {
+
+		private final Cursor[] prefix;
+		private final Cursor exact;
+
+		private WordBound(String word) {
+			String padded = PADDING + "" + PADDING + word + PADDING;
+			int prefixTrigrams = Math.min(2, word.length());
+			this.prefix = new Cursor[prefixTrigrams];
+			for (int i = 0; i < prefixTrigrams; i++) {
+				prefix[i] = cursor(padded, i);
+			}
+			this.exact = cursor(padded, padded.length() - 3);
+		}
+
+		/**
+		 * @param ordinal the document ordinal, must be larger than the previous one
+		 * @return 2 if the document may contain the word, 1 if it may contain a word starting with it, otherwise 0
+		 */
+		private int upperBound(int ordinal) {
+			for (Cursor cursor : prefix) {
+				if (cursor == null || !cursor.contains(ordinal)) {
+					return 0;
+				}
+			}
+
+			return exact != null && exact.contains(ordinal) ? 2 : 1;
+		}
+
+		private Cursor cursor(String padded, int index) {
+			Postings list = postings.get(trigram(padded.charAt(index), padded.charAt(index + 1), padded.charAt(index + 2)));
+
+			return list == null ? null : new Cursor(list);
+		}
+	}
+
+	/**
+	 * Moves forward through a posting list
+	 */
+	private static final class Cursor {
+
+		private final Postings postings;
+
+		private int index = 0;
+
+		private Cursor(Postings postings) {
+			this.postings = postings;
+		}
+
+		private boolean contains(int ordinal) {
+			index = postings.search(ordinal, index);
+
+			return index < postings.size && postings.ordinals[index] == ordinal;
+		}
+	}
+
+	private record Match(int ordinal, int score, int length) implements Comparable<Match> {
+
+		@Override
+		public int compareTo(Match match) {
+			return compareTo(match.score, match.length, match.ordinal);
+		}
+
+		/**
+		 * Best first, the highest score, then the shortest, then the first indexed
+		 */
+		private int compareTo(int score, int length, int ordinal) {
+			if (this.score != score) {
+				return Integer.compare(score, this.score);
+			}
+			if (this.length != length) {
+				return Integer.compare(this.length, length);
+			}
+
+			return Integer.compare(this.ordinal, ordinal);
+		}
+	}
+
+	/**
+	 * A sorted, growable list of document ordinals
+	 */
+	private static final class Postings {
+
+		private int[] ordinals = new int[4];
+		private int size = 0;
+
+		private void add(int ordinal) {
+			if (size == ordinals.length) {
+				ordinals = Arrays.copyOf(ordinals, size * 2);
+			}
+			ordinals[size++] = ordinal;
+		}
+
+		/**
+		 * Retains the candidates found in this list, in place
+		 * @return the number of candidates retained
+		 */
+		private int retain(int[] candidates, int candidateCount) {
+			int retained = 0;
+			int index = 0;
+			for (int i = 0; i < candidateCount; i++) {
+				int candidate = candidates[i];
+				index = search(candidate, index);
+				if (index < size && ordinals[index] == candidate) {
+					candidates[retained++] = candidate;
+				}
+			}
+
+			return retained;
+		}
+
+		/**
+		 * @return the index of the first ordinal not less than the given one, starting from the given index
+		 */
+		private int search(int ordinal, int from) {
+			// Galloping search, since the candidates are usually much fewer
+			int bound = 1;
+			while (from + bound < size && ordinals[from + bound] < ordinal) {
+				bound *= 2;
+			}
+			int index = Arrays.binarySearch(ordinals, from, Math.min(from + bound + 1, size), ordinal);
+
+			return index < 0 ? -index - 1 : index;
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2004 - 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import is.codion.demos.petclinic.domain.Petclinic.VetSpecialty;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.EntityConnection.Select;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.EntityValidator;
+import is.codion.framework.domain.entity.exception.EntityValidationException;
+import is.codion.swing.framework.model.SwingEntityEditModel;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static is.codion.framework.domain.entity.condition.Condition.and;
+
+public final class VetSpecialtyEditModel extends SwingEntityEditModel {
+
+	// The existing vet/specialty pairs, loaded on first validation
+	private final Set<Long> pairs = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean pairsLoaded = false;
+
+	public VetSpecialtyEditModel(EntityConnection connection) {
+		super(VetSpecialty.TYPE, connection);
+		editor().validator().set(new VetSpecialtyValidator());
+		ReferenceData.initialize(editor(), VetSpecialty.VET_FK, VetSpecialty.SPECIALTY_FK);
+		editor().value(VetSpecialty.VET_FK).persist().set(false);
+		editor().value(VetSpecialty.SPECIALTY_FK).persist().set(false);
+		afterInsert().addConsumer(this::added);
+		afterDelete().addConsumer(this::removed);
+		// Updates are rare, simply reload on next validation
+		afterUpdate().addListener(() -> pairsLoaded = false);
+	}
+
+	private void added(Collection<Entity> vetSpecialties) {
+		vetSpecialties.forEach(vetSpecialty -> pairs.add(pair(vetSpecialty)));
+	}
+
+	private void removed(Collection<Entity> vetSpecialties) {
+		vetSpecialties.forEach(vetSpecialty -> pairs.remove(pair(vetSpecialty)));
+	}
+
+	/**
+	 * A pair unknown to the cache is accepted without a round trip, leaving pairs inserted by
+	 * other clients in the meantime to the unique constraint. A known pair may have been deleted
+	 * by another client, so it is confirmed with a query before being rejected.
+	 */
+	private boolean exists(Entity vetSpecialty) {
+		if (!pairsLoaded) {
+			loadPairs();
+		}
+		long pair = pair(vetSpecialty);
+		if (!pairs.contains(pair)) {
+			return false;
+		}
+		if (connection().select(Select.where(and(
+										VetSpecialty.VET.equalTo(vetSpecialty.get(VetSpecialty.VET)),
+										VetSpecialty.SPECIALTY.equalTo(vetSpecialty.get(VetSpecialty.SPECIALTY))))
+						.attributes(VetSpecialty.VET)
+						.limit(1)
+						.build()).isEmpty()) {
+			pairs.remove(pair);
+
+			return false;
+		}
+
+		return true;
+	}
+
+	private synchronized void loadPairs() {
+		if (!pairsLoaded) {
+			pairs.clear();
+			added(connection().select(Select.all(VetSpecialty.TYPE)
+							.attributes(VetSpecialty.VET, VetSpecialty.SPECIALTY)
+							.build()));
+			pairsLoaded = true;
+		}
+	}
+
+	private static long pair(Entity vetSpecialty) {
+		return (long) vetSpecialty.get(VetSpecialty.VET) << Integer.SIZE
+						| (vetSpecialty.get(VetSpecialty.SPECIALTY) & 0xFFFFFFFFL);
+	}
+
+	private final class VetSpecialtyValidator implements EntityValidator {
+
+		@Override
+		public void validate(Entity entity) throws EntityValidationException {
+			// Perform the standard validation in order to
+			// assert that all required values are present
+			EntityValidator.super.validate(entity);
+			// The unique constraint in the database has the final say,
+			// this check only provides early feedback
+			if (exists(entity)) {
+				throw new EntityValidationException("Vet/specialty combination already exists");
+			}
+		}
+	}
+}
@@ -0,0 +1,285 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.schedule;
+
+import is.codion.demos.petclinic.domain.Petclinic.Vet;
+import is.codion.demos.petclinic.domain.Petclinic.VetSpecialty;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.domain.entity.Entity;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static is.codion.framework.domain.entity.condition.Condition.all;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The appointment schedule of the vets, answering questions like "the earliest free 30 minute slot
+ * with a vet specializing in surgery, next week".
+ * <p>
+ * Each vet has its bookings, appointments along with any unavailable time, such as outside
+ * opening hours, in a balanced search tree, finding the earliest free slot in O(log n) time, n being
+ * the number of bookings of the vet. The vets are indexed by specialty, so finding the earliest slot
+ * for a specialty takes O(v log n) time, v being the number of vets with the specialty.
+ * {@snippet :
+ * AppointmentSchedule schedule = AppointmentSchedule.load(connection, monday, friday,
+ *         new OpeningHours(LocalTime.of(8, 0), LocalTime.of(17, 0)), Duration.ofMinutes(30));
+ * schedule.book(vetId, TimeRange.of(LocalDateTime.of(2026, 3, 2, 9, 0), Duration.ofMinutes(30)));
+ * Optional<Slot> slot = schedule.earliest(surgeryId, nextWeek, Duration.ofMinutes(30));
+ *}
+ * Times have minute resolution, times and durations with a sub-minute remainder are rejected.
+ * All methods are synchronized.
+ */
+public final class AppointmentSchedule {
+
+	private final Map<Integer, VetAvailability> vets = new HashMap<>();
+	private final Map<Integer, List<Integer>> vetsBySpecialty = new HashMap<>();
+
+	/**
+	 * A free slot with a vet
+	 * @param vetId the vet id
+	 * @param range the time range
+	 */
+	public record Slot(int vetId, TimeRange range) {}
+
+	/**
+	 * The daily opening hours, the vets being unavailable outside of them
+	 * @param opens the opening time
+	 * @param closes the closing time
+	 */
+	public record OpeningHours(LocalTime opens, LocalTime closes) {
+
+		/**
+		 * @param opens the opening time
+		 * @param closes the closing time
+		 * @throws IllegalArgumentException in case closes is not after opens or either has a sub-minute remainder
+		 */
+		public OpeningHours {
+			requireNonNull(opens);
+			requireNonNull(closes);
+			if (!closes.isAfter(opens)) {
+				throw new IllegalArgumentException("Closing must be after opening: " + opens + " - " + closes);
+			}
+			if (!opens.equals(opens.withSecond(0).withNano(0)) || !closes.equals(closes.withSecond(0).withNano(0))) {
+				throw new IllegalArgumentException("Opening hours must be whole minutes: " + opens + " - " + closes);
+			}
+		}
+
+		/**
+		 * @param day the day
+		 * @return the opening hours on the given day
+		 */
+		public TimeRange on(LocalDate day) {
+			return new TimeRange(day.atTime(opens), day.atTime(closes));
+		}
+	}
+
+	/**
+	 * Adds a vet, without any bookings
+	 * @param vetId the vet id
+	 * @param specialtyIds the ids of the vet specialties
+	 * @throws IllegalArgumentException in case the vet has already been added
+	 */
+	public synchronized void addVet(int vetId, Collection<Integer> specialtyIds) {
+		if (vets.containsKey(vetId)) {
+			throw new IllegalArgumentException("Vet already added: " + vetId);
+		}
+		vets.put(vetId, new VetAvailability(vetId));
+		Set.copyOf(specialtyIds).forEach(specialtyId ->
+						vetsBySpecialty.computeIfAbsent(specialtyId, id -> new ArrayList<>()).add(vetId));
+	}
+
+	/**
+	 * Books the given time range with a vet
+	 * @param vetId the vet id
+	 * @param range the time range to book
+	 * @return true if booked, false if the range overlaps an existing booking
+	 * @throws IllegalArgumentException in case the vet is not found or the range start or end has a sub-minute remainder
+	 */
+	public synchronized boolean book(int vetId, TimeRange range) {
+		return vet(vetId).book(minutes(range.start()), minutes(range.end()));
+	}
+
+	/**
+	 * Cancels a booking
+	 * @param vetId the vet id
+	 * @param range the booked time range
+	 * @return true if the booking was found and cancelled
+	 * @throws IllegalArgumentException in case the vet is not found or the range start or end has a sub-minute remainder
+	 */
+	public synchronized boolean cancel(int vetId, TimeRange range) {
+		return vet(vetId).cancel(minutes(range.start()), minutes(range.end()));
+	}
+
+	/**
+	 * @param vetId the vet id
+	 * @param within the range within which to find a slot
+	 * @param duration the slot duration
+	 * @return the earliest free slot with the vet within the given range, an empty Optional if none is found
+	 * @throws IllegalArgumentException in case the vet is not found or the duration has a sub-minute remainder
+	 */
+	public synchronized Optional<Slot> earliestWithVet(int vetId, TimeRange within, Duration duration) {
+		long from = TimeRange.minutes(within.start());
+		long length = length(duration);
+		long start = vet(vetId).earliest(from, TimeRange.minutes(within.end()), length);
+
+		return start == VetAvailability.NONE ? Optional.empty() :
+						Optional.of(new Slot(vetId, TimeRange.ofMinutes(start, start + length)));
+	}
+
+	/**
+	 * @param specialtyId the specialty id
+	 * @param within the range within which to find a slot
+	 * @param duration the slot duration
+	 * @return the earliest free slot with any vet with the given specialty, within the given range,
+	 * an empty Optional if none is found
+	 * @throws IllegalArgumentException in case the duration has a sub-minute remainder
+	 */
+	public synchronized Optional<Slot> earliest(int specialtyId, TimeRange within, Duration duration) {
+		long from = TimeRange.minutes(within.start());
+		long to = TimeRange.minutes(within.end());
+		long length = length(duration);
+		long earliest = VetAvailability.NONE;
+		int earliestVetId = 0;
+		for (int vetId : vetsBySpecialty.getOrDefault(specialtyId, List.of())) {
+			// Only slots before the earliest one found so far are of interest
+			long start = vets.get(vetId).earliest(from, earliest == VetAvailability.NONE ? to : earliest + length - 1, length);
+			if (start != VetAvailability.NONE) {
+				earliest = start;
+				earliestVetId = vetId;
+				if (earliest == from) {
+					break;
+				}
+			}
+		}
+
+		return earliest == VetAvailability.NONE ? Optional.empty() :
+						Optional.of(new Slot(earliestVetId, TimeRange.ofMinutes(earliest, earliest + length)));
+	}
+
+	/**
+	 * @param vetId the vet id
+	 * @return the number of bookings of the given vet
+	 * @throws IllegalArgumentException in case the vet is not found
+	 */
+	public synchronized int bookings(int vetId) {
+		return vet(vetId).size();
+	}
+
+	/**
+	 * Loads the vets along with their specialties, booking the time outside the opening hours
+	 * and the existing visits, from and including the first day, up to and including the last one.
+	 * Since visits only have a date, each one is booked for the given duration, in the earliest
+	 * free slot of that day with its vet, visits not fitting within the opening hours are not booked.
+	 * @param connection the connection to use
+	 * @param from the first day
+	 * @param to the last day
+	 * @param openingHours the daily opening hours
+	 * @param visitDuration the duration booked for each existing visit
+	 * @return a new schedule
+	 * @throws IllegalArgumentException in case the last day is before the first one,
+	 * or the visit duration has a sub-minute remainder
+	 */
+	public static AppointmentSchedule load(EntityConnection connection, LocalDate from, LocalDate to,
+																				 OpeningHours openingHours, Duration visitDuration) {
+		requireNonNull(from);
+		requireNonNull(to);
+		requireNonNull(openingHours);
+		long visitLength = length(visitDuration);
+		if (to.isBefore(from)) {
+			throw new IllegalArgumentException("The last day must not be before the first one: " + from + " - " + to);
+		}
+		Map<Integer, List<Integer>> specialties = new HashMap<>();
+		connection.select(all(Vet.TYPE)).forEach(vet ->
+						specialties.put(vet.get(Vet.ID), new ArrayList<>()));
+		for (Entity vetSpecialty : connection.select(all(VetSpecialty.TYPE))) {
+			specialties.get(vetSpecialty.get(VetSpecialty.VET)).add(vetSpecialty.get(VetSpecialty.SPECIALTY));
+		}
+		AppointmentSchedule schedule = new AppointmentSchedule();
+		specialties.forEach(schedule::addVet);
+		for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+			schedule.close(day, openingHours.on(day));
+		}
+		for (Entity visit : connection.select(Visit.VISIT_DATE.between(from, to))) {
+			TimeRange open = openingHours.on(visit.get(Visit.VISIT_DATE));
+			VetAvailability vet = schedule.vet(visit.get(Visit.VET_ID));
+			long start = vet.earliest(minutes(open.start()), minutes(open.end()), visitLength);
+			if (start != VetAvailability.NONE) {
+				vet.book(start, start + visitLength);
+			}
+		}
+
+		return schedule;
+	}
+
+	/**
+	 * Books the time outside the opening hours on the given day, with all vets
+	 */
+	private void close(LocalDate day, TimeRange open) {
+		long midnight = minutes(day.atStartOfDay());
+		long opens = minutes(open.start());
+		long closes = minutes(open.end());
+		long nextMidnight = minutes(day.plusDays(1).atStartOfDay());
+		for (VetAvailability vet : vets.values()) {
+			if (opens > midnight) {
+				vet.book(midnight, opens);
+			}
+			vet.book(closes, nextMidnight);
+		}
+	}
+
+	private VetAvailability vet(int vetId) {
+		VetAvailability vet = vets.get(vetId);
+		if (vet == null) {
+			throw new IllegalArgumentException("Vet not found: " + vetId);
+		}
+
+		return vet;
+	}
+
+	private static long length(Duration duration) {
+		requireNonNull(duration);
+		if (duration.toMinutes() <= 0) {
+			throw new IllegalArgumentException("Duration must be at least a minute: " + duration);
+		}
+		if (!duration.equals(Duration.ofMinutes(duration.toMinutes()))) {
+			throw new IllegalArgumentException("Duration must be whole minutes: " + duration);
+		}
+
+		return duration.toMinutes();
+	}
+
+	private static long minutes(LocalDateTime time) {
+		if (time.getSecond() != 0 || time.getNano() != 0) {
+			throw new IllegalArgumentException("Time must be whole minutes: " + time);
+		}
+
+		return TimeRange.minutes(time);
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.schedule;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A half-open time range, from start inclusive to end exclusive, with minute resolution.
+ * @param start the start time, inclusive
+ * @param end the end time, exclusive
+ */
+public record TimeRange(LocalDateTime start, LocalDateTime end) {
+
+	/**
+	 * @param start the start time, inclusive
+	 * @param end the end time, exclusive
+	 * @throws IllegalArgumentException in case end is not after start
+	 */
+	public TimeRange {
+		requireNonNull(start);
+		requireNonNull(end);
+		if (!end.isAfter(start)) {
+			throw new IllegalArgumentException("End must be after start: " + start + " - " + end);
+		}
+	}
+
+	/**
+	 * @param start the start time
+	 * @param duration the duration
+	 * @return a new time range
+	 */
+	public static TimeRange of(LocalDateTime start, Duration duration) {
+		return new TimeRange(start, start.plus(duration));
+	}
+
+	/**
+	 * @return the duration of this range
+	 */
+	public Duration duration() {
+		return Duration.between(start, end);
+	}
+
+	static long minutes(LocalDateTime time) {
+		return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+	}
+
+	static LocalDateTime time(long minutes) {
+		return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+	}
+
+	static TimeRange ofMinutes(long start, long end) {
+		return new TimeRange(time(start), time(end));
+	}
+}
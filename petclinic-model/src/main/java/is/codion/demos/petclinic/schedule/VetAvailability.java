@@ -0,0 +1,214 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.schedule;
+
+import java.util.SplittableRandom;
+
+/**
+ * The booked time ranges of a single vet, non-overlapping, in a treap ordered by start time,
+ * each node tracking the largest free gap within its subtree, so that the earliest free gap
+ * of a given length is found by descending only into subtrees that contain one.
+ * <p>
+ * Booking, cancelling and finding the earliest free gap take O(log n) expected time, n being the number of bookings.
+ * Times are in minutes. Not thread-safe.
+ */
+final class VetAvailability {
+
+	static final long NONE = Long.MIN_VALUE;
+
+	// Unbounded gap ends, far from overflowing when subtracted
+	private static final long MIN = Long.MIN_VALUE / 4;
+	private static final long MAX = Long.MAX_VALUE / 4;
+
+	private final SplittableRandom random;
+
+	private Node root;
+	private int size;
+
+	VetAvailability(long seed) {
+		this.random = new SplittableRandom(seed);
+	}
+
+	/**
+	 * @param start the start, inclusive
+	 * @param end the end, exclusive
+	 * @return true if booked, false if the range overlaps an existing booking
+	 */
+	boolean book(long start, long end) {
+		if (overlaps(start, end)) {
+			return false;
+		}
+		Node[] split = split(root, start);
+		root = merge(merge(split[0], new Node(start, end, random.nextInt())), split[1]);
+		size++;
+
+		return true;
+	}
+
+	/**
+	 * @param start the start, inclusive
+	 * @param end the end, exclusive
+	 * @return true if a booking with the exact range was found and removed
+	 */
+	boolean cancel(long start, long end) {
+		Node[] split = split(root, start);
+		Node[] booking = split(split[1], start + 1);
+		if (booking[0] == null || booking[0].end != end) {
+			root = merge(split[0], merge(booking[0], booking[1]));
+
+			return false;
+		}
+		root = merge(split[0], booking[1]);
+		size--;
+
+		return true;
+	}
+
+	/**
+	 * @param from the earliest start
+	 * @param to the latest end
+	 * @param length the gap length
+	 * @return the earliest start of a free gap of the given length within the range, {@link #NONE} if none
+	 */
+	long earliest(long from, long to, long length) {
+		return earliest(root, MIN, MAX, from, to, length);
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @param node the subtree root
+	 * @param lo the end of the booking preceding the subtree
+	 * @param hi the start of the booking following the subtree
+	 */
+	private static long earliest(Node node, long lo, long hi, long from, long to, long length) {
+		if (hi <= from || lo >= to) {
+			return NONE;
+		}
+		if (node == null) {
+			long start = Math.max(lo, from);
+
+			return Math.min(hi, to) - start >= length ? start : NONE;
+		}
+		if (Math.max(node.maxGap, Math.max(node.minStart - lo, hi - node.maxEnd)) < length) {
+			return NONE;
+		}
+		long start = earliest(node.left, lo, node.start, from, to, length);
+		if (start != NONE) {
+			return start;
+		}
+
+		return earliest(node.right, node.end, hi, from, to, length);
+	}
+
+	private boolean overlaps(long start, long end) {
+		Node node = root;
+		while (node != null) {
+			if (start < node.end && node.start < end) {
+				return true;
+			}
+			node = end <= node.start ? node.left : node.right;
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return the nodes starting before the given key, and the rest
+	 */
+	private static Node[] split(Node node, long key) {
+		if (node == null) {
+			return new Node[2];
+		}
+		if (node.start < key) {
+			Node[] split = split(node.right, key);
+			node.right = split[0];
+			node.update();
+			split[0] = node;
+
+			return split;
+		}
+		Node[] split = split(node.left, key);
+		node.left = split[1];
+		node.update();
+		split[1] = node;
+
+		return split;
+	}
+
+	/**
+	 * @return the merged tree, all nodes in left starting before all nodes in right
+	 */
+	private static Node merge(Node left, Node right) {
+		if (left == null) {
+			return right;
+		}
+		if (right == null) {
+			return left;
+		}
+		if (left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			left.update();
+
+			return left;
+		}
+		right.left = merge(left, right.left);
+		right.update();
+
+		return right;
+	}
+
+	private static final class Node {
+
+		private final long start;
+		private final long end;
+		private final int priority;
+
+		private Node left;
+		private Node right;
+
+		// Subtree aggregates
+		private long minStart;
+		private long maxEnd;
+		private long maxGap;
+
+		private Node(long start, long end, int priority) {
+			this.start = start;
+			this.end = end;
+			this.priority = priority;
+			update();
+		}
+
+		private void update() {
+			minStart = left == null ? start : left.minStart;
+			// Non-overlapping, the rightmost booking ends last
+			maxEnd = right == null ? end : right.maxEnd;
+			long gap = 0;
+			if (left != null) {
+				gap = Math.max(left.maxGap, start - left.maxEnd);
+			}
+			if (right != null) {
+				gap = Math.max(gap, Math.max(right.maxGap, right.minStart - end));
+			}
+			maxGap = gap;
+		}
+	}
+}
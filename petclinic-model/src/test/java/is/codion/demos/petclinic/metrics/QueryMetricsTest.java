@@ -0,0 +1,86 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.metrics;
+
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Petclinic;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.demos.petclinic.metrics.QueryMetrics.Latency;
+import is.codion.demos.petclinic.metrics.QueryMetrics.Operation;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.local.LocalEntityConnection;
+import is.codion.framework.domain.entity.Entity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class QueryMetricsTest {
+
+	@Test
+	void instrument(@TempDir Path directory) throws IOException {
+		QueryMetrics.reset();
+		try (EntityConnection connection = QueryMetrics.instrument(createConnection())) {
+			assertSame(connection, QueryMetrics.instrument(connection));
+
+			List<Entity> owners = connection.select(Owner.LAST_NAME.equalTo("Davis"));
+			assertEquals(2, owners.size());
+			connection.select(Owner.LAST_NAME.equalTo("Franklin"));
+			connection.select(Pet.OWNER_ID.in(List.of(1, 2)));
+
+			assertEquals(2, count(Owner.TYPE.name(), Operation.SELECT));
+			assertEquals(1, count(Pet.TYPE.name(), Operation.SELECT));
+			assertEquals(0, count(Pet.TYPE.name(), Operation.COUNT));
+
+			Path file = directory.resolve("latency.csv");
+			QueryMetrics.export(file);
+			List<String> lines = Files.readAllLines(file);
+			assertEquals("entity_type,operation,count,mean_ms,p50_ms,p90_ms,p99_ms,max_ms", lines.get(0));
+			assertTrue(lines.stream().anyMatch(line -> line.startsWith(Owner.TYPE.name() + ",SELECT,2,")));
+
+			QueryMetrics.reset();
+			assertTrue(QueryMetrics.latencies().isEmpty());
+		}
+	}
+
+	private static long count(String entityType, Operation operation) {
+		return QueryMetrics.latencies().stream()
+						.filter(latency -> latency.entityType().name().equals(entityType))
+						.filter(latency -> latency.operation() == operation)
+						.map(Latency::latency)
+						.mapToLong(LatencyHistogram.Snapshot::count)
+						.sum();
+	}
+
+	private static EntityConnection createConnection() {
+		return LocalEntityConnection.builder()
+						.domain(new Petclinic())
+						.user(User.parse("scott:tiger"))
+						.build();
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Petclinic;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.EntityConnection.Select;
+import is.codion.framework.db.local.LocalEntityConnection;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.attribute.Column;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static is.codion.framework.domain.entity.OrderBy.ascending;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ColumnarTableTest {
+
+	@Test
+	void visits() {
+		try (EntityConnection connection = createConnection()) {
+			ColumnarTable table = ColumnarTable.visits();
+			assertEquals(0, table.size());
+			table.load(connection);
+			assertRows(connection, table, connection.select(Select.all(Visit.TYPE)
+							.orderBy(ascending(Visit.ID))
+							.build()));
+
+			table.load(connection, Visit.PET_ID.equalTo(7));
+			assertEquals(connection.select(Visit.PET_ID.equalTo(7)).size(), table.size());
+			for (int row = 0; row < table.size(); row++) {
+				assertEquals(7, table.get(row, Visit.PET_ID));
+			}
+		}
+	}
+
+	@Test
+	void pages() {
+		try (EntityConnection connection = createConnection()) {
+			// A page per row, and a final empty one
+			ColumnarTable table = ColumnarTable.builder(Owner.ID)
+							.column(Owner.LAST_NAME)
+							.column(Owner.CITY)
+							.textColumn(Owner.ADDRESS)
+							.pageSize(1)
+							.build();
+			table.load(connection);
+			List<Entity> owners = connection.select(Select.all(Owner.TYPE)
+							.orderBy(ascending(Owner.ID))
+							.build());
+			assertEquals(owners.size(), table.size());
+			assertRows(connection, table, owners);
+		}
+	}
+
+	@Test
+	void dictionary() {
+		try (EntityConnection connection = createConnection()) {
+			ColumnarTable table = ColumnarTable.owners();
+			table.load(connection, Owner.CITY.equalTo("Madison"));
+			assertTrue(table.size() > 1);
+			// Each distinct value stored once
+			for (int row = 1; row < table.size(); row++) {
+				assertSame(table.get(0, Owner.CITY), table.get(row, Owner.CITY));
+			}
+		}
+	}
+
+	@Test
+	void invalid() {
+		try (EntityConnection connection = createConnection()) {
+			ColumnarTable table = ColumnarTable.owners();
+			table.load(connection);
+			assertThrows(IndexOutOfBoundsException.class, () -> table.get(table.size(), Owner.ID));
+			assertThrows(IndexOutOfBoundsException.class, () -> table.get(-1, Owner.ID));
+			assertThrows(IllegalArgumentException.class, () -> table.get(0, Pet.NAME));
+			assertThrows(IllegalArgumentException.class, () -> ColumnarTable.builder(Owner.ID).column(Pet.NAME));
+			assertThrows(IllegalArgumentException.class, () -> ColumnarTable.builder(Owner.ID).column(Owner.ID));
+			assertThrows(IllegalArgumentException.class, () -> ColumnarTable.builder(Owner.ID).pageSize(0));
+		}
+	}
+
+	private static void assertRows(EntityConnection connection, ColumnarTable table, List<Entity> expected) {
+		assertEquals(expected.size(), table.size());
+		for (int row = 0; row < expected.size(); row++) {
+			Entity entity = table.entity(row, connection.entities());
+			for (Column<?> column : table.columns()) {
+				assertEquals(expected.get(row).get(column), table.get(row, column));
+				assertEquals(expected.get(row).get(column), entity.get(column));
+			}
+		}
+	}
+
+	private static EntityConnection createConnection() {
+		return LocalEntityConnection.builder()
+						.domain(new Petclinic())
+						.user(User.parse("scott:tiger"))
+						.build();
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Petclinic;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.demos.petclinic.domain.Petclinic.PetType;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.EntityConnection.Select;
+import is.codion.framework.db.local.LocalEntityConnection;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.swing.framework.model.SwingEntityEditModel;
+import is.codion.swing.framework.model.SwingEntityEditor;
+import is.codion.swing.framework.model.SwingEntityModel;
+import is.codion.swing.framework.model.SwingEntityTableModel;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class DetailPrefetchTest {
+
+	@Test
+	void prefetch() {
+		try (EntityConnection connection = createConnection()) {
+			SwingEntityTableModel owners = new SwingEntityTableModel(Owner.TYPE, connection);
+			SwingEntityTableModel pets = new SwingEntityTableModel(Pet.TYPE, connection);
+			List<Runnable> background = new ArrayList<>();
+			// One neighbour on either side, running the background prefetch on demand
+			DetailPrefetch prefetch = new DetailPrefetch(owners, Owner.ID, pets, Pet.OWNER_ID,
+							1, 100, Duration.ofMinutes(1), background::add);
+			owners.items().refresh();
+			pets.items().refresh();
+			assertEquals(0, pets.items().visible().count());
+
+			// Fetches the first owner along with the second
+			owners.selection().index().set(0);
+			pets.items().refresh();
+			assertEquals(petCount(connection, owner(owners, 0)), pets.items().visible().count());
+			assertTrue(background.isEmpty());
+
+			// Inserted behind the cache, so not visible
+			Entity second = owner(owners, 1);
+			int secondPets = petCount(connection, second);
+			SwingEntityEditor editor = new SwingEntityEditModel(Pet.TYPE, connection).editor();
+			insertPet(connection, editor, second);
+
+			// Served from the cache, prefetching the third in the background
+			owners.selection().index().set(1);
+			pets.items().refresh();
+			assertEquals(secondPets, pets.items().visible().count());
+			assertEquals(1, background.size());
+			background.remove(0).run();
+
+			insertPet(connection, editor, owner(owners, 2));
+			owners.selection().index().set(2);
+			pets.items().refresh();
+			assertEquals(petCount(connection, owner(owners, 2)) - 1, pets.items().visible().count());
+
+			// Both owners selected, only the second invalidated
+			prefetch.invalidate(List.of(second.get(Owner.ID)));
+			owners.selection().indexes().set(List.of(1, 2));
+			pets.items().refresh();
+			// The second including the inserted pet, the third still cached without it
+			assertEquals(secondPets + 1 + petCount(connection, owner(owners, 2)) - 1, pets.items().visible().count());
+
+			// Edits via the detail edit model invalidate
+			owners.selection().index().set(2);
+			insertPet(connection, pets.editModel().editor(), owner(owners, 2));
+			pets.items().refresh();
+			assertEquals(petCount(connection, owner(owners, 2)), pets.items().visible().count());
+
+			// Clean up
+			for (Entity pet : connection.select(Pet.NAME.equalTo("Prefetch"))) {
+				pets.editModel().editor().entity().set(pet);
+				pets.editModel().editor().delete();
+			}
+		}
+	}
+
+	@Test
+	void detailLink() {
+		try (EntityConnection connection = createConnection()) {
+			SwingEntityModel ownersModel = new SwingEntityModel(Owner.TYPE, connection);
+			SwingEntityModel petsModel = new SwingEntityModel(Pet.TYPE, connection);
+			ownersModel.detail().add(petsModel);
+			ownersModel.detail().link(petsModel).active().set(true);
+			// Created after the link, as in the application, so the selection change refreshes the pets before
+			// any selection listener registered by the prefetch would be notified
+			new DetailPrefetch(ownersModel.tableModel(), Owner.ID, petsModel.tableModel(), Pet.OWNER_ID);
+			SwingEntityTableModel owners = ownersModel.tableModel();
+			owners.items().refresh();
+			for (int index = 0; index < 3; index++) {
+				owners.selection().index().set(index);
+				Entity owner = owner(owners, index);
+				List<Entity> pets = petsModel.tableModel().items().visible().get();
+				assertEquals(petCount(connection, owner), pets.size());
+				pets.forEach(pet -> assertEquals(owner.get(Owner.ID), pet.get(Pet.OWNER_ID)));
+			}
+		}
+	}
+
+	@Test
+	void select() {
+		try (EntityConnection connection = createConnection()) {
+			SwingEntityTableModel pets = new SwingEntityTableModel(Pet.TYPE, connection);
+			SwingEntityTableModel visits = new SwingEntityTableModel(Visit.TYPE, connection);
+			new DetailPrefetch(pets, Pet.ID, visits, Visit.PET_ID)
+							.select(condition -> Select.where(condition)
+											.attributes(Visit.ID, Visit.PET_ID, Visit.VISIT_DATE)
+											.build());
+			pets.items().refresh();
+			// Samantha, with two visits
+			pets.selection().item().set(connection.selectSingle(Pet.ID.equalTo(7)));
+			visits.items().refresh();
+			List<Entity> rows = visits.items().visible().get();
+			assertEquals(2, rows.size());
+			rows.forEach(visit -> {
+				assertTrue(visit.contains(Visit.VISIT_DATE));
+				assertFalse(visit.contains(Visit.DESCRIPTION));
+			});
+		}
+	}
+
+	private static void insertPet(EntityConnection connection, SwingEntityEditor editor, Entity owner) {
+		editor.entity().clear();
+		editor.value(Pet.NAME).set("Prefetch");
+		editor.value(Pet.BIRTH_DATE).set(LocalDate.of(2020, 1, 1));
+		editor.value(Pet.PET_TYPE_FK).set(connection.selectSingle(PetType.NAME.equalTo("dog")));
+		editor.value(Pet.OWNER_FK).set(owner);
+		editor.insert();
+	}
+
+	private static Entity owner(SwingEntityTableModel owners, int index) {
+		return owners.items().visible().get().get(index);
+	}
+
+	private static int petCount(EntityConnection connection, Entity owner) {
+		return connection.select(Pet.OWNER_FK.equalTo(owner)).size();
+	}
+
+	private static EntityConnection createConnection() {
+		return LocalEntityConnection.builder()
+						.domain(new Petclinic())
+						.user(User.parse("scott:tiger"))
+						.build();
+	}
+}
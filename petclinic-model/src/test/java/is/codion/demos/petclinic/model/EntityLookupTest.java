@@ -0,0 +1,108 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Petclinic;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.local.LocalEntityConnection;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.swing.framework.model.SwingEntityEditModel;
+import is.codion.swing.framework.model.SwingEntityEditor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static is.codion.framework.domain.entity.OrderBy.ascending;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class EntityLookupTest {
+
+	@Test
+	void lookup() {
+		try (EntityConnection connection = createConnection()) {
+			EntityLookup lookup = EntityLookup.owners(connection);
+			assertTrue(lookup.lookup(" ").isEmpty());
+			// Betty and Harold Davis, and by first name, David Schroeder
+			List<Entity> owners = lookup.lookup("Da");
+			assertEquals(List.of("Davis", "Davis", "Schroeder"), lastNames(owners));
+			assertSame(owners, lookup.lookup("da "));
+
+			// Narrowed without a query, the inserted owner is not found
+			SwingEntityEditor editor = new SwingEntityEditModel(Owner.TYPE, connection).editor();
+			editor.value(Owner.FIRST_NAME).set("Walter");
+			editor.value(Owner.LAST_NAME).set("Davenport");
+			editor.value(Owner.PHONE_TYPE).set(Owner.PhoneType.HOME);
+			editor.insert();
+			assertEquals(List.of("Davis", "Davis", "Schroeder"), lastNames(lookup.lookup("dav")));
+
+			lookup.clear();
+			assertEquals(List.of("Davenport", "Davis", "Davis", "Schroeder"), lastNames(lookup.lookup("dav")));
+			editor.delete();
+		}
+	}
+
+	@Test
+	void limit() {
+		try (EntityConnection connection = createConnection()) {
+			EntityLookup lookup = new EntityLookup(connection, prefix -> Owner.LAST_NAME.like(prefix + "%"),
+							(owner, prefix) -> owner.get(Owner.LAST_NAME).toLowerCase().startsWith(prefix), ascending(Owner.LAST_NAME), 1);
+			assertEquals(List.of("Davis"), lastNames(lookup.lookup("d")));
+			// The limited result is not narrowed, but queried
+			assertEquals(List.of("Davis"), lastNames(lookup.lookup("da")));
+		}
+	}
+
+	@Test
+	void pets() {
+		try (EntityConnection connection = createConnection()) {
+			EntityLookup lookup = EntityLookup.pets(connection);
+			assertEquals(List.of("Black", "Estaban"), ownerLastNames(lookup.lookup("LUCKY")));
+			// Narrowed by the owner last name, without a query
+			assertEquals(List.of("Estaban"), ownerLastNames(lookup.lookup("lucky  e")));
+			// Queried by the pet name and owner last name
+			assertEquals(List.of("Estaban"), ownerLastNames(EntityLookup.pets(connection).lookup("luc est")));
+			assertTrue(EntityLookup.pets(connection).lookup("leo davis").isEmpty());
+		}
+	}
+
+	private static List<String> ownerLastNames(List<Entity> pets) {
+		return lastNames(pets.stream()
+						.map(pet -> pet.get(Pet.OWNER_FK))
+						.toList());
+	}
+
+	private static List<String> lastNames(List<Entity> owners) {
+		return owners.stream()
+						.map(owner -> owner.get(Owner.LAST_NAME))
+						.toList();
+	}
+
+	private static EntityConnection createConnection() {
+		return LocalEntityConnection.builder()
+						.domain(new Petclinic())
+						.user(User.parse("scott:tiger"))
+						.build();
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Petclinic;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.local.LocalEntityConnection;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.swing.framework.model.SwingEntityEditor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class OwnerTableModelTest {
+
+	@Test
+	void paging() {
+		try (EntityConnection connection = createConnection()) {
+			// Three owners per page, two pages at most
+			OwnerTableModel tableModel = new OwnerTableModel(connection, 3, 2);
+			tableModel.items().refresh();
+			assertEquals(List.of("Black", "Coleman", "Davis"), lastNames(tableModel));
+			assertTrue(tableModel.hasNextPage());
+			assertFalse(tableModel.hasPreviousPage());
+
+			tableModel.nextPage();
+			assertEquals(List.of("Black", "Coleman", "Davis", "Davis", "Escobito", "Estaban"), lastNames(tableModel));
+
+			// The window is full, the first page is dropped
+			tableModel.nextPage();
+			assertEquals(List.of("Davis", "Escobito", "Estaban", "Franklin", "McTavish", "Rodriquez"), lastNames(tableModel));
+			assertTrue(tableModel.hasPreviousPage());
+
+			tableModel.nextPage();
+			assertEquals(List.of("Franklin", "McTavish", "Rodriquez", "Schroeder"), lastNames(tableModel));
+			assertFalse(tableModel.hasNextPage());
+
+			// Harold Davis, the owner following Betty Davis, on the same last name
+			tableModel.previousPage();
+			assertEquals(List.of("Davis", "Escobito", "Estaban", "Franklin", "McTavish", "Rodriquez"), lastNames(tableModel));
+			assertEquals("Harold", tableModel.items().visible().get().get(0).get(Owner.FIRST_NAME));
+			assertTrue(tableModel.hasNextPage());
+			assertTrue(tableModel.hasPreviousPage());
+
+			// Refreshing returns to the first page
+			tableModel.items().refresh();
+			assertEquals(3, tableModel.items().visible().count());
+			assertFalse(tableModel.hasPreviousPage());
+		}
+	}
+
+	@Test
+	void edits() {
+		try (EntityConnection connection = createConnection()) {
+			// Three owners per page, three pages at most
+			OwnerTableModel tableModel = new OwnerTableModel(connection, 3, 3);
+			tableModel.items().refresh();
+			SwingEntityEditor editor = tableModel.editModel().editor();
+			editor.value(Owner.FIRST_NAME).set("Carl");
+			editor.value(Owner.LAST_NAME).set("Carlsson");
+			editor.value(Owner.PHONE_TYPE).set(Owner.PhoneType.HOME);
+			editor.insert();
+
+			// Within the window, so kept when sliding
+			tableModel.nextPage();
+			assertEquals(List.of("Black", "Carlsson", "Coleman", "Davis", "Davis", "Escobito", "Estaban"), lastNames(tableModel));
+
+			// Now following the window, fetched along with the next page
+			editor.value(Owner.LAST_NAME).set("Evans");
+			editor.update();
+			tableModel.nextPage();
+			assertEquals(List.of("Black", "Coleman", "Davis", "Davis", "Escobito", "Estaban", "Evans", "Franklin", "McTavish"),
+							lastNames(tableModel));
+
+			// Removed from the window, the first page is dropped
+			editor.delete();
+			tableModel.nextPage();
+			assertEquals(List.of("Davis", "Escobito", "Estaban", "Franklin", "McTavish", "Rodriquez", "Schroeder"), lastNames(tableModel));
+		}
+	}
+
+	@Test
+	void emptyPages() {
+		try (EntityConnection connection = createConnection()) {
+			// Preceding the first owner, deleted elsewhere once the window has slid past them
+			Collection<Entity.Key> keys = connection.insert(List.of(owner(connection, "Aalto"),
+							owner(connection, "Abbot"), owner(connection, "Acker")));
+			OwnerTableModel tableModel = new OwnerTableModel(connection, 3, 2);
+			tableModel.items().refresh();
+			tableModel.nextPage();
+			tableModel.nextPage();
+			assertTrue(tableModel.hasPreviousPage());
+			connection.delete(keys);
+
+			// No page precedes the window any longer, it is left as is
+			tableModel.previousPage();
+			assertEquals(List.of("Black", "Coleman", "Davis", "Davis", "Escobito", "Estaban"), lastNames(tableModel));
+			assertFalse(tableModel.hasPreviousPage());
+
+			SwingEntityEditor editor = tableModel.editModel().editor();
+			editor.value(Owner.FIRST_NAME).set("Carl");
+			editor.value(Owner.LAST_NAME).set("Dale");
+			editor.value(Owner.PHONE_TYPE).set(Owner.PhoneType.HOME);
+			editor.insert();
+			tableModel.nextPage();
+			assertEquals(List.of("Davis", "Escobito", "Estaban", "Franklin", "McTavish", "Rodriquez"), lastNames(tableModel));
+			editor.delete();
+		}
+	}
+
+	@Test
+	void search() {
+		try (EntityConnection connection = createConnection()) {
+			OwnerTableModel tableModel = new OwnerTableModel(connection, 3, 2);
+			tableModel.search("davis");
+			assertEquals(List.of("Davis", "Davis"), lastNames(tableModel));
+			assertFalse(tableModel.hasNextPage());
+
+			// By pet name, Leo belongs to George Franklin
+			tableModel.search("le");
+			assertEquals(List.of("Franklin"), lastNames(tableModel));
+
+			// Follows the edits
+			SwingEntityEditor editor = tableModel.editModel().editor();
+			editor.value(Owner.FIRST_NAME).set("Leonard");
+			editor.value(Owner.LAST_NAME).set("Lewis");
+			editor.value(Owner.PHONE_TYPE).set(Owner.PhoneType.HOME);
+			editor.insert();
+			tableModel.search("le");
+			assertEquals(List.of("Lewis", "Franklin"), lastNames(tableModel));
+			editor.delete();
+			tableModel.search("le");
+			assertEquals(List.of("Franklin"), lastNames(tableModel));
+
+			// A blank search returns to the first page
+			tableModel.search("");
+			assertEquals(List.of("Black", "Coleman", "Davis"), lastNames(tableModel));
+			assertTrue(tableModel.hasNextPage());
+		}
+	}
+
+	@Test
+	void searchByPrefix() {
+		// More owners than indexed
+		System.setProperty(OwnerSearchIndex.MAXIMUM_OWNERS, "5");
+		try (EntityConnection connection = createConnection()) {
+			OwnerTableModel tableModel = new OwnerTableModel(connection, 3, 2);
+			// By first or last name, on the first word, David Schroeder included
+			tableModel.search("DAV harold");
+			assertEquals(List.of("Davis", "Davis", "Schroeder"), lastNames(tableModel));
+
+			// Pet names are not searched
+			tableModel.search("george");
+			assertEquals(List.of("Franklin"), lastNames(tableModel));
+			tableModel.search("le");
+			assertEquals(List.of(), lastNames(tableModel));
+		}
+		finally {
+			System.clearProperty(OwnerSearchIndex.MAXIMUM_OWNERS);
+		}
+	}
+
+	private static Entity owner(EntityConnection connection, String lastName) {
+		return connection.entities().builder(Owner.TYPE)
+						.with(Owner.FIRST_NAME, "Ann")
+						.with(Owner.LAST_NAME, lastName)
+						.with(Owner.PHONE_TYPE, Owner.PhoneType.HOME)
+						.build();
+	}
+
+	private static List<String> lastNames(OwnerTableModel tableModel) {
+		return tableModel.items().visible().get().stream()
+						.map(owner -> owner.get(Owner.LAST_NAME))
+						.toList();
+	}
+
+	private static EntityConnection createConnection() {
+		return LocalEntityConnection.builder()
+						.domain(new Petclinic())
+						.user(User.parse("scott:tiger"))
+						.build();
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Petclinic;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.PetType;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.local.LocalEntityConnection;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.swing.framework.model.SwingEntityEditModel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ReferenceDataTest {
+
+	@Test
+	void readThrough() {
+		try (EntityConnection connection = createConnection()) {
+			ReferenceData.invalidate(PetType.TYPE);
+			List<Entity> petTypes = ReferenceData.get(PetType.TYPE, connection);
+			assertSame(petTypes, ReferenceData.get(PetType.TYPE, connection));
+			assertThrows(IllegalArgumentException.class, () -> ReferenceData.get(Owner.TYPE, connection));
+		}
+	}
+
+	@Test
+	void invalidateOnEdit() {
+		try (EntityConnection connection = createConnection()) {
+			SwingEntityEditModel editModel = ReferenceData.invalidateOnEdit(new SwingEntityEditModel(PetType.TYPE, connection));
+			List<Entity> petTypes = ReferenceData.get(PetType.TYPE, connection);
+
+			editModel.editor().value(PetType.NAME).set("parrot");
+			editModel.editor().insert();
+			List<Entity> inserted = ReferenceData.get(PetType.TYPE, connection);
+			assertNotSame(petTypes, inserted);
+			assertEquals(petTypes.size() + 1, inserted.size());
+
+			editModel.editor().delete();
+			assertEquals(petTypes.size(), ReferenceData.get(PetType.TYPE, connection).size());
+		}
+	}
+
+	private static EntityConnection createConnection() {
+		return LocalEntityConnection.builder()
+						.domain(new Petclinic())
+						.user(User.parse("scott:tiger"))
+						.build();
+	}
+}
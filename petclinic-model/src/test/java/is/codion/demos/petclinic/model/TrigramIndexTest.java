@@ -0,0 +1,81 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class TrigramIndexTest {
+
+	@Test
+	void search() {
+		TrigramIndex<Integer> index = new TrigramIndex<>();
+		index.put(1, "George Franklin Leo");
+		index.put(2, "Betty Davis Basil");
+		index.put(3, "Harold Davis Iggy");
+		index.put(4, "Jeff Black Lucky");
+		index.put(5, "Carlos Estaban Lucky Sly");
+		index.put(6, "Davide Müller");
+
+		// Word prefixes, from the first character, the shorter texts first
+		assertEquals(List.of(6, 2, 3), index.search("d", 10));
+		assertEquals(List.of(6, 2, 3), index.search("Dav", 10));
+		// Exact word matches rank first, then the shorter texts
+		assertEquals(List.of(2, 3), index.search("davis", 10));
+		assertEquals(List.of(6), index.search("davide", 10));
+		assertEquals(List.of(4, 5), index.search("lucky", 10));
+		// Case and accent insensitive
+		assertEquals(List.of(6), index.search("MULL", 10));
+		// Within words, ranked below word prefixes
+		assertEquals(List.of(1), index.search("ankl", 10));
+		assertEquals(List.of(4, 5), index.search("uck", 10));
+		// All query words must match
+		assertEquals(List.of(3), index.search("davis ig", 10));
+		assertEquals(List.of(), index.search("davis leo", 10));
+		assertEquals(List.of(), index.search("xyz", 10));
+		assertEquals(List.of(), index.search("  ", 10));
+		// Limited
+		assertEquals(List.of(6, 2), index.search("dav", 2));
+	}
+
+	@Test
+	void putRemove() {
+		TrigramIndex<Integer> index = new TrigramIndex<>();
+		index.put(1, "George Franklin");
+		index.put(1, "George Washington");
+		assertEquals(1, index.size());
+		assertEquals(List.of(), index.search("franklin", 10));
+		assertEquals(List.of(1), index.search("wash", 10));
+		index.remove(1);
+		assertEquals(0, index.size());
+		assertEquals(List.of(), index.search("george", 10));
+
+		// Survives compaction
+		for (int i = 0; i < 5_000; i++) {
+			index.put(i % 10, "owner" + i);
+		}
+		assertEquals(10, index.size());
+		assertEquals(List.of(7), index.search("owner4997", 10));
+		assertTrue(index.search("owner1", 10).isEmpty());
+	}
+}
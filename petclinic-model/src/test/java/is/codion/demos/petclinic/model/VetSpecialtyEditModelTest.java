@@ -33,6 +33,8 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
+import static is.codion.framework.domain.entity.condition.Condition.and;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class VetSpecialtyEditModelTest {
@@ -60,6 +62,69 @@ public final class VetSpecialtyEditModelTest {
 		}
 	}
 
+	@Test
+	void pairsFollowEdits() {
+		try (EntityConnection connection = createConnection()) {
+			VetSpecialtyEditModel model = new VetSpecialtyEditModel(connection);
+
+			Entity helen = connection.selectSingle(Vet.FIRST_NAME.equalTo("Helen"));
+			Entity surgery = connection.selectSingle(Specialty.NAME.equalTo("surgery"));
+
+			SwingEntityEditor editor = model.editor();
+			editor.value(VetSpecialty.VET_FK).set(helen);
+			editor.value(VetSpecialty.SPECIALTY_FK).set(surgery);
+			assertDoesNotThrow(editor::insert);
+
+			// Deleting it makes the pair valid again
+			assertDoesNotThrow(editor::delete);
+			editor.value(VetSpecialty.VET_FK).set(helen);
+			editor.value(VetSpecialty.SPECIALTY_FK).set(surgery);
+			assertDoesNotThrow(editor::insert);
+
+			// The inserted pair is known
+			editor.entity().clear();
+			editor.value(VetSpecialty.VET_FK).set(helen);
+			editor.value(VetSpecialty.SPECIALTY_FK).set(surgery);
+			assertThrows(EntityValidationException.class, editor::insert);
+
+			// Clean up
+			editor.entity().set(connection.selectSingle(and(
+							VetSpecialty.VET_FK.equalTo(helen),
+							VetSpecialty.SPECIALTY_FK.equalTo(surgery))));
+			assertDoesNotThrow(editor::delete);
+		}
+	}
+
+	@Test
+	void pairsDeletedElsewhere() {
+		try (EntityConnection connection = createConnection()) {
+			VetSpecialtyEditModel model = new VetSpecialtyEditModel(connection);
+			VetSpecialtyEditModel other = new VetSpecialtyEditModel(connection);
+
+			Entity helen = connection.selectSingle(Vet.FIRST_NAME.equalTo("Helen"));
+			Entity surgery = connection.selectSingle(Specialty.NAME.equalTo("surgery"));
+
+			SwingEntityEditor editor = model.editor();
+			editor.value(VetSpecialty.VET_FK).set(helen);
+			editor.value(VetSpecialty.SPECIALTY_FK).set(surgery);
+			assertDoesNotThrow(editor::insert);
+
+			// Deleted by another client, the cached pair is stale
+			other.editor().entity().set(connection.selectSingle(and(
+							VetSpecialty.VET_FK.equalTo(helen),
+							VetSpecialty.SPECIALTY_FK.equalTo(surgery))));
+			assertDoesNotThrow(other.editor()::delete);
+
+			editor.entity().clear();
+			editor.value(VetSpecialty.VET_FK).set(helen);
+			editor.value(VetSpecialty.SPECIALTY_FK).set(surgery);
+			assertDoesNotThrow(editor::insert);
+
+			// Clean up
+			assertDoesNotThrow(editor::delete);
+		}
+	}
+
 	private static EntityConnection createConnection() {
 		return LocalEntityConnection.builder()
 						.domain(new Petclinic())
@@ -0,0 +1,149 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.schedule;
+
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Petclinic;
+import is.codion.demos.petclinic.schedule.AppointmentSchedule.OpeningHours;
+import is.codion.demos.petclinic.schedule.AppointmentSchedule.Slot;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.local.LocalEntityConnection;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class AppointmentScheduleTest {
+
+	private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 3, 2, 0, 0);
+	private static final Duration HALF_HOUR = Duration.ofMinutes(30);
+
+	@Test
+	void availability() {
+		Random random = new Random(42);
+		VetAvailability availability = new VetAvailability(42);
+		List<long[]> bookings = new ArrayList<>();
+		for (int i = 0; i < 5_000; i++) {
+			long start = random.nextInt(100_000);
+			long end = start + 1 + random.nextInt(60);
+			boolean overlaps = bookings.stream().anyMatch(booking -> start < booking[1] && booking[0] < end);
+			assertEquals(!overlaps, availability.book(start, end));
+			if (!overlaps) {
+				bookings.add(new long[] {start, end});
+			}
+			if (i % 10 == 0 && !bookings.isEmpty()) {
+				long[] booking = bookings.remove(random.nextInt(bookings.size()));
+				assertFalse(availability.cancel(booking[0], booking[1] + 1));
+				assertTrue(availability.cancel(booking[0], booking[1]));
+			}
+		}
+		assertEquals(bookings.size(), availability.size());
+		for (int i = 0; i < 2_000; i++) {
+			long from = random.nextInt(100_000);
+			long to = from + random.nextInt(5_000);
+			long length = 1 + random.nextInt(30);
+			assertEquals(earliest(bookings, from, to, length), availability.earliest(from, to, length));
+		}
+	}
+
+	@Test
+	void schedule() {
+		AppointmentSchedule schedule = new AppointmentSchedule();
+		schedule.addVet(1, List.of(1, 2));
+		schedule.addVet(2, List.of(2));
+		assertThrows(IllegalArgumentException.class, () -> schedule.addVet(1, List.of()));
+		assertThrows(IllegalArgumentException.class, () -> schedule.book(3, TimeRange.of(MONDAY, HALF_HOUR)));
+		// Sub-minute remainders are rejected, rather than truncated
+		assertThrows(IllegalArgumentException.class, () -> schedule.book(1,
+						new TimeRange(MONDAY.withHour(9).withSecond(10), MONDAY.withHour(9).withSecond(50))));
+		assertThrows(IllegalArgumentException.class, () -> schedule.earliest(1,
+						TimeRange.of(MONDAY, Duration.ofHours(1)), Duration.ofSeconds(90)));
+
+		TimeRange morning = new TimeRange(MONDAY.withHour(9), MONDAY.withHour(12));
+		// Vet 1 booked 9:00 - 10:00, vet 2 9:00 - 9:30
+		assertTrue(schedule.book(1, new TimeRange(MONDAY.withHour(9), MONDAY.withHour(10))));
+		assertFalse(schedule.book(1, TimeRange.of(MONDAY.withHour(9).withMinute(30), HALF_HOUR)));
+		assertTrue(schedule.book(2, TimeRange.of(MONDAY.withHour(9), HALF_HOUR)));
+
+		assertEquals(Optional.of(new Slot(2, TimeRange.of(MONDAY.withHour(9).withMinute(30), HALF_HOUR))),
+						schedule.earliest(2, morning, HALF_HOUR));
+		assertEquals(Optional.of(new Slot(1, TimeRange.of(MONDAY.withHour(10), HALF_HOUR))),
+						schedule.earliest(1, morning, HALF_HOUR));
+		assertEquals(Optional.empty(), schedule.earliest(3, morning, HALF_HOUR));
+		// Longer than the morning has left
+		assertEquals(Optional.empty(), schedule.earliest(1, morning, Duration.ofHours(3)));
+
+		assertTrue(schedule.cancel(1, new TimeRange(MONDAY.withHour(9), MONDAY.withHour(10))));
+		assertEquals(Optional.of(new Slot(1, TimeRange.of(MONDAY.withHour(9), HALF_HOUR))),
+						schedule.earliest(2, morning, HALF_HOUR));
+		assertEquals(0, schedule.bookings(1));
+	}
+
+	@Test
+	void load() {
+		try (EntityConnection connection = LocalEntityConnection.builder()
+						.domain(new Petclinic())
+						.user(User.parse("scott:tiger"))
+						.build()) {
+			// James Carter has a visit on the first day, Helen Leary on the second
+			LocalDate first = LocalDate.of(2013, 1, 1);
+			LocalDate second = first.plusDays(1);
+			OpeningHours openingHours = new OpeningHours(LocalTime.of(8, 0), LocalTime.of(17, 0));
+			AppointmentSchedule schedule = AppointmentSchedule.load(connection, first, second, openingHours, HALF_HOUR);
+			TimeRange wholeDay = new TimeRange(first.atStartOfDay(), second.atStartOfDay());
+			assertEquals(Optional.of(new Slot(1, TimeRange.of(first.atTime(8, 30), HALF_HOUR))),
+							schedule.earliestWithVet(1, wholeDay, HALF_HOUR));
+			assertEquals(Optional.of(new Slot(2, TimeRange.of(first.atTime(8, 0), HALF_HOUR))),
+							schedule.earliestWithVet(2, wholeDay, HALF_HOUR));
+			assertFalse(schedule.book(1, TimeRange.of(first.atTime(8, 0), HALF_HOUR)));
+			// Closed in the evening
+			assertEquals(Optional.empty(), schedule.earliestWithVet(2, new TimeRange(first.atTime(17, 0), second.atStartOfDay()), HALF_HOUR));
+
+			TimeRange day = openingHours.on(second);
+			// Linda Douglas and Rafael Ortega are the surgeons
+			assertTrue(schedule.book(3, day));
+			assertEquals(4, schedule.earliest(2, day, HALF_HOUR).orElseThrow().vetId());
+			// James Carter has no specialties, but can still be booked
+			assertEquals(1, schedule.earliestWithVet(1, day, HALF_HOUR).orElseThrow().vetId());
+		}
+	}
+
+	private static long earliest(List<long[]> bookings, long from, long to, long length) {
+		for (long start = from; start + length <= to; start++) {
+			long slotStart = start;
+			if (bookings.stream().noneMatch(booking -> slotStart < booking[1] && booking[0] < slotStart + length)) {
+				return start;
+			}
+		}
+
+		return VetAvailability.NONE;
+	}
+}
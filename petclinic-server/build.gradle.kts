@@ -0,0 +1,57 @@
+plugins {
+    // A minimal runtime image for the headless server, without the Swing UI
+    // https://badass-jlink-plugin.beryx.org
+    id("org.beryx.jlink")
+}
+
+dependencies {
+    implementation(project(":petclinic-domain"))
+    // The entity server, hosting the domain for remote clients
+    implementation(libs.codion.framework.server)
+
+    // The H2 database implementation
+    runtimeOnly(libs.codion.dbms.h2)
+
+    // The remote connection implementation, for connecting to the server
+    testImplementation(libs.codion.framework.db.rmi)
+}
+
+application {
+    mainModule = "is.codion.demos.petclinic.server"
+    mainClass = "is.codion.demos.petclinic.server.PetclinicServer"
+    applicationDefaultJvmArgs = listOf(
+        // Kept open while the server is running, regardless of connections
+        "-Dcodion.db.url=jdbc:h2:mem:h2db;DB_CLOSE_DELAY=-1",
+        "-Dcodion.db.initScripts=classpath:create_schema.sql"
+    )
+}
+
+// Hosts the domain on a local entity server, with a shared connection pool,
+// f.ex. gradlew runServer --args="--pool-size=16"
+tasks.register<JavaExec>("runServer") {
+    group = "application"
+    description = "Runs the headless entity server, see PetclinicServer"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainModule = application.mainModule
+    mainClass = application.mainClass
+    jvmArgs = application.applicationDefaultJvmArgs.toList()
+    // Optionally a persistent database file, f.ex. -PdbFile=~/.petclinic/petclinic, see DatabaseFile
+    if (project.hasProperty("dbFile")) {
+        jvmArgs("-Dpetclinic.db.file=" + project.property("dbFile"))
+    }
+}
+
+jlink {
+    imageName = rootProject.name + "-server-" + project.version
+    options = listOf(
+        "--strip-debug",
+        "--no-header-files",
+        "--no-man-pages",
+        // The service provided modules, without a 'requires' clause
+        "--add-modules",
+        "is.codion.dbms.h2"
+    )
+    // H2 database uses slf4j, but is non-modular so the jlink plugin,
+    // can't derive that dependency, so here we help it along.
+    addExtraDependencies("slf4j-api")
+}
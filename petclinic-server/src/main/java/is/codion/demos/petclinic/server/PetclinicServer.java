@@ -0,0 +1,225 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.server;
+
+import is.codion.common.db.database.Database;
+import is.codion.common.db.pool.ConnectionPoolWrapper;
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Arguments;
+import is.codion.demos.petclinic.domain.DatabaseFile;
+import is.codion.demos.petclinic.domain.Petclinic;
+import is.codion.framework.server.EntityServer;
+import is.codion.framework.server.EntityServerConfiguration;
+
+import java.lang.System.Logger.Level;
+import java.rmi.RemoteException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A headless launcher, hosting the {@link Petclinic} domain on a Codion entity server,
+ * with all clients sharing a single connection pool, instead of each local client using its own database.
+ * {@snippet :
+ * try (PetclinicServer server = PetclinicServer.builder()
+ *     .poolSize(16)
+ *     .build()
+ *     .start()) {
+ *   // -Dcodion.client.connectionType=remote
+ * }
+ *}
+ * The database is specified via the 'codion.db.url' system property, as with the application,
+ * or a persistent database file, see {@link DatabaseFile}.
+ * @see #main(String[])
+ */
+public final class PetclinicServer implements AutoCloseable {
+
+	private static final System.Logger LOG = System.getLogger(PetclinicServer.class.getName());
+
+	/**
+	 * The default server port
+	 */
+	public static final int DEFAULT_PORT = 2223;
+
+	/**
+	 * The default RMI registry port
+	 */
+	public static final int DEFAULT_REGISTRY_PORT = 1099;
+
+	/**
+	 * The default connection pool size
+	 */
+	public static final int DEFAULT_POOL_SIZE = 8;
+
+	private final int port;
+	private final int registryPort;
+	private final int poolSize;
+	private final User user;
+
+	private EntityServer server;
+
+	private PetclinicServer(Builder builder) {
+		this.port = builder.port;
+		this.registryPort = builder.registryPort;
+		this.poolSize = builder.poolSize;
+		this.user = builder.user;
+	}
+
+	/**
+	 * Starts the server, with a connection pool for the user, sized {@link Builder#poolSize(int)}.
+	 * @return this server instance
+	 * @throws RemoteException in case of an exception
+	 * @throws IllegalStateException in case the server is already running
+	 */
+	public synchronized PetclinicServer start() throws RemoteException {
+		if (server != null) {
+			throw new IllegalStateException("Server is already running");
+		}
+		// A fixed size pool, all clients share the same connections
+		ConnectionPoolWrapper.DEFAULT_MINIMUM_POOL_SIZE.set(poolSize);
+		ConnectionPoolWrapper.DEFAULT_MAXIMUM_POOL_SIZE.set(poolSize);
+		server = EntityServer.startServer(EntityServerConfiguration.builder(port, registryPort)
+						.domainClasses(List.of(Petclinic.class.getName()))
+						.database(Database.instance())
+						.connectionPoolUsers(List.of(user))
+						// Local deployment, the clients and server share a trusted network
+						.sslEnabled(false)
+						.build());
+		LOG.log(Level.INFO, "Petclinic server started on port {0}, registry port {1}, pool size {2}",
+						port, registryPort, poolSize);
+
+		return this;
+	}
+
+	/**
+	 * @return the connection pool size
+	 */
+	public int poolSize() {
+		return poolSize;
+	}
+
+	/**
+	 * @return the RMI registry port the clients connect via
+	 */
+	public int registryPort() {
+		return registryPort;
+	}
+
+	/**
+	 * Shuts down the server, if running
+	 */
+	@Override
+	public synchronized void close() {
+		if (server != null) {
+			server.shutdown();
+			server = null;
+			LOG.log(Level.INFO, "Petclinic server stopped");
+		}
+	}
+
+	/**
+	 * @return a new {@link Builder} instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * <pre>
+	 * --port=2223 --registry-port=1099 --pool-size=8 --user=scott:tiger
+	 * </pre>
+	 * Runs until the process is terminated.
+	 * @param arguments the arguments
+	 * @throws Exception in case of an exception
+	 */
+	public static void main(String[] arguments) throws Exception {
+		Arguments args = new Arguments(arguments);
+		// In case a persistent database file is specified
+		DatabaseFile.configure();
+		PetclinicServer server = builder()
+						.port(args.intValue("port", DEFAULT_PORT))
+						.registryPort(args.intValue("registry-port", DEFAULT_REGISTRY_PORT))
+						.poolSize(args.intValue("pool-size", DEFAULT_POOL_SIZE))
+						.user(User.parse(args.value("user", "scott:tiger")))
+						.build()
+						.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+		new CountDownLatch(1).await();
+	}
+
+	/**
+	 * Builds a {@link PetclinicServer}
+	 */
+	public static final class Builder {
+
+		private int port = DEFAULT_PORT;
+		private int registryPort = DEFAULT_REGISTRY_PORT;
+		private int poolSize = DEFAULT_POOL_SIZE;
+		private User user = User.parse("scott:tiger");
+
+		private Builder() {}
+
+		/**
+		 * @param port the server port
+		 * @return this builder
+		 */
+		public Builder port(int port) {
+			this.port = port;
+			return this;
+		}
+
+		/**
+		 * @param registryPort the RMI registry port
+		 * @return this builder
+		 */
+		public Builder registryPort(int registryPort) {
+			this.registryPort = registryPort;
+			return this;
+		}
+
+		/**
+		 * @param poolSize the number of pooled connections shared by the clients
+		 * @return this builder
+		 */
+		public Builder poolSize(int poolSize) {
+			if (poolSize <= 0) {
+				throw new IllegalArgumentException("Pool size must be positive");
+			}
+			this.poolSize = poolSize;
+			return this;
+		}
+
+		/**
+		 * @param user the database user to pool connections for
+		 * @return this builder
+		 */
+		public Builder user(User user) {
+			this.user = requireNonNull(user);
+			return this;
+		}
+
+		/**
+		 * @return a new {@link PetclinicServer} instance
+		 */
+		public PetclinicServer build() {
+			return new PetclinicServer(this);
+		}
+	}
+}
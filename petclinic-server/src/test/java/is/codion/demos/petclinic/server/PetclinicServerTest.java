@@ -0,0 +1,73 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.server;
+
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Petclinic;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.framework.db.EntityConnectionProvider;
+import is.codion.framework.db.rmi.RemoteEntityConnectionProvider;
+
+import org.junit.jupiter.api.Test;
+
+import java.rmi.RemoteException;
+
+import static is.codion.framework.domain.entity.condition.Condition.all;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PetclinicServerTest {
+
+	private static final int PORT = 2224;
+	private static final int REGISTRY_PORT = 1100;
+
+	@Test
+	void server() throws RemoteException {
+		try (PetclinicServer server = PetclinicServer.builder()
+						.port(PORT)
+						.registryPort(REGISTRY_PORT)
+						.poolSize(2)
+						.build()
+						.start()) {
+			assertThrows(IllegalStateException.class, server::start);
+			// Two clients sharing the pool
+			try (EntityConnectionProvider first = connectionProvider();
+					 EntityConnectionProvider second = connectionProvider()) {
+				assertEquals(10, first.connection().select(all(Owner.TYPE)).size());
+				assertEquals(10, second.connection().select(all(Owner.TYPE)).size());
+			}
+		}
+	}
+
+	@Test
+	void poolSize() {
+		assertThrows(IllegalArgumentException.class, () -> PetclinicServer.builder().poolSize(0));
+	}
+
+	private static EntityConnectionProvider connectionProvider() {
+		return RemoteEntityConnectionProvider.builder()
+						.hostname("localhost")
+						.port(PORT)
+						.registryPort(REGISTRY_PORT)
+						.domain(Petclinic.DOMAIN)
+						.user(User.parse("scott:tiger"))
+						.clientType(PetclinicServerTest.class.getSimpleName())
+						.build();
+	}
+}
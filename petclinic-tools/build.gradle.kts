@@ -0,0 +1,108 @@
+plugins {
+    // JMH benchmarks, in the jmh source set, see BENCHMARKS below
+    // https://github.com/melix/jmh-gradle-plugin
+    id("me.champeau.jmh")
+}
+
+dependencies {
+    api(project(":petclinic-domain"))
+    // Database access via plain JDBC
+    api(libs.codion.common.db)
+
+    // The H2 database implementation
+    runtimeOnly(libs.codion.dbms.h2)
+
+    testImplementation(libs.codion.framework.db.local)
+    // The query plan test runs the application models
+    testImplementation(project(":petclinic-model"))
+
+    // The benchmarks use a local JDBC connection directly
+    jmhImplementation(platform(libs.codion.framework.bom))
+    jmhImplementation(libs.codion.framework.db.local)
+    // The columnar table, see TableMemoryBenchmark
+    jmhImplementation(project(":petclinic-model"))
+}
+
+// The database, specified by the 'dbUrl' property or a database file by the 'dbFile' property,
+// see DatabaseFile, failing the task when neither is specified
+fun JavaExec.database() {
+    if (project.hasProperty("dbUrl")) {
+        jvmArgs("-Dcodion.db.url=" + project.property("dbUrl"))
+    }
+    else if (project.hasProperty("dbFile")) {
+        jvmArgs("-Dpetclinic.db.file=" + project.property("dbFile"))
+    }
+    else {
+        doFirst {
+            throw GradleException("The database must be specified, f.ex. -PdbUrl=jdbc:h2:tcp://localhost/~/petclinic or -PdbFile=~/.petclinic/petclinic")
+        }
+    }
+}
+
+// Generates synthetic data into the database specified by the 'dbUrl' property,
+// f.ex. gradlew generateData -PdbUrl=jdbc:h2:tcp://localhost/~/petclinic --args="--owners=100000"
+tasks.register<JavaExec>("generateData") {
+    group = "application"
+    description = "Generates a reproducible synthetic dataset, see DataGenerator"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainModule = "is.codion.demos.petclinic.tools"
+    mainClass = "is.codion.demos.petclinic.data.DataGenerator"
+    database()
+}
+
+// Imports visits from a CSV file into the application database,
+// f.ex. gradlew importVisits -PdbUrl=jdbc:h2:tcp://localhost/~/petclinic --args="--file=visits.csv"
+tasks.register<JavaExec>("importVisits") {
+    group = "application"
+    description = "Imports visits from a CSV file, see VisitImporter"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainModule = "is.codion.demos.petclinic.tools"
+    mainClass = "is.codion.demos.petclinic.data.VisitImporter"
+    database()
+}
+
+// Exports visits or owners from the application database,
+// f.ex. gradlew exportData -PdbUrl=jdbc:h2:tcp://localhost/~/petclinic --args="--dataset=visits --format=csv"
+tasks.register<JavaExec>("exportData") {
+    group = "application"
+    description = "Exports visits or owners as CSV or JSON Lines, see DataExporter"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainModule = "is.codion.demos.petclinic.tools"
+    mainClass = "is.codion.demos.petclinic.data.DataExporter"
+    database()
+}
+
+// Archives old visits in the application database, once or at an interval,
+// f.ex. gradlew archiveVisits -PdbUrl=jdbc:h2:tcp://localhost/~/petclinic --args="--retention=P5Y"
+tasks.register<JavaExec>("archiveVisits") {
+    group = "application"
+    description = "Moves visits older than the retention period to the archive, see VisitArchiver"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainModule = "is.codion.demos.petclinic.tools"
+    mainClass = "is.codion.demos.petclinic.data.VisitArchiver"
+    database()
+}
+
+// ============================================================================
+// BENCHMARKS — optional: JMH benchmarks for the domain and the master-detail
+// queries, run with 'gradlew jmh', delete this section if you don't need them
+// ============================================================================
+
+jmh {
+    jvmArgs = listOf(
+        // The benchmarks run against the same in-memory database as the application
+        "-Dcodion.db.url=jdbc:h2:mem:h2db",
+        "-Dcodion.db.initScripts=classpath:create_schema.sql"
+    )
+    // JSON results, for tracking throughput and latency percentiles across version bumps
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    // Optionally restrict the benchmarks to run, f.ex. 'gradlew jmh -Pjmh.includes=Select'
+    if (project.hasProperty("jmh.includes")) {
+        includes = listOf(project.property("jmh.includes") as String)
+    }
+    // Optionally add profilers, f.ex. 'gradlew jmh -Pjmh.profilers=gc' for allocation rates and GC counts
+    if (project.hasProperty("jmh.profilers")) {
+        profilers = listOf(project.property("jmh.profilers") as String)
+    }
+}
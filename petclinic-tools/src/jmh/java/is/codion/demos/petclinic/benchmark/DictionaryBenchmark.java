@@ -0,0 +1,139 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.benchmark;
+
+import is.codion.common.db.database.Database;
+import is.codion.demos.petclinic.data.DataGenerator;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.demos.petclinic.domain.StringDictionary;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.EntityConnection.Select;
+import is.codion.framework.domain.entity.Entity;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures browsing the owner, pet and visit lists, with and without the string dictionaries,
+ * see {@link StringDictionary}, reporting the heap retained by the lists via the 'retainedMegabytes' counter.
+ * <p>
+ * Run with the gc profiler to compare the allocation rate and the GC counts and times,
+ * f.ex. 'gradlew jmh -Pjmh.includes=DictionaryBenchmark -Pjmh.profilers=gc'.
+ * Each setting runs in its own fork, since the domain reads it when instantiated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DictionaryBenchmark {
+
+	@Param({"true", "false"})
+	private boolean dictionary;
+
+	private Connection jdbcConnection;
+	private EntityConnection connection;
+	private double retainedMegabytes;
+
+	@Setup
+	public void setup() throws SQLException {
+		System.setProperty(StringDictionary.ENABLED, Boolean.toString(dictionary));
+		jdbcConnection = Database.instance().createConnection(Connections.USER);
+		// Around 100.000 visits
+		DataGenerator.builder()
+						.owners(10_000)
+						.petsPerOwner(2)
+						.visitsPerPet(5)
+						.build()
+						.generate(jdbcConnection);
+		connection = Connections.createConnection();
+		long before = usedHeap();
+		Lists lists = browseLists();
+		retainedMegabytes = (usedHeap() - before) / 1_000_000d;
+		Reference.reachabilityFence(lists);
+		System.out.printf("%nDictionary %s: %d owners, %d pets, %d visits, %.1f MB retained%n",
+						dictionary, lists.owners().size(), lists.pets().size(), lists.visits().size(), retainedMegabytes);
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		connection.close();
+		jdbcConnection.close();
+	}
+
+	@Benchmark
+	public Lists browse(Footprint footprint) {
+		footprint.retainedMegabytes = retainedMegabytes;
+
+		return browseLists();
+	}
+
+	/**
+	 * The heap retained by the lists, as measured during setup
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Footprint {
+
+		public double retainedMegabytes;
+	}
+
+	public record Lists(List<Entity> owners, List<Entity> pets, List<Entity> visits) {}
+
+	private Lists browseLists() {
+		return new Lists(connection.select(Select.all(Owner.TYPE).build()),
+						// Including the pet type of each pet
+						connection.select(Select.all(Pet.TYPE)
+										.attributes(Pet.ID, Pet.NAME, Pet.OWNER_ID, Pet.PET_TYPE_FK)
+										.build()),
+						connection.select(Select.all(Visit.TYPE)
+										.attributes(Visit.ID, Visit.PET_ID, Visit.VISIT_DATE, Visit.VET_ID,
+														Visit.DESCRIPTION, Visit.INSERT_TIME, Visit.INSERT_USER)
+										.build()));
+	}
+
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+}
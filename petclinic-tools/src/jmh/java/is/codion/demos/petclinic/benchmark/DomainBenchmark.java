@@ -0,0 +1,101 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.benchmark;
+
+import is.codion.demos.petclinic.domain.Petclinic;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.framework.domain.entity.Entities;
+import is.codion.framework.domain.entity.Entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static is.codion.demos.petclinic.domain.Petclinic.Owner.PhoneType.MOBILE;
+
+/**
+ * Measures the cost of constructing Petclinic entities, without any database access.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DomainBenchmark {
+
+	private Entities entities;
+	private Entity owner;
+	private Entity pet;
+
+	@Setup
+	public void setup() {
+		entities = new Petclinic().entities();
+		owner = createOwner();
+		pet = createPet();
+	}
+
+	@Benchmark
+	public Entity createOwner() {
+		return entities.builder(Owner.TYPE)
+						.with(Owner.ID, 1)
+						.with(Owner.FIRST_NAME, "George")
+						.with(Owner.LAST_NAME, "Franklin")
+						.with(Owner.ADDRESS, "110 W. Liberty St.")
+						.with(Owner.CITY, "Madison")
+						.with(Owner.TELEPHONE, "6085551023")
+						.with(Owner.PHONE_TYPE, MOBILE)
+						.build();
+	}
+
+	@Benchmark
+	public Entity createPet() {
+		return entities.builder(Pet.TYPE)
+						.with(Pet.ID, 1)
+						.with(Pet.NAME, "Leo")
+						.with(Pet.BIRTH_DATE, LocalDate.of(2010, 9, 7))
+						.with(Pet.WEIGHT_KG, BigDecimal.valueOf(4.1))
+						.with(Pet.OWNER_FK, owner)
+						.build();
+	}
+
+	@Benchmark
+	public Entity createVisit() {
+		return entities.builder(Visit.TYPE)
+						.with(Visit.ID, 1)
+						.with(Visit.PET_FK, pet)
+						.with(Visit.VISIT_DATE, LocalDate.of(2013, 1, 1))
+						.with(Visit.VET_ID, 1)
+						.with(Visit.DESCRIPTION, "rabies shot")
+						.build();
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.benchmark;
+
+import is.codion.common.db.database.Database;
+import is.codion.demos.petclinic.data.DataExporter;
+import is.codion.demos.petclinic.data.DataExporter.Format;
+import is.codion.demos.petclinic.data.DataExporter.Statistics;
+import is.codion.demos.petclinic.data.DataGenerator;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full visit export, writing to a channel discarding the output,
+ * reporting the exports per second along with the megabytes per second, via the 'megabytes' counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExportBenchmark {
+
+	@Param({"CSV", "JSONL"})
+	private Format format;
+
+	@Param({"100", "1000"})
+	private int fetchSize;
+
+	private Connection connection;
+	private DataExporter exporter;
+
+	@Setup
+	public void setup() throws SQLException {
+		connection = Database.instance().createConnection(Connections.USER);
+		// Around 100.000 visits
+		DataGenerator.builder()
+						.owners(10_000)
+						.petsPerOwner(2)
+						.visitsPerPet(5)
+						.build()
+						.generate(connection);
+		exporter = DataExporter.builder()
+						.format(format)
+						.fetchSize(fetchSize)
+						.build();
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	@Benchmark
+	public Statistics exportVisits(Throughput throughput) throws IOException, SQLException {
+		Statistics statistics = exporter.export(connection, new NullChannel());
+		throughput.megabytes += statistics.bytes() / 1_000_000d;
+
+		return statistics;
+	}
+
+	/**
+	 * Accumulates the megabytes exported, reported per second
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Throughput {
+
+		public double megabytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			megabytes = 0;
+		}
+	}
+
+	private static final class NullChannel implements WritableByteChannel {
+
+		@Override
+		public int write(ByteBuffer buffer) {
+			int remaining = buffer.remaining();
+			buffer.position(buffer.limit());
+
+			return remaining;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() {}
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.benchmark;
+
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.demos.petclinic.domain.Petclinic.Vet;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.domain.entity.Entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures inserting a single visit, each in its own transaction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBenchmark {
+
+	private EntityConnection connection;
+	private Entity pet;
+	private Entity vet;
+
+	@Setup
+	public void setup() {
+		connection = Connections.createConnection();
+		pet = connection.selectSingle(Pet.NAME.equalTo("Samantha"));
+		vet = connection.selectSingle(Vet.FIRST_NAME.equalTo("Linda"));
+	}
+
+	@TearDown
+	public void tearDown() {
+		connection.close();
+	}
+
+	@Benchmark
+	public Entity.Key insertVisit() {
+		return connection.insert(connection.entities().builder(Visit.TYPE)
+						.with(Visit.PET_FK, pet)
+						.with(Visit.VET_FK, vet)
+						.with(Visit.VISIT_DATE, LocalDate.now())
+						.with(Visit.DESCRIPTION, "checkup")
+						.build());
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.benchmark;
+
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.domain.entity.Entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static is.codion.framework.domain.entity.condition.Condition.all;
+
+/**
+ * Measures the Owner -> Pet -> Visit master-detail queries, as issued by the application model.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SelectBenchmark {
+
+	private EntityConnection connection;
+	private Entity owner;
+	private Entity pet;
+
+	@Setup
+	public void setup() {
+		connection = Connections.createConnection();
+		// An owner with two pets and a pet with two visits
+		owner = connection.selectSingle(Owner.LAST_NAME.equalTo("Rodriquez"));
+		pet = connection.selectSingle(Pet.NAME.equalTo("Samantha"));
+	}
+
+	@TearDown
+	public void tearDown() {
+		connection.close();
+	}
+
+	@Benchmark
+	public List<Entity> selectOwners() {
+		return connection.select(all(Owner.TYPE));
+	}
+
+	@Benchmark
+	public List<Entity> selectPetsByOwner() {
+		return connection.select(Pet.OWNER_FK.equalTo(owner));
+	}
+
+	@Benchmark
+	public List<Entity> selectVisitsByPet() {
+		return connection.select(Visit.PET_FK.equalTo(pet));
+	}
+}
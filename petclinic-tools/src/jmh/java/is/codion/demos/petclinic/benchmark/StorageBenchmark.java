@@ -0,0 +1,155 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.benchmark;
+
+import is.codion.common.db.database.Database;
+import is.codion.demos.petclinic.data.DataGenerator;
+import is.codion.demos.petclinic.domain.DatabaseFile;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.demos.petclinic.domain.Petclinic.Vet;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.EntityConnection.Select;
+import is.codion.framework.domain.entity.Entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static is.codion.framework.domain.entity.condition.Condition.all;
+
+/**
+ * Compares the in-memory database with the file based one, see {@link DatabaseFile},
+ * for the Owner -> Pet -> Visit workload, within the application's 64 MB heap.
+ * <p>
+ * Each storage mode runs in its own fork, since the database is configured via system properties.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx64m")
+public class StorageBenchmark {
+
+	@Param({"MEMORY", "FILE"})
+	private Storage storage;
+
+	private final Random random = new Random(42);
+
+	private Path directory;
+	// Keeps the in-memory database open
+	private Connection jdbcConnection;
+	private EntityConnection connection;
+	private List<Entity> owners;
+	private List<Entity> pets;
+	private Entity vet;
+
+	@Setup
+	public void setup() throws IOException, SQLException {
+		if (storage == Storage.FILE) {
+			directory = Files.createTempDirectory("petclinic");
+			System.setProperty(DatabaseFile.FILE, directory.resolve("petclinic").toString());
+			DatabaseFile.configure();
+		}
+		jdbcConnection = Database.instance().createConnection(Connections.USER);
+		// Around 10.000 visits
+		DataGenerator.builder()
+						.owners(1_000)
+						.petsPerOwner(2)
+						.visitsPerPet(5)
+						.build()
+						.generate(jdbcConnection);
+		connection = Connections.createConnection();
+		owners = connection.select(Select.all(Owner.TYPE)
+						.attributes(Owner.ID)
+						.build());
+		pets = connection.select(Select.all(Pet.TYPE)
+						.attributes(Pet.ID)
+						.build());
+		vet = connection.select(all(Vet.TYPE)).getFirst();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException, SQLException {
+		connection.close();
+		jdbcConnection.close();
+		if (directory != null) {
+			try (Stream<Path> files = Files.walk(directory)) {
+				for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+					Files.delete(file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Selects an owner, its pets and their visits, as the application does when an owner is selected.
+	 */
+	@Benchmark
+	public List<Entity> selectOwnerPetsVisits() {
+		Entity owner = owners.get(random.nextInt(owners.size()));
+		List<Entity> ownerPets = connection.select(Pet.OWNER_ID.equalTo(owner.get(Owner.ID)));
+
+		return connection.select(Visit.PET_ID.in(ownerPets.stream()
+						.map(pet -> pet.get(Pet.ID))
+						.toList()));
+	}
+
+	/**
+	 * Inserts a visit, in its own transaction, including the visit summary trigger.
+	 */
+	@Benchmark
+	public Entity.Key insertVisit() {
+		Entity pet = pets.get(random.nextInt(pets.size()));
+
+		return connection.insert(connection.entities().builder(Visit.TYPE)
+						.with(Visit.PET_FK, pet)
+						.with(Visit.VET_FK, vet)
+						.with(Visit.VISIT_DATE, LocalDate.now())
+						.with(Visit.DESCRIPTION, "checkup")
+						.build());
+	}
+
+	public enum Storage {
+		MEMORY, FILE
+	}
+}
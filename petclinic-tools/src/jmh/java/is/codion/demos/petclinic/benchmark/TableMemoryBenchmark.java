@@ -0,0 +1,153 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.benchmark;
+
+import is.codion.common.db.database.Database;
+import is.codion.demos.petclinic.data.DataGenerator;
+import is.codion.demos.petclinic.model.ColumnarTable;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.EntityConnection.Select;
+import is.codion.framework.domain.entity.attribute.Column;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the heap retained by a full visit or owner table, one entity per row versus a {@link ColumnarTable},
+ * reporting the bytes retained per row via the 'bytesPerRow' counter, along with the time to load.
+ * <p>
+ * The retained heap is measured once per trial, as the difference in heap used after a full GC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class TableMemoryBenchmark {
+
+	@Param({"VISIT", "OWNER"})
+	private Table table;
+
+	@Param({"ENTITIES", "COLUMNAR"})
+	private Backing backing;
+
+	private Connection jdbcConnection;
+	private EntityConnection connection;
+	private double bytesPerRow;
+
+	@Setup
+	public void setup() throws SQLException {
+		jdbcConnection = Database.instance().createConnection(Connections.USER);
+		// Around 100.000 visits
+		DataGenerator.builder()
+						.owners(10_000)
+						.petsPerOwner(2)
+						.visitsPerPet(5)
+						.build()
+						.generate(jdbcConnection);
+		connection = Connections.createConnection();
+		long before = usedHeap();
+		Object loaded = loadTable();
+		long retained = usedHeap() - before;
+		int rows = backing == Backing.ENTITIES ? ((List<?>) loaded).size() : ((ColumnarTable) loaded).size();
+		bytesPerRow = retained / (double) rows;
+		Reference.reachabilityFence(loaded);
+		System.out.printf("%n%s %s: %d rows, %d bytes retained, %.1f bytes per row%n",
+						table, backing, rows, retained, bytesPerRow);
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		connection.close();
+		jdbcConnection.close();
+	}
+
+	@Benchmark
+	public Object load(Footprint footprint) {
+		footprint.bytesPerRow = bytesPerRow;
+
+		return loadTable();
+	}
+
+	/**
+	 * The bytes retained per row, as measured during setup
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Footprint {
+
+		public double bytesPerRow;
+	}
+
+	private Object loadTable() {
+		ColumnarTable columnarTable = table.create.get();
+		if (backing == Backing.ENTITIES) {
+			// The same columns, without the foreign key references
+			return connection.select(Select.all(columnarTable.columns().getFirst().entityType())
+							.attributes(columnarTable.columns().toArray(new Column<?>[0]))
+							.build());
+		}
+		columnarTable.load(connection);
+
+		return columnarTable;
+	}
+
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	public enum Table {
+		VISIT(ColumnarTable::visits),
+		OWNER(ColumnarTable::owners);
+
+		private final Supplier<ColumnarTable> create;
+
+		Table(Supplier<ColumnarTable> create) {
+			this.create = create;
+		}
+	}
+
+	public enum Backing {
+		ENTITIES, COLUMNAR
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.data;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A minimal streaming RFC 4180 CSV reader, reading one record at a time.
+ * Supports quoted fields, containing separators, escaped quotes and line breaks.
+ */
+final class CsvReader implements Closeable {
+
+	private static final char SEPARATOR = ',';
+	private static final char QUOTE = '"';
+
+	private final BufferedReader reader;
+	private final StringBuilder field = new StringBuilder();
+
+	private long line = 0;
+
+	CsvReader(BufferedReader reader) {
+		this.reader = requireNonNull(reader);
+	}
+
+	/**
+	 * @return the next record, null when the end of the input has been reached
+	 * @throws IOException in case of an exception
+	 */
+	List<String> next() throws IOException {
+		String text = reader.readLine();
+		if (text == null) {
+			return null;
+		}
+		line++;
+		List<String> fields = new ArrayList<>();
+		field.setLength(0);
+		boolean quoted = false;
+		int index = 0;
+		while (true) {
+			if (index == text.length()) {
+				if (!quoted) {
+					fields.add(field.toString());
+
+					return fields;
+				}
+				// A line break within a quoted field
+				text = reader.readLine();
+				if (text == null) {
+					throw new IOException("Unterminated quoted field on line " + line);
+				}
+				line++;
+				field.append('\n');
+				index = 0;
+				continue;
+			}
+			char character = text.charAt(index++);
+			if (quoted) {
+				if (character == QUOTE) {
+					if (index < text.length() && text.charAt(index) == QUOTE) {
+						field.append(QUOTE);
+						index++;
+					}
+					else {
+						quoted = false;
+					}
+				}
+				else {
+					field.append(character);
+				}
+			}
+			else if (character == QUOTE) {
+				quoted = true;
+			}
+			else if (character == SEPARATOR) {
+				fields.add(field.toString());
+				field.setLength(0);
+			}
+			else {
+				field.append(character);
+			}
+		}
+	}
+
+	/**
+	 * @return the line number the last record ended on
+	 */
+	long line() {
+		return line;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
@@ -0,0 +1,527 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.data;
+
+import is.codion.common.db.database.Database;
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Arguments;
+import is.codion.demos.petclinic.domain.DatabaseFile;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exports a dataset as CSV or JSON Lines, streaming the rows from a forward-only,
+ * read-only cursor straight to a buffered channel writer, without constructing entities,
+ * so memory usage stays constant regardless of the number of rows.
+ * {@snippet :
+ * DataExporter.builder()
+ *     .dataset(Dataset.VISITS)
+ *     .format(Format.JSONL)
+ *     .build()
+ *     .export(connection, Path.of("visits.jsonl"));
+ *}
+ * @see #main(String[])
+ */
+public final class DataExporter {
+
+	/**
+	 * The datasets available for export
+	 */
+	public enum Dataset {
+
+		/**
+		 * All visits, along with the pet, pet type, owner and vet display values, followed by the archived ones,
+		 * each table exported in primary key order on its own, since ordering the union would require sorting it all
+		 */
+		VISITS("""
+						SELECT visit.id, visit.visit_date, visit.description,
+						  pet.id AS pet_id, pet.name AS pet_name, pet_type.name AS pet_type,
+						  owner.id AS owner_id, owner.first_name AS owner_first_name, owner.last_name AS owner_last_name,
+						  vet.id AS vet_id, vet.first_name AS vet_first_name, vet.last_name AS vet_last_name,
+						  FALSE AS archived
+						FROM petclinic.visit
+						JOIN petclinic.pet ON pet.id = visit.pet_id
+						JOIN petclinic.pet_type ON pet_type.id = pet.type_id
+						JOIN petclinic.owner ON owner.id = pet.owner_id
+						JOIN petclinic.vet ON vet.id = visit.vet_id
+						ORDER BY visit.id""", """
+						SELECT visit.id, visit.visit_date, visit.description,
+						  pet.id AS pet_id, pet.name AS pet_name, pet_type.name AS pet_type,
+						  owner.id AS owner_id, owner.first_name AS owner_first_name, owner.last_name AS owner_last_name,
+						  vet.id AS vet_id, vet.first_name AS vet_first_name, vet.last_name AS vet_last_name,
+						  TRUE AS archived
+						FROM petclinic.visit_archive visit
+						JOIN petclinic.pet ON pet.id = visit.pet_id
+						JOIN petclinic.pet_type ON pet_type.id = pet.type_id
+						JOIN petclinic.owner ON owner.id = pet.owner_id
+						JOIN petclinic.vet ON vet.id = visit.vet_id
+						ORDER BY visit.id"""),
+		/**
+		 * All owners
+		 */
+		OWNERS("""
+						SELECT id, first_name, last_name, address, city, telephone, phone_type
+						FROM petclinic.owner
+						ORDER BY id""");
+
+		// Exported one after the other, with the same columns
+		private final String[] queries;
+
+		Dataset(String... queries) {
+			this.queries = queries;
+		}
+	}
+
+	/**
+	 * The export formats
+	 */
+	public enum Format {
+
+		/**
+		 * RFC 4180 CSV, with a header
+		 */
+		CSV,
+		/**
+		 * JSON Lines, one object per row
+		 */
+		JSONL
+	}
+
+	private final Dataset dataset;
+	private final Format format;
+	private final int fetchSize;
+	private final int bufferSize;
+	private final int progressInterval;
+	private final Consumer<Statistics> progress;
+
+	private DataExporter(Builder builder) {
+		this.dataset = builder.dataset;
+		this.format = builder.format;
+		this.fetchSize = builder.fetchSize;
+		this.bufferSize = builder.bufferSize;
+		this.progressInterval = builder.progressInterval;
+		this.progress = builder.progress;
+	}
+
+	/**
+	 * Exports to the given file, replacing it if it exists.
+	 * @param connection the connection to use
+	 * @param file the file to export to
+	 * @return the export statistics
+	 * @throws IOException in case of an exception while writing
+	 * @throws SQLException in case of a database exception
+	 */
+	public Statistics export(Connection connection, Path file) throws IOException, SQLException {
+		try (FileChannel channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE)) {
+			return export(connection, channel);
+		}
+	}
+
+	/**
+	 * Exports to the given channel, which is not closed.
+	 * @param connection the connection to use
+	 * @param channel the channel to export to
+	 * @return the export statistics
+	 * @throws IOException in case of an exception while writing
+	 * @throws SQLException in case of a database exception
+	 */
+	public Statistics export(Connection connection, WritableByteChannel channel) throws IOException, SQLException {
+		requireNonNull(connection);
+		CountingChannel counting = new CountingChannel(requireNonNull(channel));
+		boolean autoCommit = connection.getAutoCommit();
+		// Some drivers only honor the fetch size within a transaction
+		connection.setAutoCommit(false);
+		try {
+			// Not closed, since that would close the channel
+			Export export = new Export(new BufferedWriter(Channels.newWriter(counting, StandardCharsets.UTF_8), bufferSize), counting);
+			for (String query : dataset.queries) {
+				try (PreparedStatement statement = connection.prepareStatement(query,
+								ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+					statement.setFetchSize(fetchSize);
+					try (ResultSet resultSet = statement.executeQuery()) {
+						export.run(resultSet);
+					}
+				}
+			}
+
+			return export.statistics();
+		}
+		finally {
+			connection.rollback();
+			connection.setAutoCommit(autoCommit);
+		}
+	}
+
+	/**
+	 * @return a new {@link Builder} instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Exports from the database specified by the 'codion.db.url' system property.
+	 * <pre>
+	 * --dataset=visits --format=csv --file=visits.csv --fetch-size=1000 --user=scott:tiger
+	 * </pre>
+	 * @param arguments the arguments
+	 * @throws IOException in case of an exception while writing
+	 * @throws SQLException in case of a database exception
+	 */
+	public static void main(String[] arguments) throws IOException, SQLException {
+		// In case a persistent database file is specified
+		DatabaseFile.configure();
+		Arguments args = new Arguments(arguments);
+		Dataset dataset = Dataset.valueOf(args.value("dataset", "visits").toUpperCase());
+		Format format = Format.valueOf(args.value("format", "csv").toUpperCase());
+		DataExporter exporter = builder()
+						.dataset(dataset)
+						.format(format)
+						.fetchSize(args.intValue("fetch-size", 1_000))
+						.progress(statistics -> System.out.println(statistics))
+						.build();
+		Path file = Path.of(args.value("file", dataset.name().toLowerCase() + "." + format.name().toLowerCase()));
+		try (Connection connection = Database.instance()
+						.createConnection(User.parse(args.value("user", "scott:tiger")))) {
+			System.out.println("Done: " + exporter.export(connection, file));
+		}
+	}
+
+	/**
+	 * The number of rows and bytes written and the time it took.
+	 * @param rows the number of rows written
+	 * @param bytes the number of bytes written
+	 * @param elapsed the elapsed time
+	 */
+	public record Statistics(long rows, long bytes, Duration elapsed) {
+
+		/**
+		 * @return the number of megabytes written per second
+		 */
+		public double megabytesPerSecond() {
+			return bytes / 1_000_000d / Math.max(1, elapsed.toNanos()) * 1_000_000_000d;
+		}
+
+		@Override
+		public String toString() {
+			return "rows: " + rows + ", bytes: " + bytes + ", " + elapsed.toMillis() + " ms, " +
+							String.format("%.1f", megabytesPerSecond()) + " MB/sec";
+		}
+	}
+
+	/**
+	 * Builds a {@link DataExporter}
+	 */
+	public static final class Builder {
+
+		private Dataset dataset = Dataset.VISITS;
+		private Format format = Format.CSV;
+		private int fetchSize = 1_000;
+		private int bufferSize = 64 * 1024;
+		private int progressInterval = 100_000;
+		private Consumer<Statistics> progress = statistics -> {};
+
+		private Builder() {}
+
+		/**
+		 * @param dataset the dataset to export
+		 * @return this builder
+		 */
+		public Builder dataset(Dataset dataset) {
+			this.dataset = requireNonNull(dataset);
+			return this;
+		}
+
+		/**
+		 * @param format the export format
+		 * @return this builder
+		 */
+		public Builder format(Format format) {
+			this.format = requireNonNull(format);
+			return this;
+		}
+
+		/**
+		 * @param fetchSize the number of rows fetched from the database at a time
+		 * @return this builder
+		 */
+		public Builder fetchSize(int fetchSize) {
+			this.fetchSize = requirePositive(fetchSize);
+			return this;
+		}
+
+		/**
+		 * @param bufferSize the size of the write buffer, in characters
+		 * @return this builder
+		 */
+		public Builder bufferSize(int bufferSize) {
+			this.bufferSize = requirePositive(bufferSize);
+			return this;
+		}
+
+		/**
+		 * @param progressInterval the number of rows between progress reports
+		 * @return this builder
+		 */
+		public Builder progressInterval(int progressInterval) {
+			this.progressInterval = requirePositive(progressInterval);
+			return this;
+		}
+
+		/**
+		 * @param progress receives the accumulated statistics at each progress interval
+		 * @return this builder
+		 */
+		public Builder progress(Consumer<Statistics> progress) {
+			this.progress = requireNonNull(progress);
+			return this;
+		}
+
+		/**
+		 * @return a new {@link DataExporter} instance
+		 */
+		public DataExporter build() {
+			return new DataExporter(this);
+		}
+
+		private static int requirePositive(int value) {
+			if (value <= 0) {
+				throw new IllegalArgumentException("Value must be positive: " + value);
+			}
+
+			return value;
+		}
+	}
+
+	private final class Export {
+
+		private final long started = System.nanoTime();
+		private final Writer writer;
+		private final CountingChannel channel;
+
+		private ResultSet resultSet;
+		private String[] names;
+		private boolean[] literal;
+		private boolean[] booleans;
+		private long rows = 0;
+
+		private Export(Writer writer, CountingChannel channel) {
+			this.writer = writer;
+			this.channel = channel;
+		}
+
+		private void run(ResultSet resultSet) throws IOException, SQLException {
+			boolean first = names == null;
+			this.resultSet = resultSet;
+			ResultSetMetaData metaData = resultSet.getMetaData();
+			this.names = new String[metaData.getColumnCount()];
+			this.literal = new boolean[names.length];
+			this.booleans = new boolean[names.length];
+			for (int i = 0; i < names.length; i++) {
+				names[i] = metaData.getColumnLabel(i + 1).toLowerCase();
+				literal[i] = literal(metaData.getColumnType(i + 1));
+				booleans[i] = metaData.getColumnType(i + 1) == Types.BOOLEAN;
+			}
+			if (first && format == Format.CSV) {
+				writeCsvHeader();
+			}
+			while (resultSet.next()) {
+				if (format == Format.CSV) {
+					writeCsvRow();
+				}
+				else {
+					writeJsonRow();
+				}
+				if (++rows % progressInterval == 0) {
+					writer.flush();
+					progress.accept(statistics());
+				}
+			}
+			writer.flush();
+		}
+
+		private void writeCsvHeader() throws IOException {
+			for (int i = 0; i < names.length; i++) {
+				if (i > 0) {
+					writer.write(',');
+				}
+				writer.write(names[i]);
+			}
+			writer.write('\n');
+		}
+
+		private void writeCsvRow() throws IOException, SQLException {
+			for (int i = 0; i < names.length; i++) {
+				if (i > 0) {
+					writer.write(',');
+				}
+				String value = value(i);
+				if (value != null) {
+					writeCsvValue(value);
+				}
+			}
+			writer.write('\n');
+		}
+
+		private void writeCsvValue(String value) throws IOException {
+			boolean quote = false;
+			for (int i = 0; i < value.length() && !quote; i++) {
+				char character = value.charAt(i);
+				quote = character == ',' || character == '"' || character == '\n' || character == '\r';
+			}
+			if (!quote) {
+				writer.write(value);
+				return;
+			}
+			writer.write('"');
+			for (int i = 0; i < value.length(); i++) {
+				char character = value.charAt(i);
+				if (character == '"') {
+					writer.write('"');
+				}
+				writer.write(character);
+			}
+			writer.write('"');
+		}
+
+		private void writeJsonRow() throws IOException, SQLException {
+			writer.write('{');
+			for (int i = 0; i < names.length; i++) {
+				if (i > 0) {
+					writer.write(',');
+				}
+				writer.write('"');
+				writer.write(names[i]);
+				writer.write("\":");
+				String value = value(i);
+				if (value == null) {
+					writer.write("null");
+				}
+				else if (literal[i]) {
+					writer.write(value);
+				}
+				else {
+					writeJsonString(value);
+				}
+			}
+			writer.write("}\n");
+		}
+
+		private void writeJsonString(String value) throws IOException {
+			writer.write('"');
+			for (int i = 0; i < value.length(); i++) {
+				char character = value.charAt(i);
+				switch (character) {
+					case '"' -> writer.write("\\\"");
+					case '\\' -> writer.write("\\\\");
+					case '\n' -> writer.write("\\n");
+					case '\r' -> writer.write("\\r");
+					case '\t' -> writer.write("\\t");
+					default -> {
+						if (character < 0x20) {
+							writer.write(String.format("\\u%04x", (int) character));
+						}
+						else {
+							writer.write(character);
+						}
+					}
+				}
+			}
+			writer.write('"');
+		}
+
+		private String value(int column) throws SQLException {
+			String value = resultSet.getString(column + 1);
+			// As in JSON, some drivers use upper case
+			if (value != null && booleans[column]) {
+				return value.toLowerCase();
+			}
+
+			return value;
+		}
+
+		private Statistics statistics() {
+			return new Statistics(rows, channel.bytes, Duration.ofNanos(System.nanoTime() - started));
+		}
+
+		/**
+		 * @return true if values of the given type are written as JSON literals, unquoted
+		 */
+		private static boolean literal(int type) {
+			return switch (type) {
+				case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT,
+						 Types.REAL, Types.FLOAT, Types.DOUBLE, Types.NUMERIC, Types.DECIMAL, Types.BOOLEAN -> true;
+				default -> false;
+			};
+		}
+	}
+
+	/**
+	 * Counts the bytes written to the underlying channel
+	 */
+	private static final class CountingChannel implements WritableByteChannel {
+
+		private final WritableByteChannel channel;
+
+		private long bytes = 0;
+
+		private CountingChannel(WritableByteChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public int write(ByteBuffer buffer) throws IOException {
+			int written = channel.write(buffer);
+			bytes += written;
+
+			return written;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return channel.isOpen();
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,529 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.data;
+
+import is.codion.common.db.database.Database;
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Arguments;
+import is.codion.demos.petclinic.domain.DatabaseFile;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Generates a reproducible, synthetic Petclinic dataset of arbitrary size.
+ * <p>
+ * Rows are streamed into the database using JDBC batching, committing after
+ * each batch, so memory usage stays constant regardless of the scale.
+ * Identifiers are assigned explicitly, following the current maximum
+ * of each table, and the identity columns are restarted afterwards.
+ * <p>
+ * The same seed and scale always produce the same dataset.
+ * {@snippet :
+ * DataGenerator.builder()
+ *     .seed(42)
+ *     .owners(100_000)
+ *     .petsPerOwner(2)
+ *     .visitsPerPet(10)
+ *     .build()
+ *     .generate(connection);
+ *}
+ * @see #main(String[])
+ */
+public final class DataGenerator {
+
+	/**
+	 * The date the generated history leads up to, fixed for reproducibility
+	 */
+	public static final LocalDate END_DATE = LocalDate.of(2025, 12, 31);
+
+	private static final int MAX_PET_AGE_DAYS = 15 * 365;
+	private static final int MAX_SPECIALTIES_PER_VET = 2;
+
+	private static final String[] FIRST_NAMES = {
+					"James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+					"William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+					"Christopher", "Lisa", "Daniel", "Nancy", "Matthew", "Betty", "Anthony", "Sandra", "Mark", "Margaret",
+					"Donald", "Ashley", "Steven", "Kimberly", "Andrew", "Emily", "Paul", "Donna", "Joshua", "Michelle"
+	};
+	private static final String[] LAST_NAMES = {
+					"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+					"Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+					"Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+					"Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores",
+					"Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts"
+	};
+	private static final String[] STREETS = {
+					"Liberty St.", "Cardinal Ave.", "Commerce St.", "Friendly St.", "Fair Way", "Lake St.",
+					"Oak Blvd.", "Maple St.", "Blackhawk Trail", "Independence La.", "Main St.", "Park Ave."
+	};
+	private static final String[] CITIES = {
+					"Madison", "Sun Prairie", "McFarland", "Windsor", "Monona", "Waunakee",
+					"Middleton", "Verona", "Fitchburg", "Stoughton", "Oregon", "Cottage Grove"
+	};
+	private static final String[] PHONE_TYPES = {"MOBILE", "HOME", "WORK"};
+	private static final String[] PET_NAMES = {
+					"Leo", "Basil", "Rosy", "Jewel", "Iggy", "George", "Samantha", "Max", "Lucky", "Mulligan",
+					"Freddy", "Sly", "Bella", "Charlie", "Luna", "Lucy", "Cooper", "Bailey", "Daisy", "Milo",
+					"Oliver", "Coco", "Rocky", "Zoe", "Tucker", "Nala", "Simba", "Pepper", "Ginger", "Oscar"
+	};
+	private static final String[] DESCRIPTIONS = {
+					"rabies shot", "neutered", "spayed", "annual checkup", "vaccination", "dental cleaning",
+					"nail trim", "skin allergy", "ear infection", "x-ray", "follow-up", "microchip", null
+	};
+
+	private static final String INSERT_VET =
+					"INSERT INTO petclinic.vet(id, first_name, last_name) VALUES (?, ?, ?)";
+	private static final String INSERT_VET_SPECIALTY =
+					"INSERT INTO petclinic.vet_specialty(vet, specialty) VALUES (?, ?)";
+	private static final String INSERT_OWNER =
+					"INSERT INTO petclinic.owner(id, first_name, last_name, address, city, telephone, phone_type) VALUES (?, ?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_PET =
+					"INSERT INTO petclinic.pet(id, name, birth_date, weight_kg, type_id, owner_id) VALUES (?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_VISIT =
+					"INSERT INTO petclinic.visit(id, pet_id, visit_date, vet_id, description, insert_time) VALUES (?, ?, ?, ?, ?, ?)";
+
+	private final long seed;
+	private final int vets;
+	private final int owners;
+	private final int petsPerOwner;
+	private final int visitsPerPet;
+	private final int batchSize;
+	private final Consumer<Statistics> progress;
+
+	private DataGenerator(Builder builder) {
+		this.seed = builder.seed;
+		this.vets = builder.vets;
+		this.owners = builder.owners;
+		this.petsPerOwner = builder.petsPerOwner;
+		this.visitsPerPet = builder.visitsPerPet;
+		this.batchSize = builder.batchSize;
+		this.progress = builder.progress;
+	}
+
+	/**
+	 * Generates the data, committing after each batch.
+	 * @param connection the connection to use
+	 * @return the generation statistics
+	 * @throws SQLException in case of an exception
+	 */
+	public Statistics generate(Connection connection) throws SQLException {
+		requireNonNull(connection);
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try {
+			return new Generation(connection).run();
+		}
+		catch (SQLException | RuntimeException e) {
+			connection.rollback();
+			throw e;
+		}
+		finally {
+			connection.setAutoCommit(autoCommit);
+		}
+	}
+
+	/**
+	 * @return a new {@link Builder} instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Generates data into the database specified by the 'codion.db.url' system property.
+	 * <pre>
+	 * --seed=42 --vets=100 --owners=100000 --pets-per-owner=2 --visits-per-pet=10 --batch-size=1000 --user=scott:tiger
+	 * </pre>
+	 * @param arguments the arguments
+	 * @throws SQLException in case of an exception
+	 */
+	public static void main(String[] arguments) throws SQLException {
+		// In case a persistent database file is specified
+		DatabaseFile.configure();
+		Arguments args = new Arguments(arguments);
+		DataGenerator generator = builder()
+						.seed(args.longValue("seed", 42))
+						.vets(args.intValue("vets", 0))
+						.owners(args.intValue("owners", 10_000))
+						.petsPerOwner(args.intValue("pets-per-owner", 2))
+						.visitsPerPet(args.intValue("visits-per-pet", 5))
+						.batchSize(args.intValue("batch-size", 1_000))
+						.progress(statistics -> System.out.println(statistics))
+						.build();
+		try (Connection connection = Database.instance()
+						.createConnection(User.parse(args.value("user", "scott:tiger")))) {
+			System.out.println("Done: " + generator.generate(connection));
+		}
+	}
+
+	/**
+	 * The number of rows generated and the time it took.
+	 * @param vets the number of vets
+	 * @param vetSpecialties the number of vet specialties
+	 * @param owners the number of owners
+	 * @param pets the number of pets
+	 * @param visits the number of visits
+	 * @param elapsed the elapsed time
+	 */
+	public record Statistics(int vets, int vetSpecialties, int owners, long pets, long visits, Duration elapsed) {
+
+		/**
+		 * @return the total number of rows generated
+		 */
+		public long rows() {
+			return vets + vetSpecialties + owners + pets + visits;
+		}
+
+		@Override
+		public String toString() {
+			long millis = Math.max(1, elapsed.toMillis());
+
+			return "owners: " + owners + ", pets: " + pets + ", visits: " + visits +
+							", vets: " + vets + ", vet specialties: " + vetSpecialties +
+							", " + millis + " ms, " + (rows() * 1000 / millis) + " rows/sec";
+		}
+	}
+
+	/**
+	 * Builds a {@link DataGenerator}
+	 */
+	public static final class Builder {
+
+		private long seed = 42;
+		private int vets = 0;
+		private int owners = 1_000;
+		private int petsPerOwner = 2;
+		private int visitsPerPet = 5;
+		private int batchSize = 1_000;
+		private Consumer<Statistics> progress = statistics -> {};
+
+		private Builder() {}
+
+		/**
+		 * @param seed the random seed
+		 * @return this builder
+		 */
+		public Builder seed(long seed) {
+			this.seed = seed;
+			return this;
+		}
+
+		/**
+		 * @param vets the number of vets to generate, in addition to the existing ones, each with up to two specialties
+		 * @return this builder
+		 */
+		public Builder vets(int vets) {
+			this.vets = requireNonNegative(vets);
+			return this;
+		}
+
+		/**
+		 * @param owners the number of owners to generate
+		 * @return this builder
+		 */
+		public Builder owners(int owners) {
+			this.owners = requireNonNegative(owners);
+			return this;
+		}
+
+		/**
+		 * @param petsPerOwner the average number of pets per owner
+		 * @return this builder
+		 */
+		public Builder petsPerOwner(int petsPerOwner) {
+			this.petsPerOwner = requireNonNegative(petsPerOwner);
+			return this;
+		}
+
+		/**
+		 * @param visitsPerPet the average number of visits per pet
+		 * @return this builder
+		 */
+		public Builder visitsPerPet(int visitsPerPet) {
+			this.visitsPerPet = requireNonNegative(visitsPerPet);
+			return this;
+		}
+
+		/**
+		 * @param batchSize the maximum number of rows per table in each batch, a commit follows each batch
+		 * @return this builder
+		 */
+		public Builder batchSize(int batchSize) {
+			if (batchSize <= 0) {
+				throw new IllegalArgumentException("batchSize must be positive");
+			}
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		/**
+		 * @param progress receives the accumulated statistics after each commit
+		 * @return this builder
+		 */
+		public Builder progress(Consumer<Statistics> progress) {
+			this.progress = requireNonNull(progress);
+			return this;
+		}
+
+		/**
+		 * @return a new {@link DataGenerator} instance
+		 */
+		public DataGenerator build() {
+			return new DataGenerator(this);
+		}
+
+		private static int requireNonNegative(int value) {
+			if (value < 0) {
+				throw new IllegalArgumentException("Value must be non-negative: " + value);
+			}
+
+			return value;
+		}
+	}
+
+	private final class Generation {
+
+		private final long started = System.nanoTime();
+		private final Random random = new Random(seed);
+		private final Connection connection;
+
+		private int vetCount = 0;
+		private int vetSpecialtyCount = 0;
+		private int ownerCount = 0;
+		private long petCount = 0;
+		private long visitCount = 0;
+
+		private int ownerBatch = 0;
+		private int petBatch = 0;
+		private int visitBatch = 0;
+
+		private Generation(Connection connection) {
+			this.connection = connection;
+		}
+
+		private Statistics run() throws SQLException {
+			int[] specialtyIds = selectIds("petclinic.specialty");
+			int[] petTypeIds = selectIds("petclinic.pet_type");
+			if (petTypeIds.length == 0) {
+				throw new IllegalStateException("No pet types found");
+			}
+			generateVets(specialtyIds);
+			int[] vetIds = selectIds("petclinic.vet");
+			if (vetIds.length == 0 && visitsPerPet > 0) {
+				throw new IllegalStateException("No vets found");
+			}
+			generateOwners(petTypeIds, vetIds);
+			restartIdentity("petclinic.vet");
+			restartIdentity("petclinic.owner");
+			restartIdentity("petclinic.pet");
+			// Archived visits keep their ids
+			restartIdentity("petclinic.visit", "petclinic.visit_archive");
+			connection.commit();
+
+			return statistics();
+		}
+
+		private void generateVets(int[] specialtyIds) throws SQLException {
+			int vetId = maxId("petclinic.vet");
+			try (PreparedStatement vetStatement = connection.prepareStatement(INSERT_VET);
+					 PreparedStatement specialtyStatement = connection.prepareStatement(INSERT_VET_SPECIALTY)) {
+				for (int i = 0; i < vets; i++) {
+					vetStatement.setInt(1, ++vetId);
+					vetStatement.setString(2, pick(FIRST_NAMES));
+					vetStatement.setString(3, pick(LAST_NAMES));
+					vetStatement.addBatch();
+					int specialties = Math.min(specialtyIds.length, random.nextInt(MAX_SPECIALTIES_PER_VET + 1));
+					int offset = specialtyIds.length == 0 ? 0 : random.nextInt(specialtyIds.length);
+					for (int j = 0; j < specialties; j++) {
+						// consecutive specialties, wrapping around, for distinct pairs
+						specialtyStatement.setInt(1, vetId);
+						specialtyStatement.setInt(2, specialtyIds[(offset + j) % specialtyIds.length]);
+						specialtyStatement.addBatch();
+						vetSpecialtyCount++;
+					}
+					vetCount++;
+					if (vetCount % batchSize == 0 || i == vets - 1) {
+						vetStatement.executeBatch();
+						specialtyStatement.executeBatch();
+						commit();
+					}
+				}
+			}
+		}
+
+		private void generateOwners(int[] petTypeIds, int[] vetIds) throws SQLException {
+			int ownerId = maxId("petclinic.owner");
+			int petId = maxId("petclinic.pet");
+			int visitId = maxId("petclinic.visit", "petclinic.visit_archive");
+			try (PreparedStatement ownerStatement = connection.prepareStatement(INSERT_OWNER);
+					 PreparedStatement petStatement = connection.prepareStatement(INSERT_PET);
+					 PreparedStatement visitStatement = connection.prepareStatement(INSERT_VISIT)) {
+				for (int i = 0; i < owners; i++) {
+					addOwner(ownerStatement, ++ownerId);
+					int pets = around(petsPerOwner);
+					for (int j = 0; j < pets; j++) {
+						LocalDate birthDate = END_DATE.minusDays(1 + random.nextInt(MAX_PET_AGE_DAYS));
+						addPet(petStatement, ++petId, ownerId, birthDate, pick(petTypeIds));
+						int visits = around(visitsPerPet);
+						for (int k = 0; k < visits; k++) {
+							addVisit(visitStatement, ++visitId, petId, birthDate, pick(vetIds));
+						}
+					}
+					if (ownerBatch >= batchSize || petBatch >= batchSize || visitBatch >= batchSize) {
+						// parents first, due to the foreign keys
+						executeBatches(ownerStatement, petStatement, visitStatement);
+					}
+				}
+				executeBatches(ownerStatement, petStatement, visitStatement);
+			}
+		}
+
+		private void addOwner(PreparedStatement statement, int ownerId) throws SQLException {
+			statement.setInt(1, ownerId);
+			statement.setString(2, pick(FIRST_NAMES));
+			statement.setString(3, pick(LAST_NAMES));
+			statement.setString(4, (100 + random.nextInt(9900)) + " " + pick(STREETS));
+			statement.setString(5, pick(CITIES));
+			statement.setString(6, "608555" + (1000 + random.nextInt(9000)));
+			statement.setString(7, pick(PHONE_TYPES));
+			statement.addBatch();
+			ownerBatch++;
+		}
+
+		private void addPet(PreparedStatement statement, int petId, int ownerId,
+												LocalDate birthDate, int petTypeId) throws SQLException {
+			statement.setInt(1, petId);
+			statement.setString(2, pick(PET_NAMES));
+			statement.setDate(3, Date.valueOf(birthDate));
+			statement.setBigDecimal(4, BigDecimal.valueOf(5 + random.nextInt(4000), 2));
+			statement.setInt(5, petTypeId);
+			statement.setInt(6, ownerId);
+			statement.addBatch();
+			petBatch++;
+		}
+
+		private void addVisit(PreparedStatement statement, int visitId, int petId,
+													LocalDate birthDate, int vetId) throws SQLException {
+			LocalDate visitDate = birthDate.plusDays(random.nextInt((int) (END_DATE.toEpochDay() - birthDate.toEpochDay()) + 1));
+			statement.setInt(1, visitId);
+			statement.setInt(2, petId);
+			statement.setDate(3, Date.valueOf(visitDate));
+			statement.setInt(4, vetId);
+			statement.setString(5, pick(DESCRIPTIONS));
+			statement.setTimestamp(6, Timestamp.valueOf(visitDate.atTime(8 + random.nextInt(10), random.nextInt(60))));
+			statement.addBatch();
+			visitBatch++;
+		}
+
+		private void executeBatches(PreparedStatement ownerStatement, PreparedStatement petStatement,
+																PreparedStatement visitStatement) throws SQLException {
+			ownerStatement.executeBatch();
+			petStatement.executeBatch();
+			visitStatement.executeBatch();
+			ownerCount += ownerBatch;
+			petCount += petBatch;
+			visitCount += visitBatch;
+			ownerBatch = 0;
+			petBatch = 0;
+			visitBatch = 0;
+			commit();
+		}
+
+		private void commit() throws SQLException {
+			connection.commit();
+			progress.accept(statistics());
+		}
+
+		private Statistics statistics() {
+			return new Statistics(vetCount, vetSpecialtyCount, ownerCount, petCount, visitCount,
+							Duration.ofNanos(System.nanoTime() - started));
+		}
+
+		/**
+		 * @return a random number with the given average, between 0 and twice the average
+		 */
+		private int around(int average) {
+			return average == 0 ? 0 : random.nextInt(2 * average + 1);
+		}
+
+		private String pick(String[] values) {
+			return values[random.nextInt(values.length)];
+		}
+
+		private int pick(int[] values) {
+			return values[random.nextInt(values.length)];
+		}
+
+		private int[] selectIds(String table) throws SQLException {
+			List<Integer> ids = new ArrayList<>();
+			try (Statement statement = connection.createStatement();
+					 ResultSet resultSet = statement.executeQuery("SELECT id FROM " + table + " ORDER BY id")) {
+				while (resultSet.next()) {
+					ids.add(resultSet.getInt(1));
+				}
+			}
+
+			return ids.stream()
+							.mapToInt(Integer::intValue)
+							.toArray();
+		}
+
+		/**
+		 * @return the max id found in the given tables, sharing ids, 0 if all are empty
+		 */
+		private int maxId(String... tables) throws SQLException {
+			String maxIds = Arrays.stream(tables)
+							.map(table -> "(SELECT COALESCE(MAX(id), 0) FROM " + table + ")")
+							.collect(joining(", "));
+			try (Statement statement = connection.createStatement();
+					 ResultSet resultSet = statement.executeQuery("SELECT GREATEST(0, " + maxIds + ")")) {
+				resultSet.next();
+
+				return resultSet.getInt(1);
+			}
+		}
+
+		/**
+		 * Restarts the identity of the first table, following the max id found in all the given tables, sharing ids
+		 */
+		private void restartIdentity(String... tables) throws SQLException {
+			int nextId = maxId(tables) + 1;
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("ALTER TABLE " + tables[0] + " ALTER COLUMN id RESTART WITH " + nextId);
+			}
+		}
+	}
+}
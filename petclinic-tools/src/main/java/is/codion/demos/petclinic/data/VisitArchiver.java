@@ -0,0 +1,283 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.data;
+
+import is.codion.common.db.database.Database;
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Arguments;
+import is.codion.demos.petclinic.domain.DatabaseFile;
+
+import java.lang.System.Logger.Level;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Moves visits older than the retention period from the visit table to the visit archive table,
+ * keeping the visit table, and the latency of queries against it, flat as history accumulates.
+ * <p>
+ * Visits are archived in chunks, oldest first, each chunk in its own transaction,
+ * so archiving can run alongside regular use, and an interrupted run can simply be repeated.
+ * {@snippet :
+ * VisitArchiver.builder()
+ *     .retention(Period.ofYears(5))
+ *     .chunkSize(1_000)
+ *     .build()
+ *     .archive(connection);
+ *}
+ * @see #main(String[])
+ */
+public final class VisitArchiver {
+
+	private static final System.Logger LOG = System.getLogger(VisitArchiver.class.getName());
+
+	private static final String SELECT_CHUNK =
+					"SELECT id FROM petclinic.visit WHERE visit_date < ? ORDER BY visit_date FETCH FIRST ? ROWS ONLY";
+	private static final String INSERT_ARCHIVE =
+					"INSERT INTO petclinic.visit_archive(id, pet_id, visit_date, vet_id, description, insert_time, insert_user) " +
+									"SELECT id, pet_id, visit_date, vet_id, description, insert_time, insert_user " +
+									"FROM petclinic.visit WHERE id = ?";
+	private static final String DELETE_VISIT =
+					"DELETE FROM petclinic.visit WHERE id = ?";
+
+	private final Period retention;
+	private final int chunkSize;
+	private final Consumer<Statistics> progress;
+
+	private VisitArchiver(Builder builder) {
+		this.retention = builder.retention;
+		this.chunkSize = builder.chunkSize;
+		this.progress = builder.progress;
+	}
+
+	/**
+	 * Archives the visits older than the retention period, counting from today.
+	 * @param connection the connection to use
+	 * @return the archive statistics
+	 * @throws SQLException in case of an exception, rolling back the current chunk only
+	 */
+	public Statistics archive(Connection connection) throws SQLException {
+		return archive(connection, LocalDate.now().minus(retention));
+	}
+
+	/**
+	 * Archives the visits before the given cutoff date.
+	 * @param connection the connection to use
+	 * @param cutoff the visits before this date are archived
+	 * @return the archive statistics
+	 * @throws SQLException in case of an exception, rolling back the current chunk only
+	 */
+	public Statistics archive(Connection connection, LocalDate cutoff) throws SQLException {
+		requireNonNull(connection);
+		requireNonNull(cutoff);
+		long started = System.nanoTime();
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try (PreparedStatement select = connection.prepareStatement(SELECT_CHUNK);
+				 PreparedStatement insert = connection.prepareStatement(INSERT_ARCHIVE);
+				 PreparedStatement delete = connection.prepareStatement(DELETE_VISIT)) {
+			select.setDate(1, Date.valueOf(cutoff));
+			select.setInt(2, chunkSize);
+			long archived = 0;
+			int chunk = archiveChunk(select, insert, delete);
+			while (chunk > 0) {
+				connection.commit();
+				archived += chunk;
+				progress.accept(new Statistics(cutoff, archived, Duration.ofNanos(System.nanoTime() - started)));
+				chunk = archiveChunk(select, insert, delete);
+			}
+
+			return new Statistics(cutoff, archived, Duration.ofNanos(System.nanoTime() - started));
+		}
+		catch (SQLException | RuntimeException e) {
+			connection.rollback();
+			throw e;
+		}
+		finally {
+			connection.setAutoCommit(autoCommit);
+		}
+	}
+
+	/**
+	 * Starts archiving on a background thread at the given interval, starting immediately,
+	 * using a new connection for each run. Exceptions are logged and the next run proceeds as usual.
+	 * @param database the database
+	 * @param user the user
+	 * @param interval the interval between runs
+	 * @return the executor running the archiver, shut it down to stop archiving
+	 */
+	public ScheduledExecutorService schedule(Database database, User user, Duration interval) {
+		requireNonNull(database);
+		requireNonNull(user);
+		ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "petclinic-archiver");
+			thread.setDaemon(true);
+
+			return thread;
+		});
+		executor.scheduleWithFixedDelay(() -> {
+			try (Connection connection = database.createConnection(user)) {
+				LOG.log(Level.INFO, "Archived {0}", archive(connection));
+			}
+			catch (Exception e) {
+				LOG.log(Level.ERROR, "Archiving failed", e);
+			}
+		}, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+
+		return executor;
+	}
+
+	/**
+	 * @return a new {@link Builder} instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Archives the visits in the database specified by the 'codion.db.url' system property,
+	 * either once, or repeatedly in case an interval is specified.
+	 * <pre>
+	 * --retention=P5Y --chunk-size=1000 --interval=PT1H --user=scott:tiger
+	 * </pre>
+	 * @param arguments the arguments
+	 * @throws SQLException in case of an exception
+	 * @throws InterruptedException in case the thread is interrupted while archiving repeatedly
+	 */
+	public static void main(String[] arguments) throws SQLException, InterruptedException {
+		// In case a persistent database file is specified
+		DatabaseFile.configure();
+		Arguments args = new Arguments(arguments);
+		VisitArchiver archiver = builder()
+						.retention(Period.parse(args.value("retention", "P5Y")))
+						.chunkSize(args.intValue("chunk-size", 1_000))
+						.progress(statistics -> System.out.println(statistics))
+						.build();
+		User user = User.parse(args.value("user", "scott:tiger"));
+		String interval = args.value("interval", null);
+		if (interval == null) {
+			try (Connection connection = Database.instance().createConnection(user)) {
+				System.out.println("Done: " + archiver.archive(connection));
+			}
+		}
+		else {
+			archiver.schedule(Database.instance(), user, Duration.parse(interval))
+							.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+		}
+	}
+
+	/**
+	 * The number of visits archived and the time it took.
+	 * @param cutoff the cutoff date
+	 * @param archived the number of visits archived
+	 * @param elapsed the elapsed time
+	 */
+	public record Statistics(LocalDate cutoff, long archived, Duration elapsed) {
+
+		@Override
+		public String toString() {
+			return "visits before " + cutoff + ": " + archived + ", " + elapsed.toMillis() + " ms";
+		}
+	}
+
+	/**
+	 * Builds a {@link VisitArchiver}
+	 */
+	public static final class Builder {
+
+		private Period retention = Period.ofYears(5);
+		private int chunkSize = 1_000;
+		private Consumer<Statistics> progress = statistics -> {};
+
+		private Builder() {}
+
+		/**
+		 * @param retention the period visits are kept in the visit table
+		 * @return this builder
+		 */
+		public Builder retention(Period retention) {
+			if (requireNonNull(retention).isNegative()) {
+				throw new IllegalArgumentException("retention must not be negative");
+			}
+			this.retention = retention;
+			return this;
+		}
+
+		/**
+		 * @param chunkSize the number of visits archived in each transaction
+		 * @return this builder
+		 */
+		public Builder chunkSize(int chunkSize) {
+			if (chunkSize <= 0) {
+				throw new IllegalArgumentException("chunkSize must be positive");
+			}
+			this.chunkSize = chunkSize;
+			return this;
+		}
+
+		/**
+		 * @param progress receives the accumulated statistics after each chunk
+		 * @return this builder
+		 */
+		public Builder progress(Consumer<Statistics> progress) {
+			this.progress = requireNonNull(progress);
+			return this;
+		}
+
+		/**
+		 * @return a new {@link VisitArchiver} instance
+		 */
+		public VisitArchiver build() {
+			return new VisitArchiver(this);
+		}
+	}
+
+	private static int archiveChunk(PreparedStatement select, PreparedStatement insert,
+																	PreparedStatement delete) throws SQLException {
+		int count = 0;
+		try (ResultSet resultSet = select.executeQuery()) {
+			while (resultSet.next()) {
+				int id = resultSet.getInt(1);
+				insert.setInt(1, id);
+				insert.addBatch();
+				delete.setInt(1, id);
+				delete.addBatch();
+				count++;
+			}
+		}
+		if (count > 0) {
+			// insert before delete, within the same transaction
+			insert.executeBatch();
+			delete.executeBatch();
+		}
+
+		return count;
+	}
+}
@@ -0,0 +1,474 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.data;
+
+import is.codion.common.db.database.Database;
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.Arguments;
+import is.codion.demos.petclinic.domain.DatabaseFile;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.demos.petclinic.domain.Petclinic;
+import is.codion.framework.domain.entity.Entities;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.EntityDefinition;
+import is.codion.framework.domain.entity.exception.EntityValidationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Imports visit history from a CSV file, streaming the file and inserting
+ * the visits using JDBC batching, committing after a configurable number of batches.
+ * <p>
+ * The CSV file must start with a header, containing the following columns, in any order.
+ * <pre>
+ * owner_first_name,owner_last_name,pet_name,visit_date,vet_first_name,vet_last_name,description
+ * </pre>
+ * The pet and vet are resolved by these natural keys, via lookup maps loaded up front,
+ * so memory usage depends on the number of pets and vets, not the size of the file.
+ * The description column is optional and the visit date is in ISO format, f.ex. 2024-03-15.
+ * <p>
+ * Rows are validated against the {@link Petclinic} domain definition of {@link Visit}.
+ * Rows that can not be resolved or are invalid are rejected, without interrupting the import.
+ * {@snippet :
+ * VisitImporter.builder()
+ *     .batchSize(1_000)
+ *     .batchesPerCommit(10)
+ *     .rejected(rejection -> System.err.println(rejection))
+ *     .build()
+ *     .importVisits(Path.of("visits.csv"), connection);
+ *}
+ * @see #main(String[])
+ */
+public final class VisitImporter {
+
+	private static final String OWNER_FIRST_NAME = "owner_first_name";
+	private static final String OWNER_LAST_NAME = "owner_last_name";
+	private static final String PET_NAME = "pet_name";
+	private static final String VISIT_DATE = "visit_date";
+	private static final String VET_FIRST_NAME = "vet_first_name";
+	private static final String VET_LAST_NAME = "vet_last_name";
+	private static final String DESCRIPTION = "description";
+
+	private static final List<String> REQUIRED_COLUMNS =
+					List.of(OWNER_FIRST_NAME, OWNER_LAST_NAME, PET_NAME, VISIT_DATE, VET_FIRST_NAME, VET_LAST_NAME);
+
+	private static final String SELECT_PETS =
+					"SELECT pet.id, owner.first_name, owner.last_name, pet.name " +
+									"FROM petclinic.pet JOIN petclinic.owner ON owner.id = pet.owner_id";
+	private static final String SELECT_VETS =
+					"SELECT id, first_name, last_name FROM petclinic.vet";
+	private static final String INSERT_VISIT =
+					"INSERT INTO petclinic.visit(pet_id, visit_date, vet_id, description) VALUES (?, ?, ?, ?)";
+
+	// Marks a natural key shared by more than one row
+	private static final int AMBIGUOUS = -1;
+	private static final char KEY_SEPARATOR = '\u0000';
+
+	private final Entities entities = new Petclinic().entities();
+	private final EntityDefinition definition = entities.definition(Visit.TYPE);
+	private final int batchSize;
+	private final int batchesPerCommit;
+	private final Consumer<Statistics> progress;
+	private final Consumer<Rejection> rejected;
+
+	private VisitImporter(Builder builder) {
+		this.batchSize = builder.batchSize;
+		this.batchesPerCommit = builder.batchesPerCommit;
+		this.progress = builder.progress;
+		this.rejected = builder.rejected;
+	}
+
+	/**
+	 * Imports the visits from the given UTF-8 encoded CSV file.
+	 * @param file the CSV file
+	 * @param connection the connection to use
+	 * @return the import statistics
+	 * @throws IOException in case of an exception while reading the file
+	 * @throws SQLException in case of a database exception, rolling back the current transaction only
+	 */
+	public Statistics importVisits(Path file, Connection connection) throws IOException, SQLException {
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			return importVisits(reader, connection);
+		}
+	}
+
+	/**
+	 * Imports the visits from the given CSV input.
+	 * @param reader the CSV input
+	 * @param connection the connection to use
+	 * @return the import statistics
+	 * @throws IOException in case of an exception while reading the input
+	 * @throws SQLException in case of a database exception, rolling back the current transaction only
+	 */
+	public Statistics importVisits(BufferedReader reader, Connection connection) throws IOException, SQLException {
+		requireNonNull(reader);
+		requireNonNull(connection);
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try {
+			return new Import(new CsvReader(reader), connection).run();
+		}
+		catch (IOException | SQLException | RuntimeException e) {
+			connection.rollback();
+			throw e;
+		}
+		finally {
+			connection.setAutoCommit(autoCommit);
+		}
+	}
+
+	/**
+	 * @return a new {@link Builder} instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Imports visits into the database specified by the 'codion.db.url' system property,
+	 * printing rejected rows to the standard error stream.
+	 * <pre>
+	 * --file=visits.csv --batch-size=1000 --batches-per-commit=10 --user=scott:tiger
+	 * </pre>
+	 * @param arguments the arguments
+	 * @throws IOException in case of an exception while reading the file
+	 * @throws SQLException in case of a database exception
+	 */
+	public static void main(String[] arguments) throws IOException, SQLException {
+		// In case a persistent database file is specified
+		DatabaseFile.configure();
+		Arguments args = new Arguments(arguments);
+		String file = args.value("file", null);
+		if (file == null) {
+			throw new IllegalArgumentException("--file is required");
+		}
+		VisitImporter importer = builder()
+						.batchSize(args.intValue("batch-size", 1_000))
+						.batchesPerCommit(args.intValue("batches-per-commit", 10))
+						.progress(statistics -> System.out.println(statistics))
+						.rejected(rejection -> System.err.println(rejection))
+						.build();
+		try (Connection connection = Database.instance()
+						.createConnection(User.parse(args.value("user", "scott:tiger")))) {
+			System.out.println("Done: " + importer.importVisits(Path.of(file), connection));
+		}
+	}
+
+	/**
+	 * The number of rows read, imported and rejected and the time it took.
+	 * @param read the number of rows read
+	 * @param imported the number of visits imported
+	 * @param rejected the number of rows rejected
+	 * @param elapsed the elapsed time
+	 */
+	public record Statistics(long read, long imported, long rejected, Duration elapsed) {
+
+		/**
+		 * @return the number of rows read per second
+		 */
+		public long rowsPerSecond() {
+			return read * 1000 / Math.max(1, elapsed.toMillis());
+		}
+
+		@Override
+		public String toString() {
+			return "read: " + read + ", imported: " + imported + ", rejected: " + rejected +
+							", " + elapsed.toMillis() + " ms, " + rowsPerSecond() + " rows/sec";
+		}
+	}
+
+	/**
+	 * A rejected row.
+	 * @param line the line number in the file, the header being line 1
+	 * @param reason the reason for the rejection
+	 */
+	public record Rejection(long line, String reason) {
+
+		@Override
+		public String toString() {
+			return "Line " + line + ": " + reason;
+		}
+	}
+
+	/**
+	 * Builds a {@link VisitImporter}
+	 */
+	public static final class Builder {
+
+		private int batchSize = 1_000;
+		private int batchesPerCommit = 10;
+		private Consumer<Statistics> progress = statistics -> {};
+		private Consumer<Rejection> rejected = rejection -> {};
+
+		private Builder() {}
+
+		/**
+		 * @param batchSize the number of rows in each JDBC batch
+		 * @return this builder
+		 */
+		public Builder batchSize(int batchSize) {
+			this.batchSize = requirePositive(batchSize);
+			return this;
+		}
+
+		/**
+		 * @param batchesPerCommit the number of batches in each transaction
+		 * @return this builder
+		 */
+		public Builder batchesPerCommit(int batchesPerCommit) {
+			this.batchesPerCommit = requirePositive(batchesPerCommit);
+			return this;
+		}
+
+		/**
+		 * @param progress receives the accumulated statistics after each commit
+		 * @return this builder
+		 */
+		public Builder progress(Consumer<Statistics> progress) {
+			this.progress = requireNonNull(progress);
+			return this;
+		}
+
+		/**
+		 * @param rejected receives each rejected row
+		 * @return this builder
+		 */
+		public Builder rejected(Consumer<Rejection> rejected) {
+			this.rejected = requireNonNull(rejected);
+			return this;
+		}
+
+		/**
+		 * @return a new {@link VisitImporter} instance
+		 */
+		public VisitImporter build() {
+			return new VisitImporter(this);
+		}
+
+		private static int requirePositive(int value) {
+			if (value <= 0) {
+				throw new IllegalArgumentException("Value must be positive: " + value);
+			}
+
+			return value;
+		}
+	}
+
+	private final class Import {
+
+		private final long started = System.nanoTime();
+		private final CsvReader reader;
+		private final Connection connection;
+		private final Map<String, Integer> pets = new HashMap<>();
+		private final Map<String, Integer> vets = new HashMap<>();
+
+		private long read = 0;
+		private long imported = 0;
+		private long rejections = 0;
+		private int batch = 0;
+		private int batches = 0;
+
+		private Import(CsvReader reader, Connection connection) {
+			this.reader = reader;
+			this.connection = connection;
+		}
+
+		private Statistics run() throws IOException, SQLException {
+			List<String> header = reader.next();
+			if (header == null) {
+				throw new IOException("Missing header");
+			}
+			Columns columns = new Columns(header);
+			loadPets();
+			loadVets();
+			try (PreparedStatement statement = connection.prepareStatement(INSERT_VISIT)) {
+				List<String> row = reader.next();
+				while (row != null) {
+					if (!blank(row)) {
+						read++;
+						add(statement, columns, row);
+					}
+					row = reader.next();
+				}
+				executeBatch(statement);
+				commit();
+			}
+
+			return statistics();
+		}
+
+		private void add(PreparedStatement statement, Columns columns, List<String> row) throws SQLException {
+			Entity visit;
+			try {
+				visit = visit(columns, row);
+				definition.validator().validate(visit);
+			}
+			catch (EntityValidationException | IllegalArgumentException | DateTimeParseException e) {
+				reject(e.getMessage());
+				return;
+			}
+			statement.setInt(1, visit.get(Visit.PET_ID));
+			statement.setDate(2, Date.valueOf(visit.get(Visit.VISIT_DATE)));
+			statement.setInt(3, visit.get(Visit.VET_ID));
+			statement.setString(4, visit.get(Visit.DESCRIPTION));
+			statement.addBatch();
+			if (++batch == batchSize) {
+				executeBatch(statement);
+				if (++batches == batchesPerCommit) {
+					commit();
+				}
+			}
+		}
+
+		private Entity visit(Columns columns, List<String> row) {
+			if (row.size() != columns.count) {
+				throw new IllegalArgumentException("Expected " + columns.count + " fields, found " + row.size());
+			}
+			String description = columns.description < 0 ? null : row.get(columns.description);
+
+			return entities.builder(Visit.TYPE)
+							.with(Visit.PET_ID, resolve(pets, "Pet", row.get(columns.ownerFirstName),
+											row.get(columns.ownerLastName), row.get(columns.petName)))
+							.with(Visit.VET_ID, resolve(vets, "Vet", row.get(columns.vetFirstName), row.get(columns.vetLastName)))
+							.with(Visit.VISIT_DATE, LocalDate.parse(row.get(columns.visitDate)))
+							.with(Visit.DESCRIPTION, description == null || description.isEmpty() ? null : description)
+							.build();
+		}
+
+		private void executeBatch(PreparedStatement statement) throws SQLException {
+			if (batch > 0) {
+				statement.executeBatch();
+				imported += batch;
+				batch = 0;
+			}
+		}
+
+		private void commit() throws SQLException {
+			connection.commit();
+			batches = 0;
+			progress.accept(statistics());
+		}
+
+		private void reject(String reason) {
+			rejections++;
+			rejected.accept(new Rejection(reader.line(), reason));
+		}
+
+		private Statistics statistics() {
+			return new Statistics(read, imported, rejections, Duration.ofNanos(System.nanoTime() - started));
+		}
+
+		private void loadPets() throws SQLException {
+			try (Statement statement = connection.createStatement();
+					 ResultSet resultSet = statement.executeQuery(SELECT_PETS)) {
+				while (resultSet.next()) {
+					put(pets, resultSet.getInt(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4));
+				}
+			}
+		}
+
+		private void loadVets() throws SQLException {
+			try (Statement statement = connection.createStatement();
+					 ResultSet resultSet = statement.executeQuery(SELECT_VETS)) {
+				while (resultSet.next()) {
+					put(vets, resultSet.getInt(1), resultSet.getString(2), resultSet.getString(3));
+				}
+			}
+		}
+
+		private static void put(Map<String, Integer> lookup, int id, String... naturalKey) {
+			lookup.merge(key(naturalKey), id, (existing, added) -> AMBIGUOUS);
+		}
+
+		private static int resolve(Map<String, Integer> lookup, String name, String... naturalKey) {
+			Integer id = lookup.get(key(naturalKey));
+			if (id == null) {
+				throw new IllegalArgumentException(name + " not found: " + String.join(" ", naturalKey));
+			}
+			if (id == AMBIGUOUS) {
+				throw new IllegalArgumentException(name + " is ambiguous: " + String.join(" ", naturalKey));
+			}
+
+			return id;
+		}
+
+		private static String key(String... naturalKey) {
+			StringBuilder builder = new StringBuilder();
+			for (String value : naturalKey) {
+				builder.append(value.trim().toLowerCase()).append(KEY_SEPARATOR);
+			}
+
+			return builder.toString();
+		}
+
+		private static boolean blank(List<String> row) {
+			return row.size() == 1 && row.get(0).isBlank();
+		}
+	}
+
+	private static final class Columns {
+
+		private final int count;
+		private final int ownerFirstName;
+		private final int ownerLastName;
+		private final int petName;
+		private final int visitDate;
+		private final int vetFirstName;
+		private final int vetLastName;
+		private final int description;
+
+		private Columns(List<String> header) throws IOException {
+			List<String> names = header.stream()
+							.map(name -> name.trim().toLowerCase())
+							.toList();
+			for (String column : REQUIRED_COLUMNS) {
+				if (!names.contains(column)) {
+					throw new IOException("Missing column: " + column);
+				}
+			}
+			this.count = names.size();
+			this.ownerFirstName = names.indexOf(OWNER_FIRST_NAME);
+			this.ownerLastName = names.indexOf(OWNER_LAST_NAME);
+			this.petName = names.indexOf(PET_NAME);
+			this.visitDate = names.indexOf(VISIT_DATE);
+			this.vetFirstName = names.indexOf(VET_FIRST_NAME);
+			this.vetLastName = names.indexOf(VET_LAST_NAME);
+			this.description = names.indexOf(DESCRIPTION);
+		}
+	}
+}
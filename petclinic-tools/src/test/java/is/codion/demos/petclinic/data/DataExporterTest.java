@@ -0,0 +1,100 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.data;
+
+import is.codion.demos.petclinic.data.DataExporter.Dataset;
+import is.codion.demos.petclinic.data.DataExporter.Format;
+import is.codion.demos.petclinic.data.DataExporter.Statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static is.codion.demos.petclinic.data.DataGeneratorTest.createDatabase;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class DataExporterTest {
+
+	@Test
+	void csv() throws IOException, SQLException {
+		try (Connection connection = createDatabase("exportCsv")) {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("UPDATE petclinic.visit SET description = 'shot, \"rabies\"' WHERE id = 1");
+				statement.execute("""
+								INSERT INTO petclinic.visit_archive(id, pet_id, visit_date, vet_id, description, insert_time, insert_user)
+								SELECT id, pet_id, visit_date, vet_id, description, insert_time, insert_user
+								FROM petclinic.visit WHERE id = 2""");
+				statement.execute("DELETE FROM petclinic.visit WHERE id = 2");
+			}
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			Statistics statistics = DataExporter.builder()
+							.fetchSize(2)
+							.build()
+							.export(connection, Channels.newChannel(output));
+			assertEquals(4, statistics.rows());
+			assertEquals(output.size(), statistics.bytes());
+
+			List<List<String>> records = new ArrayList<>();
+			try (CsvReader reader = new CsvReader(new BufferedReader(new StringReader(output.toString(StandardCharsets.UTF_8))))) {
+				List<String> fields = reader.next();
+				while (fields != null) {
+					records.add(fields);
+					fields = reader.next();
+				}
+			}
+			assertEquals(5, records.size());
+			assertEquals(List.of("id", "visit_date", "description", "pet_id", "pet_name", "pet_type",
+							"owner_id", "owner_first_name", "owner_last_name", "vet_id", "vet_first_name", "vet_last_name", "archived"), records.get(0));
+			assertEquals(List.of("1", "2013-01-01", "shot, \"rabies\"", "7", "Samantha", "cat",
+							"6", "Jean", "Coleman", "1", "James", "Carter", "false"), records.get(1));
+			// The archived visits follow
+			assertEquals("2", records.get(4).get(0));
+			assertEquals("true", records.get(4).get(12));
+		}
+	}
+
+	@Test
+	void jsonLines() throws IOException, SQLException {
+		try (Connection connection = createDatabase("exportJson")) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			Statistics statistics = DataExporter.builder()
+							.dataset(Dataset.OWNERS)
+							.format(Format.JSONL)
+							.build()
+							.export(connection, Channels.newChannel(output));
+			assertEquals(10, statistics.rows());
+			String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+			assertEquals(10, lines.length);
+			assertEquals("{\"id\":1,\"first_name\":\"George\",\"last_name\":\"Franklin\",\"address\":\"110 W. Liberty St.\"," +
+							"\"city\":\"Madison\",\"telephone\":\"6085551023\",\"phone_type\":\"MOBILE\"}", lines[0]);
+			assertTrue(connection.getAutoCommit());
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.data;
+
+import is.codion.demos.petclinic.data.DataGenerator.Statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class DataGeneratorTest {
+
+	@Test
+	void generate() throws SQLException {
+		// A separate database, keeping the shared test database intact
+		try (Connection connection = createDatabase("generate")) {
+			int seededVisits = count(connection, "visit");
+			Statistics statistics = DataGenerator.builder()
+							.vets(10)
+							.owners(500)
+							.petsPerOwner(2)
+							.visitsPerPet(3)
+							.batchSize(100)
+							.build()
+							.generate(connection);
+
+			assertEquals(500, statistics.owners());
+			assertEquals(10 + 500, count(connection, "owner"));
+			assertEquals(6 + 10, count(connection, "vet"));
+			assertEquals(13 + statistics.pets(), count(connection, "pet"));
+			assertEquals(seededVisits + statistics.visits(), count(connection, "visit"));
+			assertTrue(statistics.visits() > 0);
+
+			// The identity columns continue after the generated ids
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("INSERT INTO petclinic.owner(first_name, last_name, phone_type) VALUES ('Jon', 'Doe', 'HOME')");
+			}
+			assertEquals(10 + 500 + 1, count(connection, "owner"));
+		}
+	}
+
+	@Test
+	void archivedVisitIds() throws SQLException {
+		try (Connection connection = createDatabase("archivedVisitIds")) {
+			// Archive the latest visit, its id now following the max visit id
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("""
+								INSERT INTO petclinic.visit_archive(id, pet_id, visit_date, vet_id, description, insert_time, insert_user)
+								SELECT id, pet_id, visit_date, vet_id, description, insert_time, insert_user
+								FROM petclinic.visit WHERE id = (SELECT MAX(id) FROM petclinic.visit)""");
+				statement.execute("DELETE FROM petclinic.visit WHERE id IN (SELECT id FROM petclinic.visit_archive)");
+			}
+			DataGenerator.builder()
+							.owners(10)
+							.build()
+							.generate(connection);
+			// The generated visits and the identity column continue after the archived ids
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("INSERT INTO petclinic.visit(pet_id, visit_date, vet_id) VALUES (1, CURRENT_DATE, 1)");
+			}
+			assertEquals(0, count(connection, "visit JOIN petclinic.visit_archive USING (id)"));
+		}
+	}
+
+	@Test
+	void reproducible() throws SQLException {
+		try (Connection first = createDatabase("first");
+				 Connection second = createDatabase("second")) {
+			DataGenerator generator = DataGenerator.builder()
+							.seed(7)
+							.owners(200)
+							.build();
+			assertEquals(generator.generate(first).visits(), generator.generate(second).visits());
+			assertEquals(checksum(first), checksum(second));
+		}
+	}
+
+	static Connection createDatabase(String name) throws SQLException {
+		return DriverManager.getConnection("jdbc:h2:mem:" + name +
+						";INIT=RUNSCRIPT FROM 'classpath:create_schema.sql'", "scott", "tiger");
+	}
+
+	private static int count(Connection connection, String table) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				 ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM petclinic." + table)) {
+			resultSet.next();
+
+			return resultSet.getInt(1);
+		}
+	}
+
+	private static long checksum(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				 ResultSet resultSet = statement.executeQuery(
+								 "SELECT SUM(pet_id * 31 + vet_id + EXTRACT(DAY FROM visit_date)) FROM petclinic.visit")) {
+			resultSet.next();
+
+			return resultSet.getLong(1);
+		}
+	}
+}
@@ -0,0 +1,377 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.data;
+
+import is.codion.demos.petclinic.domain.Petclinic;
+import is.codion.demos.petclinic.domain.Petclinic.ArchivedVisit;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.demos.petclinic.domain.Petclinic.PetTypeVisits;
+import is.codion.demos.petclinic.domain.Petclinic.SpecialtyVisits;
+import is.codion.demos.petclinic.domain.Petclinic.Vet;
+import is.codion.demos.petclinic.domain.Petclinic.VetSpecialty;
+import is.codion.demos.petclinic.domain.Petclinic.VetVisits;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.demos.petclinic.model.EntityLookup;
+import is.codion.demos.petclinic.model.OwnerTableModel;
+import is.codion.demos.petclinic.model.PetclinicAppModel;
+import is.codion.demos.petclinic.model.VetSpecialtyEditModel;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.db.local.LocalEntityConnection;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.EntityType;
+import is.codion.framework.domain.entity.exception.EntityValidationException;
+import is.codion.swing.framework.model.SwingEntityEditor;
+import is.codion.swing.framework.model.SwingEntityModel;
+import is.codion.swing.framework.model.SwingEntityTableModel;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static is.codion.framework.db.EntityConnection.Select.all;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserts that the statements executed by the application models, the data tools and the triggers
+ * are backed by indexes, against a generated dataset, in a separate database.
+ * <p>
+ * The selects are recorded as executed, along with their parameters, via a {@link #recording(Connection)}
+ * connection, and explained with the same parameters, asserting that no more than {@link #SCAN_LIMIT}
+ * rows are read from any table. The statements executed within the database, by the triggers,
+ * are collected from the database query statistics and asserted not to scan a table.
+ */
+public final class QueryPlanTest {
+
+	private static final String URL = "jdbc:h2:mem:query_plan";
+	// 5.000 owners, 10.000 pets and 40.000 visits, scanning any of them fails
+	private static final int SCAN_LIMIT = 1_000;
+	private static final String TABLE_SCAN = "tableScan";
+	private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+	// The visit or the visit archive table
+	private static final Pattern VISITS = Pattern.compile("PETCLINIC\"?\\.\"?VISIT(_ARCHIVE)?\\b");
+	private static final Set<String> STATEMENTS = Set.of("SELECT", "INSERT", "UPDATE", "DELETE", "MERGE");
+
+	private static final List<Query> QUERIES = new CopyOnWriteArrayList<>();
+
+	private static Connection connection;
+	private static EntityConnection entityConnection;
+	private static SwingEntityModel ownersModel;
+
+	@BeforeAll
+	static void setup() throws SQLException {
+		connection = DriverManager.getConnection(URL +
+						";INIT=RUNSCRIPT FROM 'classpath:create_schema.sql'", "scott", "tiger");
+		DataGenerator.builder()
+						.vets(50)
+						.owners(5_000)
+						.petsPerOwner(2)
+						.visitsPerPet(4)
+						.batchSize(5_000)
+						.build()
+						.generate(connection);
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("ANALYZE");
+		}
+		entityConnection = LocalEntityConnection.builder()
+						.domain(new Petclinic())
+						.connection(recording(DriverManager.getConnection(URL, "scott", "tiger")))
+						.build();
+		ownersModel = new PetclinicAppModel(entityConnection).models().get(Owner.TYPE);
+		SwingEntityModel petsModel = ownersModel.detail().get(Pet.TYPE);
+		// The detail models are activated by the UI when the detail panels are shown
+		ownersModel.detail().link(petsModel).active().set(true);
+		petsModel.detail().link(petsModel.detail().get(Visit.TYPE)).active().set(true);
+		petsModel.detail().link(petsModel.detail().get(ArchivedVisit.TYPE)).active().set(true);
+	}
+
+	@AfterAll
+	static void tearDown() throws SQLException {
+		entityConnection.close();
+		connection.close();
+	}
+
+	@BeforeEach
+	void reset() throws SQLException {
+		QUERIES.clear();
+		try (Statement statement = connection.createStatement()) {
+			// Disabling clears the statistics
+			statement.execute("SET QUERY_STATISTICS FALSE");
+			statement.execute("SET QUERY_STATISTICS TRUE");
+		}
+	}
+
+	@Test
+	void ownerPages() throws SQLException {
+		OwnerTableModel tableModel = (OwnerTableModel) ownersModel.tableModel();
+		tableModel.items().refresh();
+		tableModel.nextPage();
+		tableModel.previousPage();
+		assertIndexed();
+	}
+
+	@Test
+	void ownerSearch() throws SQLException {
+		OwnerTableModel tableModel = (OwnerTableModel) ownersModel.tableModel();
+		// Loads the index, reading all the owners and pets by design
+		tableModel.search("dav");
+		reset();
+		// Reindexing the owners affected by edits
+		SwingEntityEditor editor = tableModel.editModel().editor();
+		editor.value(Owner.FIRST_NAME).set("Dave");
+		editor.value(Owner.LAST_NAME).set("Davidson");
+		editor.value(Owner.PHONE_TYPE).set(Owner.PhoneType.HOME);
+		editor.insert();
+		editor.delete();
+		tableModel.search("dav");
+		tableModel.search("");
+		assertIndexed();
+	}
+
+	@Test
+	void lookups() throws SQLException {
+		// By last or first name
+		EntityLookup.owners(entityConnection).lookup("da");
+		// By name, and by name and owner last name
+		EntityLookup.pets(entityConnection).lookup("le");
+		EntityLookup.pets(entityConnection).lookup("le da");
+		assertIndexed();
+	}
+
+	@Test
+	void ownerDetails() throws SQLException {
+		SwingEntityModel petsModel = ownersModel.detail().get(Pet.TYPE);
+		SwingEntityModel visitsModel = petsModel.detail().get(Visit.TYPE);
+		ownersModel.tableModel().items().refresh();
+		// The pets of the selected owners and their neighbours, see DetailPrefetch
+		ownersModel.tableModel().selection().indexes().set(IntStream.range(0, 10).boxed().toList());
+		petsModel.tableModel().items().refresh();
+		// The visits and the archived visits of a pet with visits
+		petsModel.tableModel().selection().item().set(petsModel.tableModel().items().visible().get().stream()
+						.filter(pet -> pet.get(Pet.VISIT_COUNT) != null)
+						.findFirst()
+						.orElseThrow());
+		visitsModel.tableModel().items().refresh();
+		petsModel.detail().get(ArchivedVisit.TYPE).tableModel().items().refresh();
+		// The complete visit, once opened
+		visitsModel.tableModel().selection().index().set(0);
+		assertIndexed();
+	}
+
+	@Test
+	void visitEdits() throws SQLException {
+		SwingEntityModel visitsModel = ownersModel.detail().get(Pet.TYPE).detail().get(Visit.TYPE);
+		Entity pet = entityConnection.selectSingle(Pet.ID.equalTo(1));
+		Entity vet = entityConnection.selectSingle(Vet.ID.equalTo(1));
+		reset();
+		// The visit summary and statistics triggers, and the pet summary refresh
+		SwingEntityEditor editor = visitsModel.editModel().editor();
+		editor.value(Visit.PET_FK).set(pet);
+		editor.value(Visit.VISIT_DATE).set(LocalDate.now());
+		editor.value(Visit.VET_FK).set(vet);
+		editor.insert();
+		editor.value(Visit.VISIT_DATE).set(LocalDate.now().minusDays(1));
+		editor.update();
+		editor.delete();
+		assertIndexed();
+	}
+
+	@Test
+	void visitArchive() throws SQLException {
+		LocalDate earliest;
+		try (Statement statement = connection.createStatement();
+				 ResultSet resultSet = statement.executeQuery("SELECT MIN(visit_date) FROM petclinic.visit")) {
+			resultSet.next();
+			earliest = resultSet.getObject(1, LocalDate.class);
+		}
+		// The chunks to archive, along with the triggers
+		try (Connection archiveConnection = recording(DriverManager.getConnection(URL, "scott", "tiger"))) {
+			VisitArchiver.builder()
+							.chunkSize(100)
+							.build()
+							.archive(archiveConnection, earliest.plusMonths(1));
+		}
+		assertIndexed();
+	}
+
+	@Test
+	void vetSpecialties() throws SQLException {
+		Entity vetSpecialty = entityConnection.select(all(VetSpecialty.TYPE)
+						.limit(1)
+						.build()).get(0);
+		reset();
+		VetSpecialtyEditModel editModel = new VetSpecialtyEditModel(entityConnection);
+		SwingEntityEditor editor = editModel.editor();
+		editor.value(VetSpecialty.VET_FK).set(vetSpecialty.get(VetSpecialty.VET_FK));
+		editor.value(VetSpecialty.SPECIALTY_FK).set(vetSpecialty.get(VetSpecialty.SPECIALTY_FK));
+		assertThrows(EntityValidationException.class, editor::insert);
+		assertIndexed();
+	}
+
+	@Test
+	void visitReports() throws SQLException {
+		for (EntityType report : List.of(VetVisits.TYPE, SpecialtyVisits.TYPE, PetTypeVisits.TYPE)) {
+			new SwingEntityTableModel(report, entityConnection).items().refresh();
+		}
+		assertFalse(QUERIES.isEmpty());
+		// The reports aggregate the statistics only, never the visits
+		for (Query query : QUERIES) {
+			String plan = explain(query);
+			assertFalse(VISITS.matcher(plan).find(), () -> "Visits read: " + plan);
+		}
+	}
+
+	/**
+	 * Asserts that none of the recorded selects reads more than {@link #SCAN_LIMIT} rows from
+	 * a table and that none of the other statements executed by the database scans a table.
+	 */
+	private static void assertIndexed() throws SQLException {
+		assertFalse(QUERIES.isEmpty());
+		Set<String> recorded = new HashSet<>();
+		for (Query query : QUERIES) {
+			recorded.add(query.sql());
+			String plan = explain(query);
+			Matcher scanCount = SCAN_COUNT.matcher(plan);
+			while (scanCount.find()) {
+				assertTrue(Integer.parseInt(scanCount.group(1)) <= SCAN_LIMIT, () -> "Rows scanned: " + plan);
+			}
+		}
+		for (String sql : executed()) {
+			if (!recorded.contains(sql)) {
+				String plan = explain(sql);
+				assertFalse(plan.contains(TABLE_SCAN), () -> "Table scan: " + plan);
+			}
+		}
+	}
+
+	/**
+	 * @return the data manipulation statements executed since the last {@link #reset()}, by any session
+	 */
+	private static List<String> executed() throws SQLException {
+		List<String> statements = new ArrayList<>();
+		try (Statement statement = connection.createStatement();
+				 ResultSet resultSet = statement.executeQuery("SELECT sql_statement FROM information_schema.query_statistics")) {
+			while (resultSet.next()) {
+				String sql = resultSet.getString(1).strip();
+				String command = sql.split("\\s+", 2)[0].toUpperCase(Locale.ROOT);
+				if (STATEMENTS.contains(command) && !sql.toLowerCase(Locale.ROOT).contains("information_schema")) {
+					statements.add(sql);
+				}
+			}
+		}
+
+		return statements;
+	}
+
+	/**
+	 * Runs the query with the recorded parameters, returning the plan along with the rows scanned per table
+	 */
+	private static String explain(Query query) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("EXPLAIN ANALYZE " + query.sql())) {
+			for (Map.Entry<Integer, Object> parameter : query.parameters().entrySet()) {
+				statement.setObject(parameter.getKey(), parameter.getValue());
+			}
+			try (ResultSet resultSet = statement.executeQuery()) {
+				resultSet.next();
+
+				return resultSet.getString(1);
+			}
+		}
+	}
+
+	private static String explain(String sql) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				 ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+			resultSet.next();
+
+			return resultSet.getString(1);
+		}
+	}
+
+	/**
+	 * @return a connection recording the queries executed via its prepared statements, see {@link #QUERIES}
+	 */
+	private static Connection recording(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+						new Class<?>[] {Connection.class}, (proxy, method, arguments) -> {
+							Object result = invoke(connection, method, arguments);
+							if (method.getName().equals("prepareStatement")) {
+								return recording((PreparedStatement) result, (String) arguments[0]);
+							}
+
+							return result;
+						});
+	}
+
+	private static PreparedStatement recording(PreparedStatement statement, String sql) {
+		Map<Integer, Object> parameters = new HashMap<>();
+
+		return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+						new Class<?>[] {PreparedStatement.class}, (proxy, method, arguments) -> {
+							String name = method.getName();
+							if (name.startsWith("set") && arguments != null && arguments.length > 1 && arguments[0] instanceof Integer index) {
+								parameters.put(index, name.equals("setNull") ? null : arguments[1]);
+							}
+							else if (name.equals("clearParameters")) {
+								parameters.clear();
+							}
+							else if (name.equals("executeQuery") && arguments == null) {
+								QUERIES.add(new Query(sql, new HashMap<>(parameters)));
+							}
+
+							return invoke(statement, method, arguments);
+						});
+	}
+
+	private static Object invoke(Object target, Method method, Object[] arguments) throws Throwable {
+		try {
+			return method.invoke(target, arguments);
+		}
+		catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private record Query(String sql, Map<Integer, Object> parameters) {}
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.data;
+
+import is.codion.demos.petclinic.data.VisitArchiver.Statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static is.codion.demos.petclinic.data.DataGeneratorTest.createDatabase;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class VisitArchiverTest {
+
+	@Test
+	void archive() throws SQLException {
+		// A separate database, keeping the shared test database intact
+		try (Connection connection = createDatabase("archive")) {
+			DataGenerator.builder()
+							.owners(100)
+							.build()
+							.generate(connection);
+			LocalDate cutoff = LocalDate.of(2020, 1, 1);
+			int total = count(connection, "visit");
+			int old = count(connection, "visit WHERE visit_date < DATE '2020-01-01'");
+			long checksum = checksum(connection);
+
+			List<Statistics> progress = new ArrayList<>();
+			Statistics statistics = VisitArchiver.builder()
+							.chunkSize(50)
+							.progress(progress::add)
+							.build()
+							.archive(connection, cutoff);
+
+			assertEquals(old, statistics.archived());
+			assertEquals((old + 49) / 50, progress.size());
+			assertEquals(0, count(connection, "visit WHERE visit_date < DATE '2020-01-01'"));
+			assertEquals(old, count(connection, "visit_archive"));
+			assertEquals(total - old, count(connection, "visit"));
+			// Nothing lost, nothing changed
+			assertEquals(checksum, checksum(connection));
+			assertTrue(connection.getAutoCommit());
+
+			// Nothing left to archive
+			assertEquals(0, VisitArchiver.builder().build().archive(connection, cutoff).archived());
+		}
+	}
+
+	private static int count(Connection connection, String table) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				 ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM petclinic." + table)) {
+			resultSet.next();
+
+			return resultSet.getInt(1);
+		}
+	}
+
+	private static long checksum(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				 ResultSet resultSet = statement.executeQuery("SELECT SUM(id * 31 + pet_id + vet_id + EXTRACT(DAY FROM visit_date)) FROM (" +
+								 "SELECT id, pet_id, vet_id, visit_date FROM petclinic.visit UNION ALL " +
+								 "SELECT id, pet_id, vet_id, visit_date FROM petclinic.visit_archive)")) {
+			resultSet.next();
+
+			return resultSet.getLong(1);
+		}
+	}
+}
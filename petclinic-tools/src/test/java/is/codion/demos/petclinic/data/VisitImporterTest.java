@@ -0,0 +1,111 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.data;
+
+import is.codion.demos.petclinic.data.VisitImporter.Rejection;
+import is.codion.demos.petclinic.data.VisitImporter.Statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static is.codion.demos.petclinic.data.DataGeneratorTest.createDatabase;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class VisitImporterTest {
+
+	private static final String CSV = """
+					vet_first_name,vet_last_name,owner_first_name,owner_last_name,pet_name,visit_date,description
+					James,Carter,George,Franklin,Leo,2024-01-15,annual checkup
+					helen,LEARY,Jean,Coleman,Max,2024-02-01,"vaccination, ""booster""\"
+					Linda,Douglas,Carlos,Estaban,Sly,2024-03-01,
+
+					Linda,Douglas,Carlos,Estaban,Rex,2024-03-02,unknown pet
+					Jane,Doe,Carlos,Estaban,Sly,2024-03-03,unknown vet
+					James,Carter,George,Franklin,Leo,15.01.2024,invalid date
+					James,Carter,George,Franklin,Leo,,missing date
+					James,Carter,George,Franklin,Leo,2024-01-16,"%s"
+					""".formatted("x".repeat(256));
+
+	@Test
+	void importVisits() throws IOException, SQLException {
+		// A separate database, keeping the shared test database intact
+		try (Connection connection = createDatabase("importVisits")) {
+			List<Rejection> rejections = new ArrayList<>();
+			Statistics statistics = VisitImporter.builder()
+							.batchSize(2)
+							.batchesPerCommit(1)
+							.rejected(rejections::add)
+							.build()
+							.importVisits(new BufferedReader(new StringReader(CSV)), connection);
+
+			assertEquals(8, statistics.read());
+			assertEquals(3, statistics.imported());
+			assertEquals(5, statistics.rejected());
+			assertEquals(List.of(6L, 7L, 8L, 9L, 10L), rejections.stream()
+							.map(Rejection::line)
+							.toList());
+			assertEquals(4 + 3, count(connection, "visit"));
+			assertEquals(1, count(connection, "visit WHERE description = 'vaccination, \"booster\"'"));
+			assertEquals(1, count(connection, "visit WHERE pet_id = 13 AND description IS NULL"));
+			assertTrue(connection.getAutoCommit());
+		}
+	}
+
+	@Test
+	void ambiguous() throws IOException, SQLException {
+		try (Connection connection = createDatabase("ambiguous")) {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("INSERT INTO petclinic.vet(first_name, last_name) VALUES ('James', 'Carter')");
+			}
+			Statistics statistics = VisitImporter.builder()
+							.build()
+							.importVisits(new BufferedReader(new StringReader(CSV)), connection);
+			assertEquals(2, statistics.imported());
+		}
+	}
+
+	@Test
+	void missingColumn() throws SQLException {
+		try (Connection connection = createDatabase("missingColumn")) {
+			VisitImporter importer = VisitImporter.builder().build();
+			assertThrows(IOException.class, () -> importer.importVisits(new BufferedReader(
+							new StringReader("owner_first_name,owner_last_name,pet_name,visit_date\n")), connection));
+		}
+	}
+
+	private static int count(Connection connection, String table) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				 ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM petclinic." + table)) {
+			resultSet.next();
+
+			return resultSet.getInt(1);
+		}
+	}
+}
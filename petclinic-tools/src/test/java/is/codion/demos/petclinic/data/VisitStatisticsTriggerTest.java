@@ -0,0 +1,137 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public final class VisitStatisticsTriggerTest {
+
+	private static final String STATISTICS =
+					"SELECT visit_month, vet_id, pet_type_id, visit_count " +
+									"FROM petclinic.visit_statistics ORDER BY visit_month, vet_id, pet_type_id";
+	// The statistics computed from scratch
+	private static final String AGGREGATE =
+					"SELECT CAST(DATE_TRUNC('MONTH', visit.visit_date) AS DATE) visit_month, visit.vet_id, pet.type_id, COUNT(*) visit_count FROM (" +
+									"SELECT pet_id, visit_date, vet_id FROM petclinic.visit UNION ALL " +
+									"SELECT pet_id, visit_date, vet_id FROM petclinic.visit_archive) visit " +
+									"JOIN petclinic.pet ON pet.id = visit.pet_id " +
+									"GROUP BY visit_month, visit.vet_id, pet.type_id " +
+									"ORDER BY visit_month, visit.vet_id, pet.type_id";
+	private static final String VET_VISITS =
+					"SELECT visit_month, vet_id, 0, visit_count FROM petclinic.vet_visits ORDER BY visit_month, vet_id";
+	private static final String VET_AGGREGATE =
+					"SELECT visit_month, vet_id, 0, CAST(SUM(visit_count) AS INTEGER) FROM (" + AGGREGATE + ") " +
+									"GROUP BY visit_month, vet_id ORDER BY visit_month, vet_id";
+
+	@Test
+	void statistics() throws SQLException {
+		try (Connection connection = createDatabase()) {
+			// The seeded visits, two cats
+			assertEquals(List.of("2013-01-01:1:1:1", "2013-01-01:2:1:1", "2013-01-01:3:1:1", "2013-01-01:4:1:1"),
+							rows(connection, STATISTICS));
+
+			DataGenerator.builder()
+							.owners(100)
+							.build()
+							.generate(connection);
+			assertEquals(rows(connection, AGGREGATE), rows(connection, STATISTICS));
+			assertEquals(rows(connection, VET_AGGREGATE), rows(connection, VET_VISITS));
+
+			try (Statement statement = connection.createStatement()) {
+				// Moving visits to other pets, vets and months
+				statement.executeUpdate("UPDATE petclinic.visit SET pet_id = pet_id - 1 WHERE MOD(id, 7) = 0 AND pet_id > 1");
+				statement.executeUpdate("UPDATE petclinic.visit SET vet_id = 1 WHERE MOD(id, 6) = 0");
+				statement.executeUpdate("UPDATE petclinic.visit SET visit_date = visit_date - 40 WHERE MOD(id, 5) = 0");
+				// Changes irrelevant to the statistics
+				statement.executeUpdate("UPDATE petclinic.visit SET description = 'checkup' WHERE MOD(id, 3) = 0");
+				statement.executeUpdate("UPDATE petclinic.pet SET name = 'Rex' WHERE MOD(id, 3) = 0");
+				assertEquals(rows(connection, AGGREGATE), rows(connection, STATISTICS));
+
+				// Pet type changes move the pet visits along
+				statement.executeUpdate("UPDATE petclinic.pet SET type_id = MOD(type_id, 6) + 1 WHERE MOD(id, 4) = 0");
+				assertEquals(rows(connection, AGGREGATE), rows(connection, STATISTICS));
+
+				statement.executeUpdate("DELETE FROM petclinic.visit WHERE MOD(id, 4) = 0 OR MOD(pet_id, 11) = 0");
+				assertEquals(rows(connection, AGGREGATE), rows(connection, STATISTICS));
+			}
+
+			// Archiving leaves the statistics as is
+			List<String> statistics = rows(connection, STATISTICS);
+			VisitArchiver.builder()
+							.chunkSize(50)
+							.build()
+							.archive(connection, LocalDate.of(2020, 1, 1));
+			assertEquals(statistics, rows(connection, STATISTICS));
+			assertEquals(rows(connection, VET_AGGREGATE), rows(connection, VET_VISITS));
+
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate("DELETE FROM petclinic.visit_archive WHERE MOD(id, 2) = 0");
+				assertEquals(rows(connection, AGGREGATE), rows(connection, STATISTICS));
+
+				statement.executeUpdate("DELETE FROM petclinic.visit_archive");
+				statement.executeUpdate("DELETE FROM petclinic.visit");
+				assertEquals(List.of(), rows(connection, STATISTICS));
+			}
+		}
+	}
+
+	@Test
+	void specialtyVisits() throws SQLException {
+		try (Connection connection = createDatabase()) {
+			// Linda Douglas, surgery and dentistry, Rafael Ortega, surgery
+			// James Carter has no specialty, so his visit is not included
+			assertEquals(List.of("2013-01-01:1:0:1", "2013-01-01:2:0:2", "2013-01-01:3:0:1"), rows(connection,
+							"SELECT visit_month, specialty_id, 0, visit_count FROM petclinic.specialty_visits ORDER BY specialty_id"));
+			assertEquals(List.of("2013-01-01:1:0:4"), rows(connection,
+							"SELECT visit_month, pet_type_id, 0, visit_count FROM petclinic.pet_type_visits"));
+			assertFalse(rows(connection, STATISTICS).isEmpty());
+		}
+	}
+
+	private static List<String> rows(Connection connection, String query) throws SQLException {
+		List<String> rows = new ArrayList<>();
+		try (Statement statement = connection.createStatement();
+				 ResultSet resultSet = statement.executeQuery(query)) {
+			while (resultSet.next()) {
+				rows.add(resultSet.getObject(1, LocalDate.class) + ":" + resultSet.getInt(2) + ":" +
+								resultSet.getInt(3) + ":" + resultSet.getInt(4));
+			}
+		}
+
+		return rows;
+	}
+
+	private static Connection createDatabase() throws SQLException {
+		// A separate database, keeping the shared test database intact
+		return DriverManager.getConnection("jdbc:h2:mem:visit_statistics" +
+						";INIT=RUNSCRIPT FROM 'classpath:create_schema.sql'", "scott", "tiger");
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class VisitSummaryTriggerTest {
+
+	private static final String SUMMARY =
+					"SELECT pet_id, visit_count, last_visit_date, last_vet_id " +
+									"FROM petclinic.pet_visit_summary ORDER BY pet_id";
+	// The summary computed from scratch, ties on date resolved by id
+	private static final String AGGREGATE =
+					"SELECT pet_id, COUNT(*), MAX(visit_date), " +
+									"MAX(vet_id) FILTER (WHERE rank = 1) FROM (" +
+									"SELECT pet_id, visit_date, vet_id, " +
+									"ROW_NUMBER() OVER (PARTITION BY pet_id ORDER BY visit_date DESC, id DESC) rank FROM (" +
+									"SELECT id, pet_id, visit_date, vet_id FROM petclinic.visit UNION ALL " +
+									"SELECT id, pet_id, visit_date, vet_id FROM petclinic.visit_archive)) " +
+									"GROUP BY pet_id ORDER BY pet_id";
+
+	@Test
+	void summary() throws SQLException {
+		try (Connection connection = createDatabase()) {
+			// The seeded visits
+			assertEquals(List.of("7:2:2013-01-04:4", "8:2:2013-01-03:3"), rows(connection, SUMMARY));
+
+			DataGenerator.builder()
+							.owners(100)
+							.build()
+							.generate(connection);
+			assertEquals(rows(connection, AGGREGATE), rows(connection, SUMMARY));
+
+			try (Statement statement = connection.createStatement()) {
+				// Moving visits to other pets, and back in time
+				statement.executeUpdate("UPDATE petclinic.visit SET pet_id = pet_id - 1 WHERE MOD(id, 7) = 0 AND pet_id > 1");
+				statement.executeUpdate("UPDATE petclinic.visit SET visit_date = visit_date - 1000 WHERE MOD(id, 5) = 0");
+				// Changes irrelevant to the summary
+				statement.executeUpdate("UPDATE petclinic.visit SET description = 'checkup' WHERE MOD(id, 3) = 0");
+				assertEquals(rows(connection, AGGREGATE), rows(connection, SUMMARY));
+
+				// Including all the visits of some pets, removed by a single statement
+				statement.executeUpdate("DELETE FROM petclinic.visit WHERE MOD(id, 4) = 0 OR MOD(pet_id, 11) = 0");
+				assertEquals(rows(connection, AGGREGATE), rows(connection, SUMMARY));
+			}
+
+			// Archiving leaves the summary as is
+			List<String> summary = rows(connection, SUMMARY);
+			VisitArchiver.builder()
+							.chunkSize(50)
+							.build()
+							.archive(connection, LocalDate.of(2020, 1, 1));
+			assertEquals(summary, rows(connection, SUMMARY));
+
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate("DELETE FROM petclinic.visit_archive WHERE MOD(id, 2) = 0");
+				assertEquals(rows(connection, AGGREGATE), rows(connection, SUMMARY));
+
+				statement.executeUpdate("DELETE FROM petclinic.visit_archive");
+				statement.executeUpdate("DELETE FROM petclinic.visit");
+				assertEquals(List.of(), rows(connection, SUMMARY));
+			}
+		}
+	}
+
+	private static List<String> rows(Connection connection, String query) throws SQLException {
+		List<String> rows = new ArrayList<>();
+		try (Statement statement = connection.createStatement();
+				 ResultSet resultSet = statement.executeQuery(query)) {
+			while (resultSet.next()) {
+				rows.add(resultSet.getInt(1) + ":" + resultSet.getInt(2) + ":" +
+								resultSet.getObject(3, LocalDate.class) + ":" + resultSet.getInt(4));
+			}
+		}
+
+		return rows;
+	}
+
+	private static Connection createDatabase() throws SQLException {
+		// A separate database, keeping the shared test database intact
+		return DriverManager.getConnection("jdbc:h2:mem:visit_summary" +
+						";INIT=RUNSCRIPT FROM 'classpath:create_schema.sql'", "scott", "tiger");
+	}
+}
@@ -0,0 +1,166 @@
+import org.gradle.internal.os.OperatingSystem
+
+plugins {
+    // The Badass Jlink Plugin provides jlink and jpackage functionality
+    // and applies the java application plugin, see PACKAGING below
+    // https://badass-jlink-plugin.beryx.org
+    id("org.beryx.jlink")
+}
+
+// ============================================================================
+// THE APPLICATION — everything a minimal Codion application needs
+// ============================================================================
+
+dependencies {
+    implementation(project(":petclinic-model"))
+
+    // The Codion framework UI module, transitively pulls in all required
+    // modules, such as the model layer and the core database module
+    implementation(libs.codion.swing.framework.ui)
+    // Include all the standard Flat Look and Feels and a bunch of IntelliJ
+    // theme based ones, available via the View -> Select Look & Feel menu
+    implementation(libs.codion.plugin.flatlaf.themes)
+    implementation(libs.codion.plugin.flatlaf.intellij.themes)
+
+    // Provides the Logback logging library as a transitive dependency
+    // and provides logging configuration via the Help -> Log menu
+    runtimeOnly(libs.codion.plugin.logback.proxy)
+    // Provides the local JDBC connection implementation
+    runtimeOnly(libs.codion.framework.db.local)
+    // Provides the remote connection implementation, for
+    // clients connecting to the server, see PetclinicServer
+    runtimeOnly(libs.codion.framework.db.rmi)
+    // The H2 database implementation
+    runtimeOnly(libs.codion.dbms.h2)
+}
+
+// Configure the application plugin, the jlink plugin relies
+// on this configuration when building the runtime image
+application {
+    mainModule = "is.codion.demos.petclinic.ui"
+    mainClass = "is.codion.demos.petclinic.ui.PetclinicAppPanel"
+    applicationDefaultJvmArgs = listOf(
+        // This app doesn't require a lot of memory
+        "-Xmx64m",
+        // Specify a local JDBC connection
+        "-Dcodion.client.connectionType=local",
+        // The JDBC url
+        "-Dcodion.db.url=jdbc:h2:mem:h2db",
+        // The database initialization script
+        "-Dcodion.db.initScripts=classpath:create_schema.sql",
+        // Just in case we're debugging in Linux, nevermind
+        "-Dsun.awt.disablegrab=true"
+    )
+}
+
+// Optionally runs against a persistent database file instead of the in-memory one,
+// f.ex. gradlew :petclinic-ui:run -PdbFile=~/.petclinic/petclinic, see DatabaseFile
+tasks.named<JavaExec>("run") {
+    if (project.hasProperty("dbFile")) {
+        jvmArgs("-Dpetclinic.db.file=" + project.property("dbFile"))
+    }
+}
+
+// ============================================================================
+// PACKAGING — optional: a self-contained runtime image and native installer,
+// delete this section if you don't distribute the application this way
+// ============================================================================
+
+// The AOT cache, created by a training run of the jlink image, see aotCache below
+val aotCacheFile = "lib/petclinic.aot"
+
+jlink {
+    // The image directory, the AOT cache is written into the image
+    imageDir = layout.buildDirectory.dir("image")
+    // Specify the jlink image name
+    imageName = rootProject.name + "-" + project.version + "-" +
+            OperatingSystem.current().familyName.replace(" ", "").lowercase()
+    // The options for the jlink task
+    options = listOf(
+        "--strip-debug",
+        "--no-header-files",
+        "--no-man-pages",
+        // Add the modular runtimeOnly dependencies, which are handled by the ServiceLoader.
+        // These don't have an associated 'requires' clause in module-info.java
+        // and are therefore not added automatically by the jlink plugin.
+        "--add-modules",
+        // The local JDBC connection implementation
+        "is.codion.framework.db.local," +
+                // The remote connection implementation
+                "is.codion.framework.db.rmi," +
+                // The H2 database implementation
+                "is.codion.dbms.h2," +
+                // The Logback plugin
+                "is.codion.plugin.logback.proxy"
+    )
+
+    // H2 database uses slf4j, but is non-modular so the jlink plugin,
+    // can't derive that dependency, so here we help it along.
+    addExtraDependencies("slf4j-api")
+
+    launcher {
+        // The installer resources are named after the launcher, see below
+        name = rootProject.name
+        // Uses the AOT cache, if present, the JVM starts normally without it
+        jvmArgs = application.applicationDefaultJvmArgs.toList() +
+                "-XX:AOTCache={{BIN_DIR}}/../" + aotCacheFile
+    }
+
+    jpackage {
+        // The runtime image is in the runtime directory, next to the app directory
+        jvmArgs = application.applicationDefaultJvmArgs.toList() +
+                if (OperatingSystem.current().isMacOsX) "-XX:AOTCache=\$APPDIR/../runtime/Contents/Home/" + aotCacheFile
+                else "-XX:AOTCache=\$APPDIR/../runtime/" + aotCacheFile
+        if (OperatingSystem.current().isLinux) {
+            icon = "src/main/icons/petclinic.png"
+            // jpackage ignores --icon when building the installer from
+            // an app image, it looks for <launcher>.png in the resource dir
+            setResourceDir(file("src/main/icons"))
+            installerType = "deb"
+            installerOptions = listOf(
+                "--linux-shortcut"
+            )
+        }
+        if (OperatingSystem.current().isWindows) {
+            icon = "src/main/icons/petclinic.ico"
+            installerType = "msi"
+            installerOptions = listOf(
+                "--win-menu",
+                "--win-shortcut"
+            )
+        }
+        if (OperatingSystem.current().isMacOsX) {
+            icon = "src/main/icons/petclinic.icns"
+            installerType = "dmg"
+        }
+    }
+}
+
+// Creates the AOT cache by training, running the application from the jlink image until it is
+// interactive, caching the classes loaded and linked, along with method profiles, see JEP 483 and 515.
+// Requires a display, f.ex. xvfb-run when building headless.
+val aotCache = tasks.register<Exec>("aotCache") {
+    group = "build"
+    description = "Creates the AOT cache in the jlink image, by a training run"
+    dependsOn(tasks.named("jlink"))
+    val imageDir = jlink.imageDir.get().asFile
+    outputs.file(imageDir.resolve(aotCacheFile))
+    executable = imageDir.resolve("bin/java" + if (OperatingSystem.current().isWindows) ".exe" else "").path
+    args(application.applicationDefaultJvmArgs.toList() + listOf(
+        "-XX:AOTCacheOutput=" + imageDir.resolve(aotCacheFile).path,
+        // Exits once the initial data has been loaded, see PetclinicAppPanel
+        "-Dpetclinic.exitOnInteractive=true",
+        "-m", application.mainModule.get() + "/" + application.mainClass.get()
+    ))
+}
+
+// The distributions include the AOT cache when built with -PaotCache, since the training run requires a display,
+// f.ex. gradlew jpackage -PaotCache
+if (providers.gradleProperty("aotCache").isPresent) {
+    tasks.named("jlinkZip") {
+        dependsOn(aotCache)
+    }
+    tasks.named("jpackageImage") {
+        dependsOn(aotCache)
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.ui;
+
+import is.codion.demos.petclinic.model.ColumnarTable;
+import is.codion.demos.petclinic.model.ModelLoader;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.domain.entity.attribute.Column;
+
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Displays a read-only {@link ColumnarTable}, boxing only the values of the rows being rendered
+ * and materializing the entity of the selected row only.
+ * <p>
+ * Not sortable, since sorting would require the values of every row, the rows are in primary key order.
+ */
+final class ColumnarTablePanel extends JPanel {
+
+	private final ColumnarTable table;
+	private final EntityConnection connection;
+	private final ColumnarTableModel tableModel;
+	private final JLabel selectedLabel = new JLabel(" ");
+
+	private ColumnarTablePanel(ColumnarTable table, EntityConnection connection, Map<Column<?>, String> captions,
+														 Map<Column<?>, Function<Object, Object>> display) {
+		super(new BorderLayout());
+		this.table = table;
+		this.connection = connection;
+		this.tableModel = new ColumnarTableModel(table, captions, display);
+		JTable jTable = new JTable(tableModel);
+		jTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		jTable.getSelectionModel().addListSelectionListener(event -> {
+			if (!event.getValueIsAdjusting()) {
+				selected(jTable.getSelectedRow());
+			}
+		});
+		JScrollPane scrollPane = new JScrollPane(jTable);
+		scrollPane.setPreferredSize(new Dimension(900, 500));
+		add(scrollPane, BorderLayout.CENTER);
+		add(selectedLabel, BorderLayout.SOUTH);
+	}
+
+	/**
+	 * Displays the given table in a non-modal dialog, loading it in the background.
+	 * @param parent the dialog parent
+	 * @param title the dialog title
+	 * @param table the table to display
+	 * @param connection the connection to load the table with
+	 * @param captions the column captions
+	 * @param display functions providing the value to display for a column, f.ex. the referenced entity for an id
+	 */
+	static void show(Component parent, String title, ColumnarTable table, EntityConnection connection,
+									 Map<Column<?>, String> captions, Map<Column<?>, Function<Object, Object>> display) {
+		ColumnarTablePanel panel = new ColumnarTablePanel(table, connection, captions, display);
+		JDialog dialog = new JDialog(SwingUtilities.getWindowAncestor(parent), title);
+		dialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+		dialog.add(panel);
+		dialog.pack();
+		dialog.setLocationRelativeTo(parent);
+		dialog.setVisible(true);
+		panel.load();
+	}
+
+	private void load() {
+		selectedLabel.setText("Loading...");
+		ModelLoader.load(() -> table.load(connection))
+						.thenRun(() -> SwingUtilities.invokeLater(() -> {
+							tableModel.fireTableDataChanged();
+							selectedLabel.setText(table.size() + " rows");
+						}));
+	}
+
+	private void selected(int row) {
+		selectedLabel.setText(row < 0 ? table.size() + " rows" :
+						table.entity(row, connection.entities()).toString());
+	}
+
+	private static final class ColumnarTableModel extends AbstractTableModel {
+
+		private final ColumnarTable table;
+		private final List<Column<?>> columns;
+		private final Map<Column<?>, String> captions;
+		private final Map<Column<?>, Function<Object, Object>> display;
+
+		private ColumnarTableModel(ColumnarTable table, Map<Column<?>, String> captions,
+															 Map<Column<?>, Function<Object, Object>> display) {
+			this.table = table;
+			this.columns = table.columns();
+			this.captions = new HashMap<>(captions);
+			this.display = new HashMap<>(display);
+		}
+
+		@Override
+		public int getRowCount() {
+			return table.size();
+		}
+
+		@Override
+		public int getColumnCount() {
+			return columns.size();
+		}
+
+		@Override
+		public String getColumnName(int column) {
+			return captions.getOrDefault(columns.get(column), columns.get(column).name());
+		}
+
+		@Override
+		public Object getValueAt(int row, int column) {
+			Column<?> attribute = columns.get(column);
+			Object value = table.get(row, attribute);
+
+			return value == null ? null : display.getOrDefault(attribute, Function.identity()).apply(value);
+		}
+	}
+}
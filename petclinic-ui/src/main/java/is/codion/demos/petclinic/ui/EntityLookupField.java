@@ -0,0 +1,266 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.ui;
+
+import is.codion.demos.petclinic.model.EntityLookup;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.attribute.ForeignKey;
+import is.codion.swing.framework.model.SwingEntityEditor;
+
+import javax.swing.AbstractAction;
+import javax.swing.Action;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.DefaultListModel;
+import javax.swing.JList;
+import javax.swing.JPopupMenu;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.KeyStroke;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.Component;
+import java.awt.event.ActionEvent;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.lang.System.Logger.Level;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A text field for selecting a foreign key value, looking up the candidates as the user types,
+ * once the user pauses typing, displaying them in a popup list below the field.
+ * <p>
+ * Up and down move through the candidates, enter selects, or performs the default action when no candidate
+ * is shown. Leaving the field with a blank text clears the value, otherwise the text reverts to the selected value.
+ */
+final class EntityLookupField extends JTextField {
+
+	private static final System.Logger LOG = System.getLogger(EntityLookupField.class.getName());
+
+	private static final int LOOKUP_DELAY_MS = 150;
+	private static final int VISIBLE_ROWS = 10;
+
+	private final EntityLookup lookup;
+	private final SwingEntityEditor editor;
+	private final ForeignKey foreignKey;
+	private final Function<Entity, String> text;
+	private final DefaultListModel<Entity> candidates = new DefaultListModel<>();
+	private final JList<Entity> candidateList = new JList<>(candidates);
+	private final JPopupMenu popup = new JPopupMenu();
+	private final Timer lookupTimer;
+
+	// Discards the results of lookups superseded by later ones
+	private int lookupCount = 0;
+	private boolean displaying = false;
+
+	/**
+	 * @param lookup the lookup
+	 * @param editor the editor
+	 * @param foreignKey the foreign key which value to select
+	 * @param text provides the text displayed for an entity
+	 */
+	EntityLookupField(EntityLookup lookup, SwingEntityEditor editor, ForeignKey foreignKey, Function<Entity, String> text) {
+		this.lookup = lookup;
+		this.editor = editor;
+		this.foreignKey = foreignKey;
+		this.text = text;
+		this.lookupTimer = new Timer(LOOKUP_DELAY_MS, event -> lookup());
+		this.lookupTimer.setRepeats(false);
+		candidateList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		candidateList.setVisibleRowCount(VISIBLE_ROWS);
+		candidateList.setFocusable(false);
+		candidateList.setCellRenderer(new CandidateRenderer());
+		candidateList.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent event) {
+				select(candidateList.getSelectedValue());
+			}
+		});
+		popup.setFocusable(false);
+		popup.add(new JScrollPane(candidateList));
+		getDocument().addDocumentListener(new LookupOnEdit());
+		addFocusListener(new FocusHandler());
+		bindKeys();
+		editor.value(foreignKey).addConsumer(this::display);
+		display(editor.value(foreignKey).get());
+	}
+
+	private void lookup() {
+		String lookupText = getText();
+		int count = ++lookupCount;
+		CompletableFuture.supplyAsync(() -> lookup.lookup(lookupText))
+						.whenComplete((entities, exception) -> SwingUtilities.invokeLater(() -> {
+							if (exception != null) {
+								LOG.log(Level.ERROR, "Lookup failed", exception);
+							}
+							else if (count == lookupCount && hasFocus()) {
+								showCandidates(entities);
+							}
+						}));
+	}
+
+	private void showCandidates(List<Entity> entities) {
+		candidates.clear();
+		candidates.addAll(entities);
+		if (entities.isEmpty()) {
+			popup.setVisible(false);
+		}
+		else {
+			candidateList.setSelectedIndex(0);
+			popup.setPopupSize(getWidth(), popup.getPreferredSize().height);
+			popup.show(this, 0, getHeight());
+		}
+	}
+
+	private void select(Entity entity) {
+		popup.setVisible(false);
+		editor.value(foreignKey).set(entity);
+		// in case the value did not change
+		display(entity);
+	}
+
+	private void display(Entity entity) {
+		displaying = true;
+		try {
+			setText(entity == null ? "" : text.apply(entity));
+		}
+		finally {
+			displaying = false;
+		}
+	}
+
+	private void bindKeys() {
+		KeyStroke enter = KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0);
+		// The default text field action, notifying the action listeners, if any
+		Action accept = getActionMap().get(getInputMap().get(enter));
+		getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_DOWN, 0), "nextCandidate");
+		getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_UP, 0), "previousCandidate");
+		getInputMap().put(enter, "selectCandidate");
+		getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), "hideCandidates");
+		getActionMap().put("nextCandidate", new MoveSelection(1));
+		getActionMap().put("previousCandidate", new MoveSelection(-1));
+		getActionMap().put("selectCandidate", new AbstractAction() {
+			@Override
+			public void actionPerformed(ActionEvent event) {
+				if (candidateShown()) {
+					select(candidateList.getSelectedValue());
+				}
+				else if (accept != null) {
+					accept.actionPerformed(event);
+				}
+			}
+
+			@Override
+			public boolean isEnabled() {
+				// Otherwise the key event is not consumed, f.ex. reaching the default button
+				return candidateShown() || accept != null && accept.isEnabled();
+			}
+		});
+		getActionMap().put("hideCandidates", new AbstractAction() {
+			@Override
+			public void actionPerformed(ActionEvent event) {
+				popup.setVisible(false);
+			}
+		});
+	}
+
+	private boolean candidateShown() {
+		return popup.isVisible() && candidateList.getSelectedValue() != null;
+	}
+
+	private final class CandidateRenderer extends DefaultListCellRenderer {
+
+		@Override
+		public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+																									boolean selected, boolean focused) {
+			return super.getListCellRendererComponent(list, text.apply((Entity) value), index, selected, focused);
+		}
+	}
+
+	private final class MoveSelection extends AbstractAction {
+
+		private final int direction;
+
+		private MoveSelection(int direction) {
+			this.direction = direction;
+		}
+
+		@Override
+		public void actionPerformed(ActionEvent event) {
+			if (popup.isVisible() && !candidates.isEmpty()) {
+				int index = Math.floorMod(candidateList.getSelectedIndex() + direction, candidates.size());
+				candidateList.setSelectedIndex(index);
+				candidateList.ensureIndexIsVisible(index);
+			}
+		}
+	}
+
+	private final class LookupOnEdit implements DocumentListener {
+
+		@Override
+		public void insertUpdate(DocumentEvent event) {
+			onEdit();
+		}
+
+		@Override
+		public void removeUpdate(DocumentEvent event) {
+			onEdit();
+		}
+
+		@Override
+		public void changedUpdate(DocumentEvent event) {}
+
+		private void onEdit() {
+			if (!displaying) {
+				lookupTimer.restart();
+			}
+		}
+	}
+
+	private final class FocusHandler extends FocusAdapter {
+
+		@Override
+		public void focusGained(FocusEvent event) {
+			// Picks up changes made since the last time
+			lookup.clear();
+			selectAll();
+		}
+
+		@Override
+		public void focusLost(FocusEvent event) {
+			lookupTimer.stop();
+			popup.setVisible(false);
+			Entity selected = editor.value(foreignKey).get();
+			if (getText().isBlank()) {
+				select(null);
+			}
+			else if (!Objects.equals(getText(), selected == null ? "" : text.apply(selected))) {
+				display(selected);
+			}
+		}
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.ui;
+
+import is.codion.plugin.flatlaf.intellij.FlatLookAndFeelIntelliJThemes;
+import is.codion.plugin.flatlaf.themes.FlatLookAndFeelThemes;
+
+/**
+ * Registers the look and feel themes available via the View -> Select Look & Feel menu.
+ * <p>
+ * Registering the themes loads well over a hundred theme classes, so the registration is started
+ * on a background thread, overlapping the application configuration, and awaited before the
+ * application starts, since the look and feel saved in a previous session, as well as the
+ * look and feel menu, are resolved from the registry during startup.
+ */
+final class LookAndFeelThemes {
+
+	private static final Thread REGISTRATION = Thread.ofPlatform()
+					.name("petclinic-themes")
+					.daemon()
+					.unstarted(LookAndFeelThemes::register);
+
+	private LookAndFeelThemes() {}
+
+	/**
+	 * Starts registering the themes on a background thread, to be called once
+	 */
+	static void registerInBackground() {
+		REGISTRATION.start();
+	}
+
+	/**
+	 * Waits for the themes to be registered
+	 * @throws InterruptedException in case the thread is interrupted while waiting
+	 */
+	static void awaitRegistration() throws InterruptedException {
+		REGISTRATION.join();
+	}
+
+	private static void register() {
+		FlatLookAndFeelThemes.addAll();
+		FlatLookAndFeelIntelliJThemes.addAll();
+	}
+}
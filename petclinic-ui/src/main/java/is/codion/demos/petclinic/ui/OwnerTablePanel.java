@@ -0,0 +1,135 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.ui;
+
+import is.codion.demos.petclinic.model.OwnerTableModel;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.swing.framework.ui.EntityTablePanel;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.BorderLayout;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.List;
+
+/**
+ * Fetches the next or previous page of owners as the user scrolls towards either end of the table,
+ * keeping the first visible owner in place when the window slides.
+ * <p>
+ * Includes a type-ahead search field above the table, searching owner and pet names.
+ */
+public final class OwnerTablePanel extends EntityTablePanel {
+
+	private static final int THRESHOLD_ROWS = 10;
+	private static final int SEARCH_DELAY_MS = 150;
+
+	private final OwnerTableModel tableModel;
+	private final JTextField searchField = new JTextField();
+	private final Timer searchTimer;
+
+	private Entity anchor;
+
+	public OwnerTablePanel(OwnerTableModel tableModel) {
+		super(tableModel);
+		this.tableModel = tableModel;
+		table().addPropertyChangeListener("ancestor", event -> {
+			if (event.getNewValue() instanceof JViewport viewport) {
+				viewport.addChangeListener(changeEvent -> onScroll(viewport));
+			}
+		});
+		tableModel.items().refresher().active().addConsumer(refreshing -> {
+			if (!refreshing) {
+				onRefreshed();
+			}
+		});
+		// Searches once the user pauses typing
+		searchTimer = new Timer(SEARCH_DELAY_MS, event -> tableModel.search(searchField.getText()));
+		searchTimer.setRepeats(false);
+		searchField.getDocument().addDocumentListener(new DocumentListener() {
+			@Override
+			public void insertUpdate(DocumentEvent event) {
+				searchTimer.restart();
+			}
+
+			@Override
+			public void removeUpdate(DocumentEvent event) {
+				searchTimer.restart();
+			}
+
+			@Override
+			public void changedUpdate(DocumentEvent event) {}
+		});
+		searchField.setToolTipText("Search by owner or pet name");
+	}
+
+	@Override
+	protected void layoutPanel(JComponent tableComponent, JPanel southPanel) {
+		JPanel panel = new JPanel(new BorderLayout());
+		panel.add(searchField, BorderLayout.NORTH);
+		panel.add(tableComponent, BorderLayout.CENTER);
+		super.layoutPanel(panel, southPanel);
+	}
+
+	private void onScroll(JViewport viewport) {
+		JTable table = table();
+		Rectangle visible = viewport.getViewRect();
+		int firstVisibleRow = table.rowAtPoint(new Point(visible.x, visible.y));
+		int lastVisibleRow = table.rowAtPoint(new Point(visible.x, visible.y + visible.height - 1));
+		if (anchor != null || firstVisibleRow < 0) {
+			return;
+		}
+		List<Entity> owners = tableModel.items().visible().get();
+		if (tableModel.hasNextPage() && (lastVisibleRow < 0 || lastVisibleRow >= owners.size() - THRESHOLD_ROWS)) {
+			anchor = owners.get(firstVisibleRow);
+			tableModel.nextPage();
+		}
+		else if (tableModel.hasPreviousPage() && firstVisibleRow <= THRESHOLD_ROWS) {
+			anchor = owners.get(firstVisibleRow);
+			tableModel.previousPage();
+		}
+	}
+
+	/**
+	 * Cleared whether the refresh succeeded or not, and scrolled to in case it is still there
+	 */
+	private void onRefreshed() {
+		if (anchor != null) {
+			int row = tableModel.items().visible().get().indexOf(anchor);
+			anchor = null;
+			if (row >= 0) {
+				// once the table has processed the change
+				SwingUtilities.invokeLater(() -> scrollToTop(row));
+			}
+		}
+	}
+
+	private void scrollToTop(int row) {
+		if (table().getParent() instanceof JViewport viewport) {
+			viewport.setViewPosition(new Point(viewport.getViewPosition().x, table().getCellRect(row, 0, true).y));
+		}
+	}
+}
@@ -0,0 +1,189 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.ui;
+
+import is.codion.demos.petclinic.metrics.LatencyHistogram;
+import is.codion.demos.petclinic.metrics.QueryMetrics;
+import is.codion.demos.petclinic.metrics.QueryMetrics.Latency;
+
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.AncestorEvent;
+import javax.swing.event.AncestorListener;
+import javax.swing.table.AbstractTableModel;
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Displays the query latencies recorded by {@link QueryMetrics}, per entity type and operation,
+ * refreshed every few seconds while showing.
+ */
+final class PerformancePanel extends JPanel {
+
+	private static final int REFRESH_INTERVAL_MS = 2_000;
+
+	private final LatencyTableModel tableModel = new LatencyTableModel();
+	private final Timer refreshTimer = new Timer(REFRESH_INTERVAL_MS, event -> refresh());
+
+	PerformancePanel() {
+		super(new BorderLayout());
+		JTable table = new JTable(tableModel);
+		table.setAutoCreateRowSorter(true);
+		JScrollPane scrollPane = new JScrollPane(table);
+		scrollPane.setPreferredSize(new Dimension(700, 400));
+		add(scrollPane, BorderLayout.CENTER);
+		add(createButtonPanel(), BorderLayout.SOUTH);
+		// Only refreshes while showing
+		addAncestorListener(new AncestorListener() {
+			@Override
+			public void ancestorAdded(AncestorEvent event) {
+				refresh();
+				refreshTimer.start();
+			}
+
+			@Override
+			public void ancestorRemoved(AncestorEvent event) {
+				refreshTimer.stop();
+			}
+
+			@Override
+			public void ancestorMoved(AncestorEvent event) {}
+		});
+	}
+
+	/**
+	 * Displays the performance panel in a non-modal dialog
+	 * @param parent the dialog parent
+	 */
+	static void show(Component parent) {
+		JDialog dialog = new JDialog(SwingUtilities.getWindowAncestor(parent), "Performance");
+		dialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+		dialog.add(new PerformancePanel());
+		dialog.pack();
+		dialog.setLocationRelativeTo(parent);
+		dialog.setVisible(true);
+	}
+
+	private JPanel createButtonPanel() {
+		JButton refreshButton = new JButton("Refresh");
+		refreshButton.addActionListener(event -> refresh());
+		JButton resetButton = new JButton("Reset");
+		resetButton.addActionListener(event -> {
+			QueryMetrics.reset();
+			refresh();
+		});
+		JButton exportButton = new JButton("Export...");
+		exportButton.addActionListener(event -> export());
+
+		JPanel panel = new JPanel(new FlowLayout(FlowLayout.TRAILING));
+		panel.add(refreshButton);
+		panel.add(resetButton);
+		panel.add(exportButton);
+
+		return panel;
+	}
+
+	private void refresh() {
+		tableModel.set(QueryMetrics.latencies());
+	}
+
+	private void export() {
+		JFileChooser fileChooser = new JFileChooser();
+		fileChooser.setSelectedFile(new File("query-latency.csv"));
+		if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+			try {
+				QueryMetrics.export(fileChooser.getSelectedFile().toPath());
+			}
+			catch (IOException e) {
+				JOptionPane.showMessageDialog(this, e.getMessage(), "Export failed", JOptionPane.ERROR_MESSAGE);
+			}
+		}
+	}
+
+	private static final class LatencyTableModel extends AbstractTableModel {
+
+		private static final List<String> COLUMNS =
+						List.of("Entity type", "Operation", "Count", "Mean ms", "p50 ms", "p90 ms", "p99 ms", "Max ms");
+
+		private List<Latency> latencies = List.of();
+
+		private void set(List<Latency> latencies) {
+			this.latencies = latencies;
+			fireTableDataChanged();
+		}
+
+		@Override
+		public int getRowCount() {
+			return latencies.size();
+		}
+
+		@Override
+		public int getColumnCount() {
+			return COLUMNS.size();
+		}
+
+		@Override
+		public String getColumnName(int column) {
+			return COLUMNS.get(column);
+		}
+
+		@Override
+		public Class<?> getColumnClass(int column) {
+			return switch (column) {
+				case 0, 1 -> String.class;
+				case 2 -> Long.class;
+				default -> Double.class;
+			};
+		}
+
+		@Override
+		public Object getValueAt(int row, int column) {
+			Latency latency = latencies.get(row);
+			LatencyHistogram.Snapshot snapshot = latency.latency();
+
+			return switch (column) {
+				case 0 -> latency.entityType().name();
+				case 1 -> latency.operation().name();
+				case 2 -> snapshot.count();
+				case 3 -> millis(snapshot.mean());
+				case 4 -> millis(snapshot.percentile(50));
+				case 5 -> millis(snapshot.percentile(90));
+				case 6 -> millis(snapshot.percentile(99));
+				default -> millis(snapshot.max());
+			};
+		}
+
+		private static double millis(Duration duration) {
+			return duration.toNanos() / 1_000_000d;
+		}
+	}
+}
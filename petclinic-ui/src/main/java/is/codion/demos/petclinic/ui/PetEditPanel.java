@@ -20,9 +20,11 @@ package is.codion.demos.petclinic.ui;
 
 import is.codion.demos.petclinic.domain.Petclinic.Pet;
 import is.codion.demos.petclinic.domain.Petclinic.PetType;
+import is.codion.demos.petclinic.model.EntityLookup;
 import is.codion.swing.framework.model.SwingEntityEditModel;
 import is.codion.swing.framework.ui.EntityEditPanel;
 
+import static is.codion.demos.petclinic.model.ReferenceData.invalidateOnEdit;
 import static is.codion.swing.common.ui.layout.Layouts.gridLayout;
 
 public final class PetEditPanel extends EntityEditPanel {
@@ -35,7 +37,9 @@ public final class PetEditPanel extends EntityEditPanel {
 	protected void initializeUI() {
 		focus().initial().set(Pet.NAME);
 
-		create().comboBox(Pet.OWNER_FK);
+		// Looked up as the user types, instead of loading all owners
+		component(Pet.OWNER_FK).set(new EntityLookupField(EntityLookup.owners(model().connection()),
+						model().editor(), Pet.OWNER_FK, Object::toString));
 		create().textField(Pet.NAME);
 		create().comboBoxPanel(Pet.PET_TYPE_FK, this::createPetTypeEditPanel)
 						.includeAddButton(true);
@@ -52,6 +56,6 @@ public final class PetEditPanel extends EntityEditPanel {
 	}
 
 	private PetTypeEditPanel createPetTypeEditPanel() {
-		return new PetTypeEditPanel(new SwingEntityEditModel(PetType.TYPE, model().connection()));
+		return new PetTypeEditPanel(invalidateOnEdit(new SwingEntityEditModel(PetType.TYPE, model().connection())));
 	}
 }
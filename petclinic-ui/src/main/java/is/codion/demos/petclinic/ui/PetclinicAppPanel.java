@@ -0,0 +1,292 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2004 - 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.ui;
+
+import is.codion.common.model.CancelException;
+import is.codion.common.utilities.user.User;
+import is.codion.demos.petclinic.domain.DatabaseFile;
+import is.codion.demos.petclinic.domain.Petclinic;
+import is.codion.demos.petclinic.domain.Petclinic.ArchivedVisit;
+import is.codion.demos.petclinic.domain.Petclinic.Owner;
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
+import is.codion.demos.petclinic.domain.Petclinic.PetType;
+import is.codion.demos.petclinic.domain.Petclinic.PetTypeVisits;
+import is.codion.demos.petclinic.domain.Petclinic.Specialty;
+import is.codion.demos.petclinic.domain.Petclinic.SpecialtyVisits;
+import is.codion.demos.petclinic.domain.Petclinic.Vet;
+import is.codion.demos.petclinic.domain.Petclinic.VetVisits;
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.demos.petclinic.metrics.QueryMetrics;
+import is.codion.demos.petclinic.model.ColumnarTable;
+import is.codion.demos.petclinic.model.ModelLoader;
+import is.codion.demos.petclinic.model.OwnerTableModel;
+import is.codion.demos.petclinic.model.PetclinicAppModel;
+import is.codion.demos.petclinic.model.ReferenceData;
+import is.codion.demos.petclinic.model.VetSpecialtyEditModel;
+import is.codion.framework.db.EntityConnection;
+import is.codion.framework.domain.entity.Entity;
+import is.codion.framework.domain.entity.EntityType;
+import is.codion.plugin.flatlaf.intellij.themes.arc.Arc;
+import is.codion.swing.common.ui.component.indicator.ValidIndicator;
+import is.codion.swing.common.ui.control.Control;
+import is.codion.swing.common.ui.control.Controls;
+import is.codion.swing.framework.model.SwingEntityModel;
+import is.codion.swing.framework.model.SwingEntityTableModel;
+import is.codion.swing.framework.ui.EntityApplication;
+import is.codion.swing.framework.ui.EntityApplicationPanel;
+import is.codion.swing.framework.ui.EntityPanel;
+import is.codion.swing.framework.ui.ReferentialIntegrityErrorHandling;
+
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.lang.System.Logger.Level;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import static is.codion.demos.petclinic.model.ReferenceData.cached;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+public final class PetclinicAppPanel extends EntityApplicationPanel<PetclinicAppModel> {
+
+	private static final System.Logger LOG = System.getLogger(PetclinicAppPanel.class.getName());
+
+	/**
+	 * Specifies whether the application should exit once interactive, printing the startup times,
+	 * used for the AOT cache training run and the startup benchmark, see StartupBenchmark
+	 */
+	public static final String EXIT_ON_INTERACTIVE = "petclinic.exitOnInteractive";
+
+	public PetclinicAppPanel(PetclinicAppModel appModel) {
+		super(appModel, createPanels(appModel), createSupportPanelBuilders());
+		addHierarchyListener(new LoadOnFirstFrame());
+	}
+
+	private static List<EntityPanel> createPanels(PetclinicAppModel applicationModel) {
+		SwingEntityModel ownersModel = applicationModel.models().get(Owner.TYPE);
+		SwingEntityModel petsModel = ownersModel.detail().get(Pet.TYPE);
+		SwingEntityModel visitsModel = petsModel.detail().get(Visit.TYPE);
+		SwingEntityModel archivedVisitsModel = petsModel.detail().get(ArchivedVisit.TYPE);
+
+		EntityPanel ownersPanel = new EntityPanel(ownersModel,
+						new OwnerEditPanel(ownersModel.editModel()),
+						new OwnerTablePanel((OwnerTableModel) ownersModel.tableModel()));
+		EntityPanel petsPanel = new EntityPanel(petsModel,
+						new PetEditPanel(petsModel.editModel()));
+		EntityPanel visitsPanel = new EntityPanel(visitsModel,
+						new VisitEditPanel(visitsModel.editModel()),
+						new VisitTablePanel(visitsModel.tableModel()));
+		// Read only, without an edit panel
+		EntityPanel archivedVisitsPanel = new EntityPanel(archivedVisitsModel, config -> config
+						.caption("Archive"));
+
+		ownersPanel.detail().add(petsPanel);
+		petsPanel.detail().add(visitsPanel);
+		petsPanel.detail().add(archivedVisitsPanel);
+
+		return List.of(ownersPanel);
+	}
+
+	private static Collection<EntityPanel.Builder> createSupportPanelBuilders() {
+		EntityPanel.Builder petTypePanelBuilder = EntityPanel.builder()
+						.entityType(PetType.TYPE)
+						.panel(PetclinicAppPanel::createPetTypePanel);
+		EntityPanel.Builder specialtyPanelBuilder = EntityPanel.builder()
+						.entityType(Specialty.TYPE)
+						.panel(PetclinicAppPanel::createSpecialtyPanel);
+		EntityPanel.Builder vetPanelBuilder = EntityPanel.builder()
+						.entityType(Vet.TYPE)
+						.panel(PetclinicAppPanel::createVetPanel);
+		EntityPanel.Builder vetVisitsPanelBuilder = EntityPanel.builder()
+						.entityType(VetVisits.TYPE)
+						.panel(connection -> createReportPanel(VetVisits.TYPE, connection));
+		EntityPanel.Builder specialtyVisitsPanelBuilder = EntityPanel.builder()
+						.entityType(SpecialtyVisits.TYPE)
+						.panel(connection -> createReportPanel(SpecialtyVisits.TYPE, connection));
+		EntityPanel.Builder petTypeVisitsPanelBuilder = EntityPanel.builder()
+						.entityType(PetTypeVisits.TYPE)
+						.panel(connection -> createReportPanel(PetTypeVisits.TYPE, connection));
+
+		return List.of(petTypePanelBuilder, specialtyPanelBuilder, vetPanelBuilder,
+						vetVisitsPanelBuilder, specialtyVisitsPanelBuilder, petTypeVisitsPanelBuilder);
+	}
+
+	private static EntityPanel createPetTypePanel(EntityConnection connection) {
+		SwingEntityModel petTypeModel =
+						new SwingEntityModel(cached(new SwingEntityTableModel(PetType.TYPE, QueryMetrics.instrument(connection))));
+		ModelLoader.refresh(petTypeModel.tableModel());
+
+		return new EntityPanel(petTypeModel,
+						new PetTypeEditPanel(petTypeModel.editModel()));
+	}
+
+	private static EntityPanel createSpecialtyPanel(EntityConnection connection) {
+		SwingEntityModel specialtyModel =
+						new SwingEntityModel(cached(new SwingEntityTableModel(Specialty.TYPE, QueryMetrics.instrument(connection))));
+		ModelLoader.refresh(specialtyModel.tableModel());
+
+		return new EntityPanel(specialtyModel,
+						new SpecialtyEditPanel(specialtyModel.editModel()));
+	}
+
+	private static EntityPanel createVetPanel(EntityConnection connection) {
+		EntityConnection instrumented = QueryMetrics.instrument(connection);
+		SwingEntityModel vetModel =
+						new SwingEntityModel(cached(new SwingEntityTableModel(Vet.TYPE, instrumented)));
+		SwingEntityModel vetSpecialtyModel =
+						new SwingEntityModel(new VetSpecialtyEditModel(instrumented));
+		vetModel.detail().add(vetSpecialtyModel);
+		ModelLoader.refresh(vetModel.tableModel());
+
+		EntityPanel vetPanel = new EntityPanel(vetModel,
+						new VetEditPanel(vetModel.editModel()));
+		EntityPanel vetSpecialtyPanel = new EntityPanel(vetSpecialtyModel,
+						new VetSpecialtyEditPanel(vetSpecialtyModel.editModel()), config -> config
+						.caption("Specialty"));
+		vetPanel.detail().add(vetSpecialtyPanel);
+
+		return vetPanel;
+	}
+
+	/**
+	 * The visit reports are read only, aggregating the visit statistics maintained by
+	 * the VisitStatisticsTrigger, so refreshing one never touches the visits themselves.
+	 */
+	private static EntityPanel createReportPanel(EntityType reportType, EntityConnection connection) {
+		SwingEntityModel reportModel =
+						new SwingEntityModel(new SwingEntityTableModel(reportType, QueryMetrics.instrument(connection)));
+		ModelLoader.refresh(reportModel.tableModel());
+
+		return new EntityPanel(reportModel);
+	}
+
+	@Override
+	protected Optional<Controls> createViewMenuControls() {
+		return super.createViewMenuControls()
+						.map(controls -> controls.copy()
+										.separator()
+										.control(Control.builder()
+														.command(this::showVisitHistory)
+														.caption("Visit history..."))
+										.control(Control.builder()
+														.command(this::showOwnerDirectory)
+														.caption("Owner directory..."))
+										.build());
+	}
+
+	/**
+	 * Displays all visits, stored column-wise, see {@link ColumnarTable}
+	 */
+	private void showVisitHistory() {
+		EntityConnection connection = QueryMetrics.instrument(applicationModel().connection());
+		Map<Integer, Entity> vets = ReferenceData.get(Vet.TYPE, connection).stream()
+						.collect(toMap(vet -> vet.get(Vet.ID), identity()));
+		ColumnarTablePanel.show(this, "Visit history", ColumnarTable.visits(), connection,
+						Map.of(Visit.ID, "Id",
+										Visit.PET_ID, "Pet id",
+										Visit.VISIT_DATE, "Date",
+										Visit.VET_ID, "Vet",
+										Visit.DESCRIPTION, "Description",
+										Visit.INSERT_TIME, "Inserted",
+										Visit.INSERT_USER, "Inserted by"),
+						Map.of(Visit.VET_ID, vets::get));
+	}
+
+	/**
+	 * Displays all owners, stored column-wise, see {@link ColumnarTable}
+	 */
+	private void showOwnerDirectory() {
+		ColumnarTablePanel.show(this, "Owner directory", ColumnarTable.owners(),
+						QueryMetrics.instrument(applicationModel().connection()),
+						Map.of(Owner.ID, "Id",
+										Owner.FIRST_NAME, "First name",
+										Owner.LAST_NAME, "Last name",
+										Owner.ADDRESS, "Address",
+										Owner.CITY, "City",
+										Owner.TELEPHONE, "Telephone",
+										Owner.PHONE_TYPE, "Phone type"),
+						Map.of());
+	}
+
+	@Override
+	protected Optional<Controls> createHelpMenuControls() {
+		return super.createHelpMenuControls()
+						.map(controls -> controls.copy()
+										.control(Control.builder()
+														.command(() -> PerformancePanel.show(this))
+														.caption("Performance..."))
+										.build());
+	}
+
+	/**
+	 * Starts loading the initial data once the first frame is showing,
+	 * logging the time to first frame and the time to interactive.
+	 */
+	private final class LoadOnFirstFrame implements HierarchyListener {
+
+		@Override
+		public void hierarchyChanged(HierarchyEvent event) {
+			if ((event.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing()) {
+				removeHierarchyListener(this);
+				long firstFrame = sinceStartup().toMillis();
+				LOG.log(Level.INFO, "Time to first frame: {0} ms", firstFrame);
+				applicationModel().load()
+								.thenRun(() -> interactive(firstFrame));
+			}
+		}
+
+		private static void interactive(long firstFrame) {
+			long interactive = sinceStartup().toMillis();
+			LOG.log(Level.INFO, "Time to interactive: {0} ms", interactive);
+			if (Boolean.getBoolean(EXIT_ON_INTERACTIVE)) {
+				System.out.println("first-frame=" + firstFrame + " interactive=" + interactive);
+				System.exit(0);
+			}
+		}
+
+		private static Duration sinceStartup() {
+			return ProcessHandle.current().info().startInstant()
+							.map(started -> Duration.between(started, Instant.now()))
+							.orElse(Duration.ZERO);
+		}
+	}
+
+	public static void main(String[] args) throws CancelException, InterruptedException {
+		LookAndFeelThemes.registerInBackground();
+		Locale.setDefault(Locale.of("en", "EN"));
+		// In case a persistent database file is specified
+		DatabaseFile.configure();
+		ValidIndicator.INDICATOR_CLASS.set("is.codion.plugin.flatlaf.indicator.FlatLafValidIndicator");
+		ReferentialIntegrityErrorHandling.REFERENTIAL_INTEGRITY_ERROR_HANDLING
+						.set(ReferentialIntegrityErrorHandling.DISPLAY_DEPENDENCIES);
+		// The saved look and feel must be registered before the application starts
+		LookAndFeelThemes.awaitRegistration();
+		EntityApplication.builder(PetclinicAppModel.class, PetclinicAppPanel.class)
+						.domain(Petclinic.DOMAIN)
+						.startupDialog(false)
+						.defaultLookAndFeel(Arc.class)
+						.defaultUser(User.parse("scott:tiger"))
+						.start();
+	}
+}
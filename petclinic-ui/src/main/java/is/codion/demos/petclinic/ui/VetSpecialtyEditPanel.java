@@ -23,6 +23,7 @@ import is.codion.demos.petclinic.domain.Petclinic.VetSpecialty;
 import is.codion.swing.framework.model.SwingEntityEditModel;
 import is.codion.swing.framework.ui.EntityEditPanel;
 
+import static is.codion.demos.petclinic.model.ReferenceData.invalidateOnEdit;
 import static is.codion.swing.common.ui.layout.Layouts.gridLayout;
 
 public final class VetSpecialtyEditPanel extends EntityEditPanel {
@@ -46,6 +47,6 @@ public final class VetSpecialtyEditPanel extends EntityEditPanel {
 	}
 
 	private SpecialtyEditPanel createSpecialtyEditPanel() {
-		return new SpecialtyEditPanel(new SwingEntityEditModel(Specialty.TYPE, model().connection()));
+		return new SpecialtyEditPanel(invalidateOnEdit(new SwingEntityEditModel(Specialty.TYPE, model().connection())));
 	}
 }
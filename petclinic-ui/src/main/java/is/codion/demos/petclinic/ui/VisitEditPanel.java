@@ -18,7 +18,10 @@
  */
 package is.codion.demos.petclinic.ui;
 
+import is.codion.demos.petclinic.domain.Petclinic.Pet;
 import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.demos.petclinic.model.EntityLookup;
+import is.codion.framework.domain.entity.Entity;
 import is.codion.swing.framework.model.SwingEntityEditModel;
 import is.codion.swing.framework.ui.EntityEditPanel;
 
@@ -37,7 +40,9 @@ public final class VisitEditPanel extends EntityEditPanel {
 
 	@Override
 	protected void initializeUI() {
-		create().comboBox(Visit.PET_FK);
+		// Looked up as the user types, by name and optionally the owner last name, instead of loading all pets
+		component(Visit.PET_FK).set(new EntityLookupField(EntityLookup.pets(model().connection()),
+						model().editor(), Visit.PET_FK, VisitEditPanel::petText));
 		create().comboBox(Visit.VET_FK);
 		create().temporalFieldPanel(Visit.VISIT_DATE);
 		create().textArea(Visit.DESCRIPTION)
@@ -56,4 +61,13 @@ public final class VisitEditPanel extends EntityEditPanel {
 						.component(scrollPane()
 										.view(component(Visit.DESCRIPTION).get())), BorderLayout.CENTER);
 	}
+
+	/**
+	 * Includes the owner when available, since pet names are far from unique
+	 */
+	private static String petText(Entity pet) {
+		Entity owner = pet.get(Pet.OWNER_FK);
+
+		return owner == null ? pet.toString() : pet + " (" + owner + ")";
+	}
 }
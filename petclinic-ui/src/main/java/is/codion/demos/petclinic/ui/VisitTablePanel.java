@@ -0,0 +1,37 @@
+/*
+ * This file is part of Codion Petclinic Demo.
+ *
+ * Codion Petclinic Demo is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Codion Petclinic Demo is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026, Björn Darri Sigurðsson.
+ */
+package is.codion.demos.petclinic.ui;
+
+import is.codion.demos.petclinic.domain.Petclinic.Visit;
+import is.codion.swing.framework.model.SwingEntityTableModel;
+import is.codion.swing.framework.ui.EntityTablePanel;
+
+/**
+ * Displays the columns selected for the visit rows only, the remaining ones are hidden in the domain,
+ * excluding them from the column selection, and fetched once a visit is opened in the {@link VisitEditPanel},
+ * see PetclinicAppModel.
+ */
+public final class VisitTablePanel extends EntityTablePanel {
+
+	public VisitTablePanel(SwingEntityTableModel tableModel) {
+		super(tableModel);
+		// The master, the pet selected
+		table().columnModel().visible(Visit.PET_FK).set(false);
+	}
+}
@@ -17,18 +17,14 @@
  * Copyright (c) 2023 - 2026, Björn Darri Sigurðsson.
  */
 /**
- * Petclinic demo.
+ * Petclinic demo, the Swing client.
  */
-module is.codion.demos.petclinic {
+module is.codion.demos.petclinic.ui {
 	requires is.codion.swing.framework.ui;
 	requires is.codion.plugin.flatlaf.themes;
 	requires is.codion.plugin.flatlaf.intellij.themes;
+	requires is.codion.demos.petclinic.model;
 
-	exports is.codion.demos.petclinic.model
-					to is.codion.swing.framework.model, is.codion.swing.framework.ui;
 	exports is.codion.demos.petclinic.ui
 					to is.codion.swing.framework.ui;
-
-	provides is.codion.framework.domain.Domain
-					with is.codion.demos.petclinic.domain.Petclinic;
-}
\ No newline at end of file
+}
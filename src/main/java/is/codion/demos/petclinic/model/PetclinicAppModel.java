@@ -1,50 +0,0 @@
-/*
- * This file is part of Codion Petclinic Demo.
- *
- * Codion Petclinic Demo is free software: you can redistribute it and/or modify
- * it under the terms of the GNU General Public License as published by
- * the Free Software Foundation, either version 3 of the License, or
- * (at your option) any later version.
- *
- * Codion Petclinic Demo is distributed in the hope that it will be useful,
- * but WITHOUT ANY WARRANTY; without even the implied warranty of
- * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
- * GNU General Public License for more details.
- *
- * You should have received a copy of the GNU General Public License
- * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
- *
- * Copyright (c) 2004 - 2026, Björn Darri Sigurðsson.
- */
-package is.codion.demos.petclinic.model;
-
-import is.codion.demos.petclinic.domain.Petclinic.Owner;
-import is.codion.demos.petclinic.domain.Petclinic.Pet;
-import is.codion.demos.petclinic.domain.Petclinic.Visit;
-import is.codion.framework.db.EntityConnection;
-import is.codion.swing.framework.model.SwingEntityApplicationModel;
-import is.codion.swing.framework.model.SwingEntityModel;
-
-import java.util.List;
-
-public final class PetclinicAppModel extends SwingEntityApplicationModel {
-
-	public PetclinicAppModel(EntityConnection connection) {
-		super(connection, List.of(createOwnersModel(connection)));
-	}
-
-	private static SwingEntityModel createOwnersModel(EntityConnection connection) {
-		SwingEntityModel ownersModel = new SwingEntityModel(Owner.TYPE, connection);
-		SwingEntityModel petsModel = new SwingEntityModel(Pet.TYPE, connection);
-		petsModel.editor().comboBoxModels().initialize(Pet.OWNER_FK, Pet.PET_TYPE_FK);
-		SwingEntityModel visitModel = new SwingEntityModel(Visit.TYPE, connection);
-		visitModel.editor().comboBoxModels().initialize(Visit.PET_FK);
-
-		ownersModel.detail().add(petsModel);
-		petsModel.detail().add(visitModel);
-
-		ownersModel.tableModel().items().refresh();
-
-		return ownersModel;
-	}
-}
@@ -1,135 +0,0 @@
-/*
- * This file is part of Codion Petclinic Demo.
- *
- * Codion Petclinic Demo is free software: you can redistribute it and/or modify
- * it under the terms of the GNU General Public License as published by
- * the Free Software Foundation, either version 3 of the License, or
- * (at your option) any later version.
- *
- * Codion Petclinic Demo is distributed in the hope that it will be useful,
- * but WITHOUT ANY WARRANTY; without even the implied warranty of
- * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
- * GNU General Public License for more details.
- *
- * You should have received a copy of the GNU General Public License
- * along with Codion Petclinic Demo.  If not, see <http://www.gnu.org/licenses/>.
- *
- * Copyright (c) 2004 - 2026, Björn Darri Sigurðsson.
- */
-package is.codion.demos.petclinic.ui;
-
-import is.codion.common.model.CancelException;
-import is.codion.common.utilities.user.User;
-import is.codion.demos.petclinic.domain.Petclinic;
-import is.codion.demos.petclinic.domain.Petclinic.Owner;
-import is.codion.demos.petclinic.domain.Petclinic.Pet;
-import is.codion.demos.petclinic.domain.Petclinic.PetType;
-import is.codion.demos.petclinic.domain.Petclinic.Specialty;
-import is.codion.demos.petclinic.domain.Petclinic.Vet;
-import is.codion.demos.petclinic.domain.Petclinic.Visit;
-import is.codion.demos.petclinic.model.PetclinicAppModel;
-import is.codion.demos.petclinic.model.VetSpecialtyEditModel;
-import is.codion.framework.db.EntityConnection;
-import is.codion.plugin.flatlaf.intellij.FlatLookAndFeelIntelliJThemes;
-import is.codion.plugin.flatlaf.intellij.themes.arc.Arc;
-import is.codion.plugin.flatlaf.themes.FlatLookAndFeelThemes;
-import is.codion.swing.common.ui.component.indicator.ValidIndicator;
-import is.codion.swing.framework.model.SwingEntityModel;
-import is.codion.swing.framework.ui.EntityApplication;
-import is.codion.swing.framework.ui.EntityApplicationPanel;
-import is.codion.swing.framework.ui.EntityPanel;
-import is.codion.swing.framework.ui.ReferentialIntegrityErrorHandling;
-
-import java.util.Collection;
-import java.util.List;
-import java.util.Locale;
-
-public final class PetclinicAppPanel extends EntityApplicationPanel<PetclinicAppModel> {
-
-	public PetclinicAppPanel(PetclinicAppModel appModel) {
-		super(appModel, createPanels(appModel), createSupportPanelBuilders());
-	}
-
-	private static List<EntityPanel> createPanels(PetclinicAppModel applicationModel) {
-		SwingEntityModel ownersModel = applicationModel.models().get(Owner.TYPE);
-		SwingEntityModel petsModel = ownersModel.detail().get(Pet.TYPE);
-		SwingEntityModel visitsModel = petsModel.detail().get(Visit.TYPE);
-
-		EntityPanel ownersPanel = new EntityPanel(ownersModel,
-						new OwnerEditPanel(ownersModel.editModel()));
-		EntityPanel petsPanel = new EntityPanel(petsModel,
-						new PetEditPanel(petsModel.editModel()));
-		EntityPanel visitsPanel = new EntityPanel(visitsModel,
-						new VisitEditPanel(visitsModel.editModel()));
-
-		ownersPanel.detail().add(petsPanel);
-		petsPanel.detail().add(visitsPanel);
-
-		return List.of(ownersPanel);
-	}
-
-	private static Collection<EntityPanel.Builder> createSupportPanelBuilders() {
-		EntityPanel.Builder petTypePanelBuilder = EntityPanel.builder()
-						.entityType(PetType.TYPE)
-						.panel(PetclinicAppPanel::createPetTypePanel);
-		EntityPanel.Builder specialtyPanelBuilder = EntityPanel.builder()
-						.entityType(Specialty.TYPE)
-						.panel(PetclinicAppPanel::createSpecialtyPanel);
-		EntityPanel.Builder vetPanelBuilder = EntityPanel.builder()
-						.entityType(Vet.TYPE)
-						.panel(PetclinicAppPanel::createVetPanel);
-
-		return List.of(petTypePanelBuilder, specialtyPanelBuilder, vetPanelBuilder);
-	}
-
-	private static EntityPanel createPetTypePanel(EntityConnection connection) {
-		SwingEntityModel petTypeModel =
-						new SwingEntityModel(PetType.TYPE, connection);
-		petTypeModel.tableModel().items().refresh();
-
-		return new EntityPanel(petTypeModel,
-						new PetTypeEditPanel(petTypeModel.editModel()));
-	}
-
-	private static EntityPanel createSpecialtyPanel(EntityConnection connection) {
-		SwingEntityModel specialtyModel =
-						new SwingEntityModel(Specialty.TYPE, connection);
-		specialtyModel.tableModel().items().refresh();
-
-		return new EntityPanel(specialtyModel,
-						new SpecialtyEditPanel(specialtyModel.editModel()));
-	}
-
-	private static EntityPanel createVetPanel(EntityConnection connection) {
-		SwingEntityModel vetModel =
-						new SwingEntityModel(Vet.TYPE, connection);
-		SwingEntityModel vetSpecialtyModel =
-						new SwingEntityModel(new VetSpecialtyEditModel(connection));
-		vetModel.detail().add(vetSpecialtyModel);
-		vetModel.tableModel().items().refresh();
-
-		EntityPanel vetPanel = new EntityPanel(vetModel,
-						new VetEditPanel(vetModel.editModel()));
-		EntityPanel vetSpecialtyPanel = new EntityPanel(vetSpecialtyModel,
-						new VetSpecialtyEditPanel(vetSpecialtyModel.editModel()), config -> config
-						.caption("Specialty"));
-		vetPanel.detail().add(vetSpecialtyPanel);
-
-		return vetPanel;
-	}
-
-	public static void main(String[] args) throws CancelException {
-		Locale.setDefault(Locale.of("en", "EN"));
-		ValidIndicator.INDICATOR_CLASS.set("is.codion.plugin.flatlaf.indicator.FlatLafValidIndicator");
-		ReferentialIntegrityErrorHandling.REFERENTIAL_INTEGRITY_ERROR_HANDLING
-						.set(ReferentialIntegrityErrorHandling.DISPLAY_DEPENDENCIES);
-		FlatLookAndFeelThemes.addAll();
-		FlatLookAndFeelIntelliJThemes.addAll();
-		EntityApplication.builder(PetclinicAppModel.class, PetclinicAppPanel.class)
-						.domain(Petclinic.DOMAIN)
-						.startupDialog(false)
-						.defaultLookAndFeel(Arc.class)
-						.defaultUser(User.parse("scott:tiger"))
-						.start();
-	}
-}